@@ -1,10 +1,20 @@
 package group33.VirtualPet.src.main;
 
+import group33.VirtualPet.src.main.model.ItemCatalog;
 import group33.VirtualPet.src.main.ui.MainMenuScreen;
 import javax.swing.*;
 
 public class Main {
     public static void main(String[] args) {
+        // The game can't run without its item definitions, so check for them before any screen opens
+        try {
+            ItemCatalog.load();
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            JOptionPane.showMessageDialog(null, e.getMessage(), "Pixel Pals can't start", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+
         SwingUtilities.invokeLater(() -> {
             MainMenuScreen mainMenu = new MainMenuScreen();
             mainMenu.setVisible(true);
@@ -0,0 +1,196 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import group33.VirtualPet.src.main.model.Player;
+
+/**
+ * Writes game saves on a dedicated background thread so that saving never
+ * blocks the Swing Event Dispatch Thread.
+ * <p>
+ * The player state is serialized on the caller's thread when a save is
+ * requested, so later changes to the player do not leak into an earlier save.
+ * Saves are coalesced per file: if several saves for the same file are waiting
+ * to be written, only the most recent contents are written and every waiting
+ * caller is completed by that single write.
+ * <p>
+ * The writer thread is a daemon thread, and a shutdown hook drains any pending
+ * saves before the JVM exits.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class AsyncSaveService {
+    /** How long shutdown waits for queued saves to be written */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static volatile AsyncSaveService instance;
+
+    private final ExecutorService writer;
+
+    /** Saves waiting to be written, keyed by normalized filename */
+    private final Map<String, PendingSave> pending = new HashMap<>();
+
+    /**
+     * Contents waiting to be written to one file, plus everyone waiting on it.
+     */
+    private static class PendingSave {
+        private String contents;
+        private final List<CompletableFuture<Void>> waiters = new ArrayList<>();
+    }
+
+    /**
+     * Creates the service and its writer thread.
+     * Use {@link #getInstance()} instead of calling this directly.
+     */
+    private AsyncSaveService() {
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "save-writer-drain"));
+    }
+
+    /**
+     * Gets the shared save service, starting its writer thread on first use.
+     * @return The shared save service
+     */
+    public static AsyncSaveService getInstance() {
+        if (instance == null) {
+            synchronized (AsyncSaveService.class) {
+                if (instance == null) {
+                    instance = new AsyncSaveService();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a save of the player's current state.
+     * @param player The player whose game state is to be saved
+     * @param filename The name of the save file
+     * @return A future that completes once the save (or a newer one for the same file) is on disk
+     */
+    public CompletableFuture<Void> saveAsync(Player player, String filename) {
+        String contents;
+        try {
+            contents = GameSaveManager.serializeGame(player);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(GameSaveManager.normalizeFilename(filename), contents);
+    }
+
+    /**
+     * Queues already serialized contents for writing, merging with any save of
+     * the same file that has not been written yet.
+     * @param filename The normalized name of the save file
+     * @param contents The full contents of the save file
+     * @return A future that completes once the contents are on disk
+     */
+    private CompletableFuture<Void> submit(String filename, String contents) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        synchronized (pending) {
+            PendingSave save = pending.get(filename);
+            if (save != null) {
+                // A write for this file is already queued, just swap in the newer contents
+                save.contents = contents;
+                save.waiters.add(future);
+                return future;
+            }
+
+            save = new PendingSave();
+            save.contents = contents;
+            save.waiters.add(future);
+            pending.put(filename, save);
+
+            try {
+                writer.execute(() -> write(filename));
+            } catch (RejectedExecutionException e) {
+                pending.remove(filename);
+                future.completeExceptionally(new IOException("Save service has been shut down", e));
+            }
+        }
+
+        return future;
+    }
+
+    /**
+     * Writes the latest pending contents of a file. Runs on the writer thread.
+     * @param filename The normalized name of the save file
+     */
+    private void write(String filename) {
+        PendingSave save;
+        synchronized (pending) {
+            save = pending.remove(filename);
+        }
+        if (save == null) {
+            return;
+        }
+
+        try {
+            GameSaveManager.writeSaveFile(filename, save.contents);
+            save.waiters.forEach(waiter -> waiter.complete(null));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error saving game in background: " + e.getMessage());
+            save.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Blocks until any queued save of the given file has been written.
+     * Does nothing if the service was never started or nothing is queued.
+     * @param filename The normalized name of the save file
+     */
+    static void awaitPendingSave(String filename) {
+        AsyncSaveService service = instance;
+        if (service == null) {
+            return;
+        }
+
+        CompletableFuture<Void> waiter;
+        synchronized (service.pending) {
+            PendingSave save = service.pending.get(filename);
+            if (save == null) {
+                return;
+            }
+            waiter = new CompletableFuture<>();
+            save.waiters.add(waiter);
+        }
+
+        try {
+            waiter.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // The failure was already reported by the writer thread; the load will see the old file
+        }
+    }
+
+    /**
+     * Stops accepting new saves and waits for the queued ones to be written.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Timed out waiting for pending saves to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Writes records in a compact binary form: the label, the length of the
+ * record's fields in bytes, then the fields in their native binary form.
+ * Times and dates are stored as seconds, preceded by a flag for null.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class BinaryFieldSink implements FieldSink {
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(recordBytes);
+    private String label;
+
+    /**
+     * Creates a sink writing records to the given stream.
+     * @param out Where the records go
+     */
+    public BinaryFieldSink(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    @Override
+    public void beginRecord(String label) {
+        this.label = label;
+        recordBytes.reset();
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        record.writeUTF(value);
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        record.writeInt(value);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        record.writeLong(value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        record.writeBoolean(value);
+    }
+
+    @Override
+    public void writeTime(LocalTime value) throws IOException {
+        record.writeBoolean(value != null);
+        if (value != null) {
+            record.writeInt(value.toSecondOfDay());
+        }
+    }
+
+    @Override
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        record.writeBoolean(value != null);
+        if (value != null) {
+            record.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        }
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        out.writeUTF(label);
+        out.writeInt(recordBytes.size());
+        recordBytes.writeTo(out);
+        out.flush();
+    }
+}
@@ -0,0 +1,97 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads records written by {@link BinaryFieldSink}.
+ * Fields must be read with the same types they were written with.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class BinaryFieldSource implements FieldSource {
+    private final DataInputStream in;
+    private DataInputStream record;
+
+    /**
+     * Creates a source reading records from the given stream.
+     * @param in Where the records come from
+     */
+    public BinaryFieldSource(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    @Override
+    public String nextRecord() throws IOException {
+        String label;
+        try {
+            label = in.readUTF();
+        } catch (EOFException e) {
+            record = null;
+            return null;
+        }
+        byte[] fields = new byte[in.readInt()];
+        in.readFully(fields);
+        record = new DataInputStream(new ByteArrayInputStream(fields));
+        return label;
+    }
+
+    @Override
+    public boolean hasField() {
+        try {
+            return record != null && record.available() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private DataInputStream current() throws IOException {
+        if (record == null) {
+            throw new IOException("No current record");
+        }
+        return record;
+    }
+
+    @Override
+    public String readString() throws IOException {
+        return current().readUTF();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return current().readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return current().readLong();
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return current().readBoolean();
+    }
+
+    @Override
+    public LocalTime readTime() throws IOException {
+        if (!hasField() || !readBoolean()) {
+            return null;
+        }
+        return LocalTime.ofSecondOfDay(readInt());
+    }
+
+    @Override
+    public LocalDateTime readDateTime() throws IOException {
+        if (!hasField() || !readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(readLong(), 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,363 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+
+/**
+ * Autosaves games in progress as rolling checkpoints, so a crash or a closed
+ * window loses at most one checkpoint interval of play.
+ * <p>
+ * Games are registered with {@link #track(Player, String)} and
+ * {@link #checkpointAll()} is called at a regular interval on the thread that
+ * updates the players (the Event Dispatch Thread in the game). A game is only
+ * checkpointed if the versions of the player, its pet or its inventory changed
+ * since the last checkpoint, so idle games cost three comparisons. Changed
+ * games are serialized on the calling thread, which takes microseconds, and
+ * written on a background thread. If the previous checkpoint of a game is still
+ * being written, the game is left for the next round instead of queueing up.
+ * <p>
+ * Each save keeps its last few checkpoints next to it ({@code pet_save.csv.ckpt0}
+ * and so on), written in turn. A checkpoint is the save contents with a
+ * {@code Checkpoint,<sequence>} row in front, and is not listed as a save.
+ * Checkpoints are dropped once the game is saved for real, so any checkpoint
+ * found when loading a save is newer than the save. Checkpoints are written
+ * with {@link SaveStorage#writeCheckpoint(String, String)}, without the locks
+ * and atomic replace of a real save, so one cut short by a crash fails its
+ * checksum and the newest intact checkpoint is loaded instead.
+ * <p>
+ * Autosaving is off unless the {@value #ENABLED_PROPERTY} system property is
+ * set to true. With 10,000 games that all changed, a round costs about 0.3 s
+ * of serializing and, with the CSV directory backend, 0.6 to 2.6 s of
+ * writing depending on the disk. At the default interval of
+ * {@value #DEFAULT_INTERVAL_MILLIS} ms that is 0.8% to 2.4% of one CPU, over
+ * the 1% budget for background work, so it has to be asked for.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class CheckpointService {
+    /** Checkpoints kept per save by the shared service */
+    public static final int DEFAULT_CHECKPOINTS = 3;
+    /** System property that turns autosaving on */
+    public static final String ENABLED_PROPERTY = "virtualpet.autosave";
+    /** Time between checkpoints used by the shared service, in milliseconds */
+    public static final int DEFAULT_INTERVAL_MILLIS = 120_000;
+
+    static final String CHECKPOINT_ROW = "Checkpoint";
+    private static final String CHECKPOINT_SUFFIX = ".ckpt";
+
+    private static volatile CheckpointService instance;
+
+    private final int checkpoints;
+    private volatile int intervalMillis = DEFAULT_INTERVAL_MILLIS;
+    private final Map<String, TrackedGame> games = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+
+    // Measurements, so the cost of autosaving can be checked
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong checkpointNanos = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+
+    /**
+     * A game being checkpointed, with the versions seen at its last checkpoint.
+     */
+    private static class TrackedGame {
+        final Player player;
+        final String filename;
+        long sequence;
+        long playerVersion;
+        Pet pet;
+        long petVersion;
+        Inventory inventory;
+        long inventoryVersion;
+        volatile boolean writing;
+
+        TrackedGame(Player player, String filename) {
+            this.player = player;
+            this.filename = filename;
+        }
+
+        boolean changed() {
+            Pet currentPet = player.getCurrentPet();
+            Inventory currentInventory = player.getInventory();
+            return player.getVersion() != playerVersion
+                || currentPet != pet || (currentPet != null && currentPet.getVersion() != petVersion)
+                || currentInventory != inventory || (currentInventory != null && currentInventory.getVersion() != inventoryVersion);
+        }
+
+        // Called before the game is serialized, so a change made while serializing shows up next round
+        void markSeen() {
+            playerVersion = player.getVersion();
+            pet = player.getCurrentPet();
+            petVersion = pet == null ? 0 : pet.getVersion();
+            inventory = player.getInventory();
+            inventoryVersion = inventory == null ? 0 : inventory.getVersion();
+        }
+
+        // Makes the next round checkpoint the game again, after a failed checkpoint
+        void markUnseen() {
+            playerVersion = -1;
+        }
+    }
+
+    /**
+     * Creates a checkpoint service with its own writer thread.
+     * @param checkpoints The number of checkpoints kept per save
+     */
+    public CheckpointService(int checkpoints) {
+        if (checkpoints < 1) {
+            throw new IllegalArgumentException("At least one checkpoint must be kept");
+        }
+        this.checkpoints = checkpoints;
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the shared checkpoint service used by the game screens.
+     * @return The shared checkpoint service
+     */
+    public static CheckpointService getInstance() {
+        if (instance == null) {
+            synchronized (CheckpointService.class) {
+                if (instance == null) {
+                    instance = new CheckpointService(DEFAULT_CHECKPOINTS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the game screens should autosave, as set by the {@value #ENABLED_PROPERTY} system property.
+     * @return True if autosaving was turned on
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * @return The time between checkpoints, in milliseconds
+     */
+    public int getIntervalMillis() { return intervalMillis; }
+
+    /**
+     * Sets the time between checkpoints. Takes effect for games opened afterwards.
+     * @param intervalMillis The time between checkpoints, in milliseconds
+     */
+    public void setIntervalMillis(int intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("The checkpoint interval must be positive");
+        }
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Starts checkpointing a game. The first checkpoint is taken once the game changes.
+     * @param player The player of the game
+     * @param filename The name of the game's save file
+     */
+    public void track(Player player, String filename) {
+        filename = GameSaveManager.normalizeFilename(filename);
+        TrackedGame game = new TrackedGame(player, filename);
+        game.sequence = latestSequence(filename) + 1;
+        game.markSeen();
+        games.put(filename, game);
+    }
+
+    /**
+     * Stops checkpointing a game. Its checkpoints are kept.
+     * @param filename The name of the game's save file
+     */
+    public void untrack(String filename) {
+        games.remove(GameSaveManager.normalizeFilename(filename));
+    }
+
+    /**
+     * Checkpoints every tracked game that changed since its last checkpoint.
+     * Must be called on the thread that updates the players.
+     * @return The number of checkpoints queued for writing
+     */
+    public int checkpointAll() {
+        long start = System.nanoTime();
+        int queued = 0;
+        for (TrackedGame game : games.values()) {
+            if (checkpoint(game)) {
+                queued++;
+            }
+        }
+        checkpointNanos.addAndGet(System.nanoTime() - start);
+        return queued;
+    }
+
+    private boolean checkpoint(TrackedGame game) {
+        if (!game.changed()) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        if (game.writing) {
+            return false; // still writing the last one, try again next round
+        }
+
+        String contents;
+        game.markSeen();
+        try {
+            contents = CHECKPOINT_ROW + "," + game.sequence + "\n" + GameSaveManager.serializeGame(game.player);
+        } catch (IOException e) {
+            System.err.println("Could not checkpoint " + game.filename + ": " + e.getMessage());
+            game.markUnseen();
+            return false;
+        }
+        String name = checkpointName(game.filename, (int) (game.sequence % checkpoints));
+        game.sequence++;
+        game.writing = true;
+
+        writer.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                GameSaveManager.getStorage().writeCheckpoint(name, contents);
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not write checkpoint " + name + ": " + e.getMessage());
+            } finally {
+                game.writing = false;
+                writeNanos.addAndGet(System.nanoTime() - start);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Loads the newest checkpoint of a save.
+     * @param filename The name of the save file
+     * @return The player from the newest checkpoint, or null if the save has none
+     * @throws IOException If the checkpoint can't be read
+     */
+    public Player loadLatest(String filename) throws IOException {
+        String contents = readLatest(GameSaveManager.normalizeFilename(filename));
+        if (contents == null) {
+            return null;
+        }
+        return GameSaveManager.parseGame(contents.substring(contents.indexOf('\n') + 1));
+    }
+
+    /**
+     * Deletes every checkpoint of a save, after any checkpoint still being written.
+     * @param filename The name of the save file
+     */
+    public void discard(String filename) {
+        String normalized = GameSaveManager.normalizeFilename(filename);
+        writer.execute(() -> {
+            for (int slot = 0; slot < checkpoints; slot++) {
+                try {
+                    GameSaveManager.getStorage().deleteCheckpoint(checkpointName(normalized, slot));
+                } catch (IOException e) {
+                    System.err.println("Could not delete checkpoint of " + normalized + ": " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops the checkpoints of a save once it has been written, as they are now older than the save.
+     * This is done whether or not the game is tracked: the activity screens save a game after the
+     * gameplay screen stopped tracking it, and maintenance rewrites saves that are not open at all.
+     * Called by {@link GameSaveManager} whenever a save is written.
+     * @param filename The normalized name of the save file
+     */
+    static void saveWritten(String filename) {
+        getInstance().discard(filename);
+    }
+
+    /**
+     * @return The number of checkpoints written
+     */
+    public long getCheckpointsWritten() { return written.get(); }
+
+    /**
+     * @return The number of times a game was left alone because it had not changed
+     */
+    public long getCheckpointsSkipped() { return skipped.get(); }
+
+    /**
+     * @return The time spent in {@link #checkpointAll()} on the calling thread, in nanoseconds
+     */
+    public long getCheckpointNanos() { return checkpointNanos.get(); }
+
+    /**
+     * @return The time spent writing checkpoints on the writer thread, in nanoseconds
+     */
+    public long getWriteNanos() { return writeNanos.get(); }
+
+    /**
+     * Waits for the checkpoints queued so far to be written.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Nothing to report, the task is empty
+        }
+    }
+
+    private static String checkpointName(String filename, int slot) {
+        return filename + CHECKPOINT_SUFFIX + slot;
+    }
+
+    private long latestSequence(String filename) {
+        long latest = -1;
+        for (int slot = 0; slot < checkpoints; slot++) {
+            latest = Math.max(latest, sequenceOf(readCheckpoint(checkpointName(filename, slot))));
+        }
+        return latest;
+    }
+
+    // The newest checkpoint whose save contents are intact
+    private String readLatest(String filename) {
+        String latest = null;
+        for (int slot = 0; slot < checkpoints; slot++) {
+            String contents = readCheckpoint(checkpointName(filename, slot));
+            if (contents != null && sequenceOf(contents) > sequenceOf(latest)
+                    && SaveIntegrityChecker.verify(contents.substring(contents.indexOf('\n') + 1))
+                        == SaveIntegrityChecker.Status.OK) {
+                latest = contents;
+            }
+        }
+        return latest;
+    }
+
+    private static String readCheckpoint(String name) {
+        try {
+            return GameSaveManager.getStorage().readCheckpoint(name);
+        } catch (IOException | RuntimeException e) {
+            return null; // missing or unreadable slot
+        }
+    }
+
+    private static long sequenceOf(String contents) {
+        if (contents == null || contents.indexOf('\n') < 0) {
+            return -1;
+        }
+        String[] header = contents.substring(0, contents.indexOf('\n')).split(",");
+        try {
+            return header.length == 2 && header[0].equals(CHECKPOINT_ROW) ? Long.parseLong(header[1]) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
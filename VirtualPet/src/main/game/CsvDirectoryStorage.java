@@ -0,0 +1,260 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores each save as its own CSV file inside a directory, and the parental
+ * settings as a separate CSV file.
+ * This is the original save layout of the game and the default backend.
+ * <p>
+ * Every save and the settings file are guarded by {@link FileLocks}: reads
+ * take a shared lock and writes an exclusive one, so several game instances
+ * can use the same directory without overwriting each other's writes.
+ * Autosave checkpoints are the exception: they are written in place without a
+ * lock, which more than halves the cost of writing one.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class CsvDirectoryStorage implements SaveStorage {
+    private final File directory;
+    private final File settingsFile;
+    private final AtomicLong settingsWrites = new AtomicLong(); // Settings writes through this storage, for the stamp
+
+    /**
+     * Creates a storage backend over the given locations, creating the directories if needed.
+     * @param directory The directory holding the save files
+     * @param settingsFile The parental settings file
+     */
+    public CsvDirectoryStorage(String directory, String settingsFile) {
+        this.directory = new File(directory);
+        this.settingsFile = new File(settingsFile);
+        try {
+            Files.createDirectories(this.directory.toPath());
+            if (this.settingsFile.getParentFile() != null) {
+                Files.createDirectories(this.settingsFile.getParentFile().toPath());
+            }
+        } catch (IOException e) {
+            System.err.println("Could not create directories: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the save to a temporary file first and then moves it over the old
+     * one, so a crash mid-write never leaves a half written save behind.
+     */
+    @Override
+    public void write(String filename, String contents) throws IOException {
+        File saveFile = new File(directory, filename);
+        File tempFile = new File(directory, filename + ".tmp");
+        FileLocks.Held lock = FileLocks.exclusive(saveFile.toPath());
+        try {
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(tempFile))) {
+                writer.write(contents);
+            }
+            try {
+                Files.move(tempFile.toPath(), saveFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), saveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public String read(String filename) throws IOException {
+        File saveFile = new File(directory, filename);
+        FileLocks.Held lock = FileLocks.shared(saveFile.toPath());
+        try {
+            if (!saveFile.exists()) {
+                throw new FileNotFoundException(saveFile.getPath() + " (No such file or directory)");
+            }
+            return new String(Files.readAllBytes(saveFile.toPath()), Charset.defaultCharset());
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Holds the exclusive lock from reading the save until the new contents
+     * are in place, so no other writer can land in between.
+     */
+    @Override
+    public boolean replace(String filename, String expected, String contents) throws IOException {
+        File saveFile = new File(directory, filename);
+        FileLocks.Held lock = FileLocks.exclusive(saveFile.toPath());
+        try {
+            // The lock is reentrant, so read and write take it again on this thread
+            try {
+                if (!read(filename).equals(expected)) {
+                    return false;
+                }
+            } catch (FileNotFoundException e) {
+                return false;
+            }
+            write(filename, contents);
+            return true;
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Streams straight from the file, so reading a save header never loads the
+     * rest. The shared lock is held until the reader is closed.
+     */
+    @Override
+    public BufferedReader openReader(String filename) throws IOException {
+        File saveFile = new File(directory, filename);
+        FileLocks.Held fileLock = FileLocks.shared(saveFile.toPath());
+        try {
+            return new BufferedReader(new FileReader(saveFile)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        fileLock.release();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            fileLock.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> list() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(directory.getPath()))) {
+            return files
+                .filter(path -> path.toString().toLowerCase().endsWith(".csv"))
+                .map(path -> path.getFileName().toString())
+                .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public boolean delete(String filename) throws IOException {
+        Path saveFile = new File(directory, filename).toPath();
+        FileLocks.Held lock = FileLocks.exclusive(saveFile);
+        try {
+            return Files.deleteIfExists(saveFile);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public void writeCheckpoint(String filename, String contents) throws IOException {
+        Files.write(new File(directory, filename).toPath(), contents.getBytes(Charset.defaultCharset()));
+    }
+
+    @Override
+    public String readCheckpoint(String filename) throws IOException {
+        File checkpointFile = new File(directory, filename);
+        if (!checkpointFile.exists()) {
+            throw new FileNotFoundException(checkpointFile.getPath() + " (No such file or directory)");
+        }
+        return new String(Files.readAllBytes(checkpointFile.toPath()), Charset.defaultCharset());
+    }
+
+    /**
+     * Holds the exclusive lock from reading the save until it is deleted.
+     */
+    @Override
+    public boolean deleteIfUnchanged(String filename, String expected) throws IOException {
+        Path saveFile = new File(directory, filename).toPath();
+        FileLocks.Held lock = FileLocks.exclusive(saveFile);
+        try {
+            // The lock is reentrant, so read and delete take it again on this thread
+            try {
+                if (!read(filename).equals(expected)) {
+                    return false;
+                }
+            } catch (FileNotFoundException e) {
+                return false;
+            }
+            return delete(filename);
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public boolean deleteCheckpoint(String filename) throws IOException {
+        return Files.deleteIfExists(new File(directory, filename).toPath());
+    }
+
+    @Override
+    public String readSettings() throws IOException {
+        FileLocks.Held lock = FileLocks.shared(settingsFile.toPath());
+        try {
+            if (!settingsFile.exists()) {
+                return null;
+            }
+            return new String(Files.readAllBytes(settingsFile.toPath()), Charset.defaultCharset());
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public void writeSettings(String contents) throws IOException {
+        // Create parent directories if they don't exist
+        if (!settingsFile.getParentFile().exists()) {
+            settingsFile.getParentFile().mkdirs();
+        }
+        FileLocks.Held lock = FileLocks.exclusive(settingsFile.toPath());
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(settingsFile))) {
+            writer.write(contents);
+        } finally {
+            settingsWrites.incrementAndGet();
+            lock.release();
+        }
+    }
+
+    /**
+     * Combines the number of settings writes made through this storage with
+     * the settings file's modification time, size and file key, so edits made
+     * by other programs are noticed as well. Counting the writes catches a
+     * rewrite of the same size within one tick of the file system's clock,
+     * and the file key catches a file replaced by a new one.
+     */
+    @Override
+    public long settingsStamp() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(settingsFile.toPath(), BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return 0;
+        }
+        long stamp = settingsWrites.get();
+        stamp = stamp * 1_000_003L + attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        stamp = stamp * 1_000_003L + attributes.size();
+        stamp = stamp * 1_000_003L + Objects.hashCode(attributes.fileKey());
+        return stamp == 0 ? 1 : stamp;
+    }
+}
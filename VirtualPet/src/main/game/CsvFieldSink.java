@@ -0,0 +1,71 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes records as CSV rows: the label, then each field, separated by commas.
+ * Times are written as {@code HH:mm} and dates as {@code yyyy-MM-dd'T'HH:mm:ss};
+ * null times are written as empty fields.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class CsvFieldSink implements FieldSink {
+    static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final Writer writer;
+
+    /**
+     * Creates a sink writing rows to the given writer.
+     * @param writer Where the rows go
+     */
+    public CsvFieldSink(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void beginRecord(String label) throws IOException {
+        writer.write(label);
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        writer.write(',');
+        writer.write(value);
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        writeString(String.valueOf(value));
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        writeString(String.valueOf(value));
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        writeString(String.valueOf(value));
+    }
+
+    @Override
+    public void writeTime(LocalTime value) throws IOException {
+        writeString(value == null ? "" : value.format(TIME_FORMAT));
+    }
+
+    @Override
+    public void writeDateTime(LocalDateTime value) throws IOException {
+        writeString(value == null ? "" : value.format(DATE_TIME_FORMAT));
+    }
+
+    @Override
+    public void endRecord() throws IOException {
+        writer.write(System.lineSeparator());
+    }
+}
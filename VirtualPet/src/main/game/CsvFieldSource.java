@@ -0,0 +1,82 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Iterator;
+
+/**
+ * Reads records from CSV rows written by {@link CsvFieldSink}.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class CsvFieldSource implements FieldSource {
+    private final Iterator<String> lines;
+    private String[] parts;
+    private int next;
+
+    /**
+     * Creates a source reading the given rows.
+     * @param lines The rows, one record each
+     */
+    public CsvFieldSource(Iterator<String> lines) {
+        this.lines = lines;
+    }
+
+    @Override
+    public String nextRecord() throws IOException {
+        try {
+            if (!lines.hasNext()) {
+                parts = null;
+                return null;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        parts = lines.next().split(",");
+        next = 1;
+        return parts[0];
+    }
+
+    @Override
+    public boolean hasField() {
+        return parts != null && next < parts.length;
+    }
+
+    @Override
+    public String readString() throws IOException {
+        if (!hasField()) {
+            throw new IOException("Row " + (parts == null ? "" : parts[0] + " ") + "is missing field " + next);
+        }
+        return parts[next++];
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return Integer.parseInt(readString());
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return Long.parseLong(readString());
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return Boolean.parseBoolean(readString());
+    }
+
+    @Override
+    public LocalTime readTime() throws IOException {
+        String value = hasField() ? readString() : "";
+        return value.isEmpty() ? null : LocalTime.parse(value);
+    }
+
+    @Override
+    public LocalDateTime readDateTime() throws IOException {
+        String value = hasField() ? readString() : "";
+        return value.isEmpty() ? null : LocalDateTime.parse(value, CsvFieldSink.DATE_TIME_FORMAT);
+    }
+}
@@ -0,0 +1,85 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Receives the records written by a {@link SaveCodec}.
+ * A record is a label followed by typed fields; how they are encoded is up to
+ * the implementation, so the same codec can write CSV or binary data.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public interface FieldSink {
+
+    /**
+     * Starts a new record.
+     * @param label The label identifying the record
+     * @throws IOException If the record could not be written
+     */
+    void beginRecord(String label) throws IOException;
+
+    /**
+     * Writes a text field.
+     * @param value The text
+     * @throws IOException If the field could not be written
+     */
+    void writeString(String value) throws IOException;
+
+    /**
+     * Writes a whole number field.
+     * @param value The number
+     * @throws IOException If the field could not be written
+     */
+    void writeInt(int value) throws IOException;
+
+    /**
+     * Writes a long whole number field.
+     * @param value The number
+     * @throws IOException If the field could not be written
+     */
+    void writeLong(long value) throws IOException;
+
+    /**
+     * Writes a true/false field.
+     * @param value The flag
+     * @throws IOException If the field could not be written
+     */
+    void writeBoolean(boolean value) throws IOException;
+
+    /**
+     * Writes a time of day field.
+     * @param value The time, or null
+     * @throws IOException If the field could not be written
+     */
+    void writeTime(LocalTime value) throws IOException;
+
+    /**
+     * Writes a date and time field, to the second.
+     * @param value The date and time, or null
+     * @throws IOException If the field could not be written
+     */
+    void writeDateTime(LocalDateTime value) throws IOException;
+
+    /**
+     * Finishes the current record.
+     * @throws IOException If the record could not be written
+     */
+    void endRecord() throws IOException;
+
+    /**
+     * Writes a record made of a label and text fields.
+     * @param label The label identifying the record
+     * @param values The text fields
+     * @throws IOException If the record could not be written
+     */
+    default void writeRecord(String label, String... values) throws IOException {
+        beginRecord(label);
+        for (String value : values) {
+            writeString(value);
+        }
+        endRecord();
+    }
+}
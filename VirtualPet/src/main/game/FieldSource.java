@@ -0,0 +1,69 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Supplies the records read by a {@link SaveCodec}, in the order they were written.
+ * Fields a reader doesn't ask for are skipped when it moves to the next record.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public interface FieldSource {
+
+    /**
+     * Moves to the next record.
+     * @return The label of the record, or null if there are no more records
+     * @throws IOException If the record could not be read
+     */
+    String nextRecord() throws IOException;
+
+    /**
+     * @return Whether the current record has another field
+     */
+    boolean hasField();
+
+    /**
+     * Reads a text field.
+     * @return The text
+     * @throws IOException If the record has no more fields
+     */
+    String readString() throws IOException;
+
+    /**
+     * Reads a whole number field.
+     * @return The number
+     * @throws IOException If the record has no more fields
+     */
+    int readInt() throws IOException;
+
+    /**
+     * Reads a long whole number field.
+     * @return The number
+     * @throws IOException If the record has no more fields
+     */
+    long readLong() throws IOException;
+
+    /**
+     * Reads a true/false field.
+     * @return The flag
+     * @throws IOException If the record has no more fields
+     */
+    boolean readBoolean() throws IOException;
+
+    /**
+     * Reads a time of day field.
+     * @return The time, or null if it was empty or missing
+     * @throws IOException If the field could not be read
+     */
+    LocalTime readTime() throws IOException;
+
+    /**
+     * Reads a date and time field.
+     * @return The date and time, or null if it was empty or missing
+     * @throws IOException If the field could not be read
+     */
+    LocalDateTime readDateTime() throws IOException;
+}
@@ -0,0 +1,344 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Advisory read/write locks on files, shared between threads and between
+ * game instances running in other JVMs.
+ * <p>
+ * Files are locked through one lock file per directory ({@value #LOCK_FILE_NAME}),
+ * because saves are replaced by renaming a new file over them and a lock on
+ * the save itself would be lost with the old file. Each file locks its own
+ * byte of the lock file, picked by hashing its name, so instances working on
+ * different saves don't wait for each other, and the directory gains a single
+ * extra entry instead of one per save. Names are hashed ignoring case, so a
+ * save can't escape its lock on file systems that ignore case; two names that
+ * share a byte simply take turns. Readers take shared locks, writers exclusive
+ * ones.
+ * <p>
+ * Threads of this JVM first take a {@link ReentrantReadWriteLock} per locked
+ * byte; the first holder then takes the operating system lock through
+ * {@link FileChannel#tryLock(long, long, boolean)} and the last one releases
+ * it. Waiting is bounded by a timeout. The lock file stays open while any byte
+ * of it is locked, as closing it would drop every lock this JVM holds on it,
+ * and the state kept for a byte is dropped once no thread holds or waits for
+ * it. Locks held by a game instance that crashed are released by the operating
+ * system when its process ends, so a leftover lock file is never stale; it is
+ * simply locked again. It is kept rather than deleted, as deleting it could
+ * let two instances lock different files for the same directory.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class FileLocks {
+    /** How long to wait for a lock when no timeout is given, in milliseconds */
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+
+    /** Name of the lock file created in each directory holding locked files */
+    public static final String LOCK_FILE_NAME = ".locks";
+
+    // Pause between attempts to take a lock held by another process
+    private static final long RETRY_MILLIS = 10;
+
+    // Guards files, lockFiles and the users counts in both
+    private static final Object REGISTRY = new Object();
+    private static final Map<Slot, FileState> files = new HashMap<>();
+    private static final Map<Path, LockFile> lockFiles = new HashMap<>();
+
+    /**
+     * A byte of a directory's lock file.
+     */
+    private static final class Slot {
+        final Path lockFile;
+        final long position;
+
+        Slot(Path file) {
+            Path directory = file.toAbsolutePath().normalize().getParent();
+            lockFile = directory.resolve(LOCK_FILE_NAME);
+            position = file.getFileName().toString().toLowerCase(Locale.ROOT).hashCode() & 0x7fffffffL;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Slot)) return false;
+            Slot other = (Slot) obj;
+            return position == other.position && lockFile.equals(other.lockFile);
+        }
+
+        @Override
+        public int hashCode() {
+            return lockFile.hashCode() * 31 + Long.hashCode(position);
+        }
+    }
+
+    /**
+     * An open lock file, shared by every byte of it locked in this JVM.
+     */
+    private static class LockFile {
+        final FileChannel channel;
+        int users;                  // Bytes locked or being locked; guarded by REGISTRY
+
+        LockFile(FileChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * The locking state of one byte of a lock file within this JVM.
+     */
+    private static class FileState {
+        final Slot slot;
+        final ReentrantReadWriteLock threadLock = new ReentrantReadWriteLock();
+        int users;                  // Threads holding or waiting for the lock; guarded by REGISTRY
+        // Guarded by this
+        int holders;
+        boolean acquiring;          // The first holder is waiting for the operating system lock
+        LockFile lockFile;
+        FileLock processLock;
+
+        FileState(Slot slot) {
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * A lock being held, released by {@link #release()} on the thread that took it.
+     */
+    public static class Held implements AutoCloseable {
+        private final FileState state;
+        private final Lock threadLock;
+        private boolean released;
+
+        private Held(FileState state, Lock threadLock) {
+            this.state = state;
+            this.threadLock = threadLock;
+        }
+
+        /**
+         * Releases the lock. Calling this more than once has no effect.
+         */
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                releaseProcessLock(state);
+            } finally {
+                threadLock.unlock();
+                leave(state);
+            }
+        }
+
+        /**
+         * Releases the lock, so it can be used in try-with-resources.
+         */
+        @Override
+        public void close() {
+            release();
+        }
+    }
+
+    private FileLocks() {}
+
+    /**
+     * Takes a shared lock for reading a file, waiting at most {@link #DEFAULT_TIMEOUT_MILLIS}.
+     * @param file The file to read
+     * @return The held lock, to be released when done
+     * @throws IOException If the lock can't be taken in time or the lock file can't be opened
+     */
+    public static Held shared(Path file) throws IOException {
+        return acquire(file, true, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Takes an exclusive lock for writing a file, waiting at most {@link #DEFAULT_TIMEOUT_MILLIS}.
+     * @param file The file to write
+     * @return The held lock, to be released when done
+     * @throws IOException If the lock can't be taken in time or the lock file can't be opened
+     */
+    public static Held exclusive(Path file) throws IOException {
+        return acquire(file, false, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Takes a lock on a file.
+     * @param file The file to lock
+     * @param shared True for a shared lock, false for an exclusive lock
+     * @param timeoutMillis How long to wait for the lock
+     * @return The held lock, to be released when done
+     * @throws IOException If the lock can't be taken in time or the lock file can't be opened
+     */
+    public static Held acquire(Path file, boolean shared, long timeoutMillis) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        FileState state = enter(new Slot(file));
+        Lock threadLock = shared ? state.threadLock.readLock() : state.threadLock.writeLock();
+
+        try {
+            if (!threadLock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                leave(state);
+                throw new IOException("Timed out after " + timeoutMillis + " ms waiting to lock " + file);
+            }
+        } catch (InterruptedException e) {
+            leave(state);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to lock " + file, e);
+        }
+
+        try {
+            acquireProcessLock(state, file, shared, deadline, timeoutMillis);
+        } catch (IOException | RuntimeException e) {
+            threadLock.unlock();
+            leave(state);
+            throw e;
+        }
+        return new Held(state, threadLock);
+    }
+
+    // Gets the state of a byte for a thread about to lock it, creating it if no thread uses it
+    private static FileState enter(Slot slot) {
+        synchronized (REGISTRY) {
+            FileState state = files.computeIfAbsent(slot, FileState::new);
+            state.users++;
+            return state;
+        }
+    }
+
+    // Drops the state of a byte once no thread holds or waits for its lock
+    private static void leave(FileState state) {
+        synchronized (REGISTRY) {
+            if (--state.users == 0) {
+                files.remove(state.slot);
+            }
+        }
+    }
+
+    // Opens a directory's lock file, or shares the one already open
+    private static LockFile openLockFile(Path path) throws IOException {
+        synchronized (REGISTRY) {
+            LockFile lockFile = lockFiles.get(path);
+            if (lockFile == null) {
+                Files.createDirectories(path.getParent());
+                lockFile = new LockFile(FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                lockFiles.put(path, lockFile);
+            }
+            lockFile.users++;
+            return lockFile;
+        }
+    }
+
+    // Closes a lock file once no byte of it is locked or being locked
+    private static void closeLockFile(Path path, LockFile lockFile) {
+        synchronized (REGISTRY) {
+            if (--lockFile.users > 0) {
+                return;
+            }
+            lockFiles.remove(path);
+            try {
+                lockFile.channel.close();
+            } catch (IOException e) {
+                System.err.println("Could not close lock file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Takes the operating system lock if this is the first holder in this JVM.
+     * Holders in this JVM are either one writer or any number of readers, so
+     * the lock taken by the first one is of the right kind for all of them.
+     * The first holder polls for the lock without holding the state's monitor;
+     * readers arriving meanwhile wait for it until their own deadline.
+     */
+    private static void acquireProcessLock(FileState state, Path file, boolean shared, long deadline,
+                                           long timeoutMillis) throws IOException {
+        synchronized (state) {
+            try {
+                while (state.acquiring) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new IOException("Timed out after " + timeoutMillis + " ms waiting to lock " + file);
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(state, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting to lock " + file, e);
+            }
+            if (state.holders > 0) {
+                state.holders++;
+                return;
+            }
+            state.acquiring = true;
+        }
+
+        Slot slot = state.slot;
+        LockFile lockFile = null;
+        FileLock processLock;
+        try {
+            lockFile = openLockFile(slot.lockFile);
+            while ((processLock = lockFile.channel.tryLock(slot.position, 1, shared)) == null) {
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new IOException("Timed out after " + timeoutMillis + " ms waiting to lock " + file
+                        + ", held by another game instance");
+                }
+                Thread.sleep(RETRY_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            if (lockFile != null) {
+                closeLockFile(slot.lockFile, lockFile);
+            }
+            finishAcquiring(state, null, null);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to lock " + file, e);
+        } catch (IOException | RuntimeException e) {
+            if (lockFile != null) {
+                closeLockFile(slot.lockFile, lockFile);
+            }
+            finishAcquiring(state, null, null);
+            throw e;
+        }
+        finishAcquiring(state, lockFile, processLock);
+    }
+
+    // Records the lock taken, or none if taking it failed, and wakes the threads waiting for it
+    private static void finishAcquiring(FileState state, LockFile lockFile, FileLock processLock) {
+        synchronized (state) {
+            state.acquiring = false;
+            if (processLock != null) {
+                state.lockFile = lockFile;
+                state.processLock = processLock;
+                state.holders = 1;
+            }
+            state.notifyAll();
+        }
+    }
+
+    private static void releaseProcessLock(FileState state) {
+        synchronized (state) {
+            if (--state.holders > 0) {
+                return;
+            }
+            try {
+                state.processLock.release();
+            } catch (IOException e) {
+                System.err.println("Could not release file lock: " + e.getMessage());
+            }
+            closeLockFile(state.slot.lockFile, state.lockFile);
+            state.processLock = null;
+            state.lockFile = null;
+        }
+    }
+}
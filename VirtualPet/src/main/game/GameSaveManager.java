@@ -1,17 +1,18 @@
 package group33.VirtualPet.src.main.game;
 
 import java.io.*;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
 
-import group33.VirtualPet.src.main.model.Inventory;
 import group33.VirtualPet.src.main.model.ParentalSettings;
 import group33.VirtualPet.src.main.model.Pet;
 import group33.VirtualPet.src.main.model.Player;
@@ -31,6 +32,12 @@ import group33.VirtualPet.src.main.model.Player;
  * Game saves are stored in CSV format in the group33/VirtualPet/src/main/save_files directory,
  * while parental settings are added to group33/VirtualPet/src/main/settings/parental_settings.csv
  * <p>
+ * Setting the system property {@code virtualpet.storage=paged} keeps all saves in a single
+ * paged store file (save_files/saves.db) instead of one CSV file per save. See {@link SaveStorage}.
+ * <p>
+ * Every save ends with a CRC32C checksum row so damaged saves can be found by
+ * {@link SaveIntegrityChecker}.
+ * <p>
  * 
  * @author Team 33 (Dhir, Kostya, Fatima, Anna)
  * @since Winter 2025
@@ -40,18 +47,104 @@ import group33.VirtualPet.src.main.model.Player;
 public class GameSaveManager {
     private static final String SAVE_DIRECTORY = "group33/VirtualPet/src/main/save_files";
     private static final String PARENTAL_SETTINGS_FILE = "group33/VirtualPet/src/main/settings/parental_settings.csv";
-    private static final String SETTINGS_DIRECTORY = "group33/VirtualPet/src/main/settings";
+    private static final String SESSION_LOG_FILE = "group33/VirtualPet/src/main/settings/session_history.dat";
+    private static final String SESSION_ROLLUP_FILE = "group33/VirtualPet/src/main/settings/session_rollups.csv";
+    private static final String PAGED_STORE_FILE = "group33/VirtualPet/src/main/save_files/saves.db";
     
-    // Ensure save and settings directories exist
-    static {
-        try {
-            Files.createDirectories(Paths.get(SAVE_DIRECTORY));
-            Files.createDirectories(Paths.get(SETTINGS_DIRECTORY));
-        } catch (IOException e) {
-            System.err.println("Could not create directories: " + e.getMessage());
+    // Last row of every save: a CRC32C of all the rows above it, in hex
+    static final String CHECKSUM_ROW = "Checksum";
+    
+    // Backend holding saves and settings; the CSV backend creates the save and settings directories
+    private static volatile SaveStorage storage = createStorage();
+    
+    // In-memory copy of the parental settings, plus the storage stamp it was read at.
+    // Reads only re-parse the settings when the stamp changes.
+    private static ParentalSettings cachedSettings;
+    private static long cachedSettingsStamp;
+    
+    // Codecs converting saves and settings to and from records
+    private static final PlayerCodec PLAYER_CODEC = new PlayerCodec();
+    private static final ParentalSettingsCodec SETTINGS_CODEC = new ParentalSettingsCodec();
+    
+    // Secondary indexes over the saves, built in the background and then kept up to date on every write.
+    // liveIndex receives every write and delete from the moment its build starts; saveIndex is only
+    // published once that build has finished, so no one queries a half-built index.
+    private static volatile SaveIndex saveIndex;
+    private static volatile SaveIndex liveIndex;
+    private static CompletableFuture<SaveIndex> saveIndexBuild; // Guarded by SAVE_INDEX_LOCK
+    private static final Object SAVE_INDEX_LOCK = new Object();
+    
+    // History of finished play sessions, opened on first use
+    private static SessionHistoryStore sessionHistory;
+    
+    /**
+     * Creates the save storage backend selected by the virtualpet.storage system property.
+     * Falls back to one CSV file per save if the paged store cannot be opened.
+     * @return The save storage backend
+     */
+    private static SaveStorage createStorage() {
+        if ("paged".equalsIgnoreCase(System.getProperty("virtualpet.storage"))) {
+            try {
+                PagedSaveStorage pagedStorage = new PagedSaveStorage(PAGED_STORE_FILE);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        pagedStorage.close();
+                    } catch (IOException e) {
+                        System.err.println("Error closing save store: " + e.getMessage());
+                    }
+                }, "save-store-close"));
+                return pagedStorage;
+            } catch (IOException e) {
+                System.err.println("Could not open save store, using CSV files: " + e.getMessage());
+            }
+        }
+        return new CsvDirectoryStorage(SAVE_DIRECTORY, PARENTAL_SETTINGS_FILE);
+    }
+    
+    /**
+     * Replaces the storage backend, for example with an {@link InMemorySaveStorage}
+     * in tests and benchmarks. Cached settings from the old backend are dropped.
+     * @param newStorage The storage backend to use from now on
+     */
+    public static synchronized void setStorage(SaveStorage newStorage) {
+        storage = newStorage;
+        cachedSettings = null;
+        cachedSettingsStamp = 0;
+        synchronized (SAVE_INDEX_LOCK) {
+            saveIndex = null;
+            liveIndex = null;
+            saveIndexBuild = null;
         }
     }
     
+    /**
+     * Gets the storage backend currently used for saves and settings.
+     * @return The storage backend
+     */
+    public static SaveStorage getStorage() {
+        return storage;
+    }
+    
+    /**
+     * Gets the history of finished play sessions, opening it on first use.
+     * @return The session history
+     * @throws IOException If the history files can't be read
+     */
+    public static synchronized SessionHistoryStore getSessionHistory() throws IOException {
+        if (sessionHistory == null) {
+            sessionHistory = new SessionHistoryStore(Paths.get(SESSION_LOG_FILE), Paths.get(SESSION_ROLLUP_FILE));
+        }
+        return sessionHistory;
+    }
+    
+    /**
+     * Replaces the session history, for example with one in a temporary folder in tests.
+     * @param history The session history to use from now on
+     */
+    public static synchronized void setSessionHistory(SessionHistoryStore history) {
+        sessionHistory = history;
+    }
+    
     /**
      * Save the current game state to a CSV file
      * @param player The player whose game state is to be saved
@@ -59,82 +152,174 @@ public class GameSaveManager {
      * @throws IOException If there's an error writing the file
      */
     public static void saveGame(Player player, String filename) throws IOException {
+        writeSaveFile(filename, serializeGame(player));
+    }
+    
+    /**
+     * Gets the name of a save as shown to the player, without the file suffix.
+     * @param filename The name of the save file
+     * @return The save name, with underscores shown as spaces
+     */
+    public static String getDisplayName(String filename) {
+        String displayName = filename.replace("_save.csv", "").replace(".csv", "").replace("_", " ").trim();
+        return displayName.isEmpty() ? filename : displayName;
+    }
+    
+    /**
+     * Converts a save name into the file name used on disk.
+     * @param filename The save name, with or without the .csv extension
+     * @return The filename ending in .csv
+     */
+    static String normalizeFilename(String filename) {
         // Ensure filename ends with .csv
         if (!filename.toLowerCase().endsWith(".csv")) {
             filename += ".csv";
         }
+        return filename;
+    }
+    
+    /**
+     * Builds the CSV contents of a save file for the given player.
+     * This only reads the player state, so it is cheap enough to run on the
+     * caller's thread before handing the write off to another thread.
+     * @param player The player whose game state is to be serialized
+     * @return The full contents of the save file
+     * @throws IOException If there's an error building the contents
+     */
+    static String serializeGame(Player player) throws IOException {
+        StringWriter contents = new StringWriter();
+        PLAYER_CODEC.write(player, new CsvFieldSink(contents));
         
-        File saveFile = new File(SAVE_DIRECTORY, filename);
+        String body = contents.toString();
+        return body + CHECKSUM_ROW + "," + checksum(body) + System.lineSeparator();
+    }
+    
+    /**
+     * Computes the checksum stored in the last row of a save.
+     * @param body Everything in the save before the checksum row
+     * @return The CRC32C of the body as 8 hex digits
+     */
+    static String checksum(String body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        // Padded by hand, String.format costs more than the CRC itself
+        String hex = Long.toHexString(crc.getValue());
+        return "00000000".substring(hex.length()) + hex;
+    }
+    
+    /**
+     * Writes already serialized contents to a save file.
+     * @param filename The name of the save file
+     * @param contents The full contents of the save file
+     * @throws IOException If there's an error writing the file
+     */
+    static void writeSaveFile(String filename, String contents) throws IOException {
+        filename = normalizeFilename(filename);
+        storage.write(filename, contents);
+        saveFileWritten(filename, contents);
+    }
+    
+    /**
+     * Replaces a save file only if it still holds the contents read earlier,
+     * after any queued background save of it has landed.
+     * @param filename The name of the save file
+     * @param expected The contents read earlier
+     * @param contents The new contents of the save file
+     * @return true if the save was replaced, false if it was changed or deleted in the meantime
+     * @throws IOException If there's an error reading or writing the file
+     */
+    static boolean replaceSaveFile(String filename, String expected, String contents) throws IOException {
+        filename = normalizeFilename(filename);
+        AsyncSaveService.awaitPendingSave(filename);
+        if (!storage.replace(filename, expected, contents)) {
+            return false;
+        }
+        saveFileWritten(filename, contents);
+        return true;
+    }
+    
+    private static void saveFileWritten(String filename, String contents) {
+        CheckpointService.saveWritten(filename);
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(saveFile))) {
-            // Write player information
-            writer.write("Player Name," + player.getName());
-            writer.newLine();
-            writer.write("Total Play Time," + player.getTotalPlayTime().toSeconds());
-            writer.newLine();
-            writer.write("Current Score," + player.getScore());
-            writer.newLine();
-            writer.write("last time play was used," + player.getLastP());
-            writer.newLine();
-            writer.write("last time player went to vet," + player.getLastV());
-            writer.newLine();
-            
-            // Write pet information
-            writer.write("Pets,Name,Type,Health,Happiness,Fullness,Sleep,Is Sleeping,Is Hungry,Is Angry,Is Dead");
-            writer.newLine();
-            
-            // If there's a current pet
-            Pet currentPet = player.getCurrentPet();
-            if (currentPet != null) {
-                writer.write("Current Pet," + 
-                    currentPet.getName() + "," + 
-                    currentPet.getType() + "," + 
-                    currentPet.getHealth() + "," + 
-                    currentPet.getHappiness() + "," + 
-                    currentPet.getFullness() + "," + 
-                    currentPet.getSleep() + "," + 
-                    currentPet.isSleeping() + "," + 
-                    currentPet.isHungry() + "," + 
-                    currentPet.isAngry() + "," + 
-                    currentPet.isDead());
-                writer.newLine();
+        SaveIndex index = liveIndex;
+        if (index != null) {
+            index.update(filename, contents);
+        }
+    }
+    
+    /**
+     * Gets the secondary indexes over all saves, waiting for them to be built on first use.
+     * Building reads every save, so screens should use {@link #findSavesByName(String, int)}
+     * instead, which never waits.
+     * @return The save index
+     */
+    public static SaveIndex getSaveIndex() {
+        SaveIndex index = saveIndex;
+        return index != null ? index : warmSaveIndex().join();
+    }
+    
+    /**
+     * Starts building the save index on a background thread, if it isn't built or being built yet.
+     * @return The build, finished once the index is published
+     */
+    public static CompletableFuture<SaveIndex> warmSaveIndex() {
+        synchronized (SAVE_INDEX_LOCK) {
+            if (saveIndexBuild == null) {
+                SaveIndex index = new SaveIndex();
+                // Updated from now on, so saves written while building are indexed too
+                liveIndex = index;
+                saveIndexBuild = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        index.build(Runtime.getRuntime().availableProcessors());
+                    } catch (RuntimeException e) {
+                        // Let the next request try again
+                        synchronized (SAVE_INDEX_LOCK) {
+                            if (liveIndex == index) {
+                                liveIndex = null;
+                                saveIndexBuild = null;
+                            }
+                        }
+                        throw e;
+                    }
+                    synchronized (SAVE_INDEX_LOCK) {
+                        if (liveIndex == index) { // not dropped by setStorage meanwhile
+                            saveIndex = index;
+                        }
+                    }
+                    return index;
+                }, runnable -> {
+                    Thread thread = new Thread(runnable, "save-index-build");
+                    thread.setDaemon(true);
+                    thread.start();
+                });
             }
-            
-            // Write inventory information
-            Inventory inventory = player.getInventory();
-            
-            // Write food items
-            writer.write("Food Items,Name,Fullness Value,Quantity");
-            writer.newLine();
-            inventory.getFoodItems().forEach((foodItem, quantity) -> {
-                try {
-                    writer.write("Food Item," + 
-                        foodItem.getName() + "," + 
-                        foodItem.getFullnessValue() + "," + 
-                        quantity);
-                    writer.newLine();
-                } catch (IOException e) {
-                    System.err.println("Error writing food item: " + e.getMessage());
-                }
-            });
-            
-            // Write gift items
-            writer.write("Gift Items,Name,Happiness Value,Quantity");
-            writer.newLine();
-            inventory.getGiftItems().forEach((giftItem, quantity) -> {
-                try {
-                    writer.write("Gift Item," + 
-                        giftItem.getName() + "," + 
-                        giftItem.getHappinessValue() + "," + 
-                        quantity);
-                    writer.newLine();
-                } catch (IOException e) {
-                    System.err.println("Error writing gift item: " + e.getMessage());
-                }
-            });
+            return saveIndexBuild;
         }
     }
     
+    /**
+     * Finds the saves whose save name or pet name starts with some text, ignoring case,
+     * without waiting for the save index. Until the index is built, only save names are
+     * matched, from the list of save files.
+     * @param prefix The start of the name; an empty prefix matches every save
+     * @param limit The most saves to return
+     * @return The save file names
+     */
+    public static List<String> findSavesByName(String prefix, int limit) {
+        SaveIndex index = saveIndex;
+        if (index != null) {
+            return index.withNamePrefix(prefix, limit);
+        }
+        warmSaveIndex();
+        String folded = prefix.toLowerCase(Locale.ROOT);
+        return listSaveFiles().stream()
+            .filter(filename -> getDisplayName(filename).toLowerCase(Locale.ROOT).startsWith(folded))
+            .sorted(Comparator.comparing((String filename) -> getDisplayName(filename).toLowerCase(Locale.ROOT))
+                .thenComparing(Comparator.naturalOrder()))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+    
     /**
      * Load a game state from a CSV file
      * @param filename The name of the save file to load
@@ -142,93 +327,94 @@ public class GameSaveManager {
      * @throws IOException If there's an error reading the file
      */
     public static Player loadGame(String filename) throws IOException {
-        // Ensure filename ends with .csv
-        if (!filename.toLowerCase().endsWith(".csv")) {
-            filename += ".csv";
+        return parseGame(readSaveFile(filename));
+    }
+    
+    /**
+     * Reads the raw contents of a save file, waiting for any queued background save of it first.
+     * @param filename The name of the save file
+     * @return The full contents of the save file
+     * @throws IOException If there's an error reading the file
+     */
+    static String readSaveFile(String filename) throws IOException {
+        filename = normalizeFilename(filename);
+        AsyncSaveService.awaitPendingSave(filename);
+        return storage.read(filename);
+    }
+    
+    /**
+     * Rebuilds a player from the full contents of a save file.
+     * @param contents The contents of the save file
+     * @return A new Player object with the loaded game state, or null if the save has no player
+     * @throws IOException If there's an error reading the contents
+     */
+    static Player parseGame(String contents) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(contents))) {
+            return parseGame(reader);
         }
+    }
+    
+    /**
+     * Rebuilds a player from the CSV contents of a save file.
+     * @param reader Reader positioned at the start of the save contents
+     * @return A new Player object with the loaded game state, or null if the save has no player
+     * @throws IOException If there's an error reading the contents
+     */
+    private static Player parseGame(BufferedReader reader) throws IOException {
+        // Older layouts are upgraded line by line, so only the current layout is parsed here
+        return PLAYER_CODEC.read(new CsvFieldSource(SaveSchema.upgrade(reader).iterator()));
+    }
+    
+    /**
+     * Load only the summary fields of a save (player name, score, play time and
+     * current pet) by reading the start of the file up to the inventory section.
+     * The full player is loaded lazily through the returned summary if needed.
+     * @param filename The name of the save file to summarize
+     * @return The save summary, or null if the save has no player
+     * @throws IOException If there's an error reading the file
+     */
+    public static SaveSummary loadSummary(String filename) throws IOException {
+        filename = normalizeFilename(filename);
         
-        File saveFile = new File(SAVE_DIRECTORY, filename);
-        Player player = null;
+        // Make sure a queued background save of this file has landed first
+        AsyncSaveService.awaitPendingSave(filename);
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(saveFile))) {
-            String line;
-            Pet loadedPet = null;
-            Inventory inventory = new Inventory();
-            
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",");
-                
-                // Parse player information
-                if (parts[0].equals("Player Name")) {
-                    player = new Player(parts[1]);
-                } else if (parts[0].equals("Total Play Time")) {
-                    // Restore play time
-                    if (player != null) {
-                        player.setTotalPlayTime(Duration.ofSeconds(Long.parseLong(parts[1])));
-                    }
-                } else if (parts[0].equals("Current Score")) {
-                    if (player != null) {
-                        player.setScore(Integer.parseInt(parts[1]));
-                    }
-                }
-                if (parts[0].equals("last time play was used"))
-                {
-                    player.setLastP(Long.parseLong(parts[1]));
-                }
-
-                if (parts[0].equals("last time player went to vet"))
-                {
-                    player.setLastV(Long.parseLong(parts[1]));
-                }
-                // Parse current pet information
-                if (parts[0].equals("Current Pet")) {
-                    String petName = parts[1];
-                    Pet.PetType petType = Pet.PetType.valueOf(parts[2]);
-                    loadedPet = new Pet(petName, petType);
-                    
-                    // Restore pet statistics
-                    loadedPet.setHealth(Integer.parseInt(parts[3]));
-                    loadedPet.setHappiness(Integer.parseInt(parts[4]));
-                    loadedPet.setFullness(Integer.parseInt(parts[5]));
-                    loadedPet.setSleep(Integer.parseInt(parts[6]));
-                    
-                    // Restore pet states
-                    if (Boolean.parseBoolean(parts[7])) loadedPet.sleep();
-                    // Other state flags are handled by the Pet class's internal checks
-
-                    // Restore pet states
-                    if (Boolean.parseBoolean(parts[7])) loadedPet.sleep();
-                    // Add these lines to restore other states:
-                    if (Boolean.parseBoolean(parts[10])) {
-                        // Force the dead state to be set
-                        loadedPet.setHealth(0);
-                        loadedPet.checkHealthState(); // You'll need to add this method to Pet class
+        String playerName = null;
+        int score = 0;
+        long totalPlayTime = 0;
+        String petName = null;
+        Pet.PetType petType = null;
+        boolean petDead = false;
+        
+        try (BufferedReader reader = storage.openReader(filename)) {
+            FieldSource source = new CsvFieldSource(SaveSchema.upgrade(reader).iterator());
+            String label;
+            while ((label = source.nextRecord()) != null) {
+                if (label.equals(InventoryCodec.FOOD_HEADER_ROW)) {
+                    // Everything after this point is inventory, which the summary doesn't need
+                    break;
+                } else if (label.equals(PlayerCodec.NAME_ROW) && source.hasField()) {
+                    playerName = source.readString();
+                } else if (label.equals(PlayerCodec.PLAY_TIME_ROW) && source.hasField()) {
+                    totalPlayTime = source.readLong();
+                } else if (label.equals(PlayerCodec.SCORE_ROW) && source.hasField()) {
+                    score = Math.max(0, source.readInt());
+                } else if (label.equals(PetCodec.PET_ROW) && source.hasField()) {
+                    petName = source.readString();
+                    petType = Pet.PetType.valueOf(source.readString());
+                    // Skip the statistics and the other flags to reach the dead flag
+                    for (int column = SaveSchema.PET_TYPE + 1; column < SaveSchema.PET_IS_DEAD && source.hasField(); column++) {
+                        source.readString();
                     }
-                }
-                
-                // Parse food items
-                if (parts[0].equals("Food Item") && player != null) {
-                    Inventory.FoodItem foodItem = new Inventory.FoodItem(parts[1], Integer.parseInt(parts[2]));
-                    inventory.addFoodItem(foodItem, Integer.parseInt(parts[3]));
-                }
-                
-                // Parse gift items
-                if (parts[0].equals("Gift Item") && player != null) {
-                    Inventory.GiftItem giftItem = new Inventory.GiftItem(parts[1], Integer.parseInt(parts[2]));
-                    inventory.addGiftItem(giftItem, Integer.parseInt(parts[3]));
-                }
-            }
-            
-            // Set up the player
-            if (player != null) {
-                player.setInventory(inventory);
-                if (loadedPet != null) {
-                    player.adoptPet(loadedPet);
+                    petDead = source.hasField() && source.readBoolean();
                 }
             }
         }
         
-        return player;
+        if (playerName == null) {
+            return null;
+        }
+        return new SaveSummary(filename, playerName, score, totalPlayTime, petName, petType, petDead);
     }
     
     /**
@@ -237,76 +423,66 @@ public class GameSaveManager {
      */
     public static List<String> listSaveFiles() {
         try {
-            return Files.list(Paths.get(SAVE_DIRECTORY))
-                .filter(path -> path.toString().toLowerCase().endsWith(".csv"))
-                .map(path -> path.getFileName().toString())
-                .collect(Collectors.toList());
+            return storage.list();
         } catch (IOException e) {
             System.err.println("Error listing save files: " + e.getMessage());
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Delete a save file
+     * @param filename The name of the save file
+     * @return true if the save was deleted, false if it didn't exist
+     * @throws IOException If there's an error deleting the file
+     */
+    public static boolean deleteSave(String filename) throws IOException {
+        filename = normalizeFilename(filename);
+        boolean deleted = storage.delete(filename);
+        
+        SaveIndex index = liveIndex;
+        if (index != null) {
+            index.remove(filename);
+        }
+        return deleted;
+    }
+    
+    /**
+     * Deletes a save file only if it still holds the contents read earlier,
+     * after any queued background save of it has landed.
+     * @param filename The name of the save file
+     * @param expected The contents read earlier
+     * @return true if the save was deleted, false if it was changed or deleted in the meantime
+     * @throws IOException If there's an error reading or deleting the file
+     */
+    static boolean deleteSaveIfUnchanged(String filename, String expected) throws IOException {
+        filename = normalizeFilename(filename);
+        AsyncSaveService.awaitPendingSave(filename);
+        if (!storage.deleteIfUnchanged(filename, expected)) {
+            return false;
+        }
+        
+        SaveIndex index = liveIndex;
+        if (index != null) {
+            index.remove(filename);
+        }
+        return true;
+    }
+    
     /**
      * Save parental settings to a CSV file
      * @param settings The parental settings to save
      * @throws IOException If there's an error writing the file
      */
-    public static void saveParentalSettings(ParentalSettings settings) throws IOException {
-        File settingsFile = new File(PARENTAL_SETTINGS_FILE);
-        // Create parent directories if they don't exist
-        if (!settingsFile.getParentFile().exists()) {
-            settingsFile.getParentFile().mkdirs();
-        }
+    public static synchronized void saveParentalSettings(ParentalSettings settings) throws IOException {
+        StringWriter contents = new StringWriter();
+        SETTINGS_CODEC.write(settings, new CsvFieldSink(contents));
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(settingsFile))) {
-            // Write CSV header
-            writer.write("Setting,Value");
-            writer.newLine();
-            
-            // Write time restriction settings
-            writer.write("TimeRestrictionEnabled," + settings.isTimeRestrictionEnabled());
-            writer.newLine();
-            
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-            
-            // Handle null start time
-            LocalTime startTime = settings.getAllowedStartTime();
-            if (startTime != null) {
-                writer.write("AllowedStartTime," + startTime.format(timeFormatter));
-            } else {
-                writer.write("AllowedStartTime,");  // Empty value for null time
-            }
-            writer.newLine();
-            
-            // Handle null end time
-            LocalTime endTime = settings.getAllowedEndTime();
-            if (endTime != null) {
-                writer.write("AllowedEndTime," + endTime.format(timeFormatter));
-            } else {
-                writer.write("AllowedEndTime,");  // Empty value for null time
-            }
-            writer.newLine();
-            
-            // Write statistics
-            writer.write("TotalPlayTimeSeconds," + settings.getTotalPlayTime().getSeconds());
-            writer.newLine();
-            writer.write("SessionCount," + settings.getSessionCount());
-            writer.newLine();
-            
-            // Write last session info if available
-            if (settings.getLastSessionStart() != null) {
-                DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-                writer.write("LastSessionStart," + settings.getLastSessionStart().format(dateTimeFormatter));
-                writer.newLine();
-            }
-            
-            if (settings.getLastSessionEnd() != null) {
-                DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-                writer.write("LastSessionEnd," + settings.getLastSessionEnd().format(dateTimeFormatter));
-                writer.newLine();
-            }
-        }
+        storage.writeSettings(contents.toString());
+        
+        // Write-through: parse what was just written so the cache matches the file exactly
+        cachedSettings = parseParentalSettings(new BufferedReader(new StringReader(contents.toString())));
+        cachedSettingsStamp = storage.settingsStamp();
     }
     
     /**
@@ -315,91 +491,62 @@ public class GameSaveManager {
      * @throws IOException If there's an error reading the file
      */
     public static ParentalSettings loadParentalSettings() throws IOException {
-        File settingsFile = new File(PARENTAL_SETTINGS_FILE);
+        // Hand out a copy so callers can change it without touching the cache
+        return new ParentalSettings(getParentalSettings());
+    }
+    
+    /**
+     * Gets the cached parental settings, re-reading the file only if it changed on disk.
+     * The returned object is shared and must not be modified; use
+     * {@link #loadParentalSettings()} to get a copy that can be changed and saved.
+     * @return The current parental settings
+     * @throws IOException If there's an error reading the file
+     */
+    static synchronized ParentalSettings getParentalSettings() throws IOException {
+        long stamp = storage.settingsStamp();
+        
+        if (stamp == 0) {
+            // Nothing to cache, defaults are built fresh like before
+            cachedSettings = null;
+            return readParentalSettings();
+        }
+        
+        if (cachedSettings == null || stamp != cachedSettingsStamp) {
+            cachedSettings = readParentalSettings();
+            cachedSettingsStamp = stamp;
+        }
+        return cachedSettings;
+    }
+    
+    /**
+     * Reads and parses the stored parental settings.
+     * @return The parsed settings, or a new default settings object if none are stored
+     * @throws IOException If there's an error reading the settings
+     */
+    private static ParentalSettings readParentalSettings() throws IOException {
+        String contents = storage.readSettings();
         
-        if (!settingsFile.exists()) {
+        if (contents == null) {
             // Return default settings if file doesn't exist
             ParentalSettings defaultSettings = new ParentalSettings();
             // Don't automatically start a new session
             // defaultSettings.startSession();
             return defaultSettings;
         }
-
-        ParentalSettings settings = new ParentalSettings();
         
-        try (BufferedReader reader = new BufferedReader(new FileReader(settingsFile))) {
-            String line;
-            
-            // Skip header line
-            reader.readLine();
-            
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split(",", 2);
-                if (parts.length != 2) continue;
-                
-                String key = parts[0];
-                String value = parts[1];
-                
-                switch (key) {
-                    case "TimeRestrictionEnabled":
-                        settings.setTimeRestrictionEnabled(Boolean.parseBoolean(value));
-                        break;
-                    case "AllowedStartTime":
-                        settings.setAllowedStartTime(LocalTime.parse(value));
-                        break;
-                    case "AllowedEndTime":
-                        settings.setAllowedEndTime(LocalTime.parse(value));
-                        break;
-                    case "TotalPlayTimeSeconds":
-                        settings.setTotalPlayTime(Duration.ofSeconds(Long.parseLong(value)));
-                        break;
-                    case "SessionCount":
-                        // We need to restore session count manually since we're not using addSessionTime
-                        int sessionCount = Integer.parseInt(value);
-                        for (int i = 0; i < sessionCount; i++) {
-                            settings.addSessionTime(Duration.ZERO);  // Add zero duration to increment the counter
-                        }
-                        break;
-                case "LastSessionStart":
-                    // Parse the timestamp and set the lastSessionStart field using reflection
-                    try {
-                        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-                        LocalDateTime startTime = LocalDateTime.parse(value, dateTimeFormatter);
-                        
-                        // Use reflection to set the lastSessionStart field
-                        java.lang.reflect.Field field = ParentalSettings.class.getDeclaredField("lastSessionStart");
-                        field.setAccessible(true);
-                        field.set(settings, startTime);
-                    } catch (Exception e) {
-                        System.err.println("Error setting lastSessionStart: " + e.getMessage());
-                    }
-                    break;
-                case "LastSessionEnd":
-                    // Parse the timestamp and set the lastSessionEnd field using reflection
-                    try {
-                        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-                        LocalDateTime endTime = LocalDateTime.parse(value, dateTimeFormatter);
-                        
-                        // Use reflection to set the lastSessionEnd field
-                        java.lang.reflect.Field field = ParentalSettings.class.getDeclaredField("lastSessionEnd");
-                        field.setAccessible(true);
-                        field.set(settings, endTime);
-                    } catch (Exception e) {
-                        System.err.println("Error setting lastSessionEnd: " + e.getMessage());
-                    }
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error parsing parental settings: " + e.getMessage());
-            // Start a new session not used anymore
-            // settings.startSession();
-            return settings;
+        try (BufferedReader reader = new BufferedReader(new StringReader(contents))) {
+            return parseParentalSettings(reader);
         }
-        
-        // Start a new session not used anymore
-        // settings.startSession();
-        return settings;
+    }
+    
+    /**
+     * Parses parental settings from CSV contents.
+     * @param reader Reader positioned at the start of the settings CSV
+     * @return The parsed settings; unreadable values keep their defaults
+     * @throws IOException If there's an error reading the contents
+     */
+    private static ParentalSettings parseParentalSettings(BufferedReader reader) throws IOException {
+        return SETTINGS_CODEC.read(new CsvFieldSource(reader.lines().iterator()));
     }
     
     /**
@@ -433,8 +580,8 @@ public class GameSaveManager {
      */
     public static boolean isPlayTimeAllowed(String screenType) {
         try {
-            ParentalSettings settings = loadParentalSettings();
-            return settings.isTimeAllowed(screenType);
+            // Read-only check, so the shared cached settings can be used directly
+            return getParentalSettings().isTimeAllowed(screenType);
         } catch (IOException e) {
             System.err.println("Error checking play time restrictions: " + e.getMessage());
             // Default to allowing play if there's an error
@@ -456,9 +603,15 @@ public class GameSaveManager {
     public static void recordPlaySession(Duration sessionDuration) {
         try {
             ParentalSettings settings = loadParentalSettings();
+            int sessionsBefore = settings.getSessionCount();
             settings.addSessionTime(sessionDuration);
             // settings.endSession();
             saveParentalSettings(settings);
+            
+            if (settings.getSessionCount() > sessionsBefore) {
+                LocalDateTime end = LocalDateTime.now();
+                getSessionHistory().append(end.minus(sessionDuration), end);
+            }
         } catch (IOException e) {
             System.err.println("Error recording play session: " + e.getMessage());
         }
@@ -482,11 +635,26 @@ public class GameSaveManager {
      */
     public static void endPlaySession() {
         try {
-            ParentalSettings settings = loadParentalSettings();
-            settings.endSession();
-            saveParentalSettings(settings);
+            endPlaySession(loadParentalSettings());
         } catch (IOException e) {
             System.err.println("Error ending play session: " + e.getMessage());
         }
     }
+    
+    /**
+     * End the session tracked by the given settings, save them and add the session to the history
+     * @param settings The settings holding the current session
+     * @throws IOException If the settings or the history could not be written
+     */
+    public static void endPlaySession(ParentalSettings settings) throws IOException {
+        LocalDateTime start = settings.getLastSessionStart();
+        int sessionsBefore = settings.getSessionCount();
+        settings.endSession();
+        saveParentalSettings(settings);
+        
+        // Sessions over 24 hours are not counted, so they are left out of the history too
+        if (start != null && settings.getSessionCount() > sessionsBefore) {
+            getSessionHistory().append(start, settings.getLastSessionEnd());
+        }
+    }
 }
\ No newline at end of file
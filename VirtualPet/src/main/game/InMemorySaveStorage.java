@@ -0,0 +1,77 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps saves and parental settings in memory only.
+ * Useful for tests and benchmarks that should not touch the save directory.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class InMemorySaveStorage implements SaveStorage {
+    private final Map<String, String> saves = new ConcurrentHashMap<>();
+    private volatile String settings;
+    private volatile long settingsStamp;
+
+    @Override
+    public void write(String filename, String contents) {
+        saves.put(filename, contents);
+    }
+
+    @Override
+    public String read(String filename) throws FileNotFoundException {
+        String contents = saves.get(filename);
+        if (contents == null) {
+            throw new FileNotFoundException(filename + " (No such save in memory)");
+        }
+        return contents;
+    }
+
+    @Override
+    public boolean replace(String filename, String expected, String contents) {
+        return saves.replace(filename, expected, contents);
+    }
+
+    @Override
+    public boolean deleteIfUnchanged(String filename, String expected) {
+        return saves.remove(filename, expected);
+    }
+
+    @Override
+    public List<String> list() {
+        List<String> names = new ArrayList<>();
+        for (String filename : saves.keySet()) {
+            // Like the other backends, only .csv entries are saves
+            if (filename.toLowerCase().endsWith(".csv")) {
+                names.add(filename);
+            }
+        }
+        return names;
+    }
+
+    @Override
+    public boolean delete(String filename) {
+        return saves.remove(filename) != null;
+    }
+
+    @Override
+    public String readSettings() {
+        return settings;
+    }
+
+    @Override
+    public synchronized void writeSettings(String contents) {
+        settings = contents;
+        settingsStamp++;
+    }
+
+    @Override
+    public long settingsStamp() {
+        return settings == null ? 0 : settingsStamp;
+    }
+}
@@ -0,0 +1,89 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.util.Map;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+
+/**
+ * Converts an {@link Inventory} to and from the inventory section of a save:
+ * a header record and one record per item, first for food and then for gifts.
+ * A saved inventory replaces the default items a new inventory starts with.
+ * Only items on sale are restored; any other item in a save is dropped, so
+ * saves can't fill the {@link ItemCatalog} with items the game never uses.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class InventoryCodec implements SaveCodec<Inventory> {
+    static final String FOOD_HEADER_ROW = "Food Items";
+    static final String FOOD_ROW = "Food Item";
+    static final String GIFT_HEADER_ROW = "Gift Items";
+    static final String GIFT_ROW = "Gift Item";
+
+    @Override
+    public void write(Inventory inventory, FieldSink sink) throws IOException {
+        sink.writeRecord(FOOD_HEADER_ROW, "Name", "Fullness Value", "Quantity");
+        for (Map.Entry<Inventory.FoodItem, Integer> entry : inventory.getFoodItemsView().entrySet()) {
+            sink.beginRecord(FOOD_ROW);
+            sink.writeString(entry.getKey().getName());
+            sink.writeInt(entry.getKey().getFullnessValue());
+            sink.writeInt(entry.getValue());
+            sink.endRecord();
+        }
+
+        sink.writeRecord(GIFT_HEADER_ROW, "Name", "Happiness Value", "Quantity");
+        for (Map.Entry<Inventory.GiftItem, Integer> entry : inventory.getGiftItemsView().entrySet()) {
+            sink.beginRecord(GIFT_ROW);
+            sink.writeString(entry.getKey().getName());
+            sink.writeInt(entry.getKey().getHappinessValue());
+            sink.writeInt(entry.getValue());
+            sink.endRecord();
+        }
+    }
+
+    @Override
+    public Inventory read(FieldSource source) throws IOException {
+        Inventory inventory = new Inventory();
+        String label;
+        while ((label = source.nextRecord()) != null) {
+            readRecord(label, source, inventory);
+        }
+        return inventory;
+    }
+
+    /**
+     * Applies one record of the inventory section to an inventory.
+     * @param label The label of the current record
+     * @param source Positioned just after the record's label
+     * @param inventory The inventory being rebuilt
+     * @return true if the record belonged to the inventory section
+     * @throws IOException If the record is missing fields
+     */
+    boolean readRecord(String label, FieldSource source, Inventory inventory) throws IOException {
+        switch (label) {
+            case FOOD_HEADER_ROW:
+                inventory.clear();
+                return true;
+            case FOOD_ROW:
+                Inventory.FoodItem food = ItemCatalog.listedFood(source.readString(), source.readInt());
+                int foodQuantity = source.readInt();
+                if (food != null) {
+                    inventory.addFoodItem(food, foodQuantity);
+                }
+                return true;
+            case GIFT_HEADER_ROW:
+                return true;
+            case GIFT_ROW:
+                Inventory.GiftItem gift = ItemCatalog.listedGift(source.readString(), source.readInt());
+                int giftQuantity = source.readInt();
+                if (gift != null) {
+                    inventory.addGiftItem(gift, giftQuantity);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores all saves in a single file organised as a paged key-value store.
+ * <p>
+ * The file is split into fixed-size pages:
+ * <ul>
+ *   <li>Page 0 is the header (format, page count, free list head, entry count)</li>
+ *   <li>Pages 1 to N are the buckets of a hash index keyed by save name. A bucket
+ *       that fills up links to an overflow page.</li>
+ *   <li>All other pages hold save contents, chained together when a save is
+ *       larger than one page, or sit on the free list waiting to be reused.</li>
+ * </ul>
+ * The parental settings are kept in the same store under a reserved key that is
+ * never listed as a save.
+ * <p>
+ * Every change is ordered so that a crash at any point leaves a store that
+ * opens and still holds either the old or the new value: pages are taken off
+ * the free list on disk before the index points at them, and only put back
+ * on it after the index points away, with the file forced to disk at each of
+ * these steps. The worst a crash can do is leave a few pages unused.
+ * <p>
+ * Any number of threads may read at the same time; writes are exclusive.
+ * The whole file is locked while the store is open, so a second game instance
+ * opening the same store fails straight away instead of corrupting it.
+ * This keeps everything in one file, so large installs do not run into
+ * directory-size or inode limits.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class PagedSaveStorage implements SaveStorage, Closeable {
+    /** Size of every page in the file, in bytes */
+    static final int PAGE_SIZE = 4096;
+
+    private static final int MAGIC = 0x56504B56; // "VPKV"
+    private static final int FORMAT_VERSION = 1;
+    private static final int DEFAULT_BUCKET_COUNT = 1024;
+    private static final int MAX_KEY_BYTES = 512;
+    private static final int NO_PAGE = 0; // page 0 is the header, so it can never be a link
+    private static final String SETTINGS_KEY = "parental_settings"; // not a .csv name, so never a save
+
+    // Header page layout
+    private static final int HEADER_MAGIC = 0;
+    private static final int HEADER_VERSION = 4;
+    private static final int HEADER_PAGE_SIZE = 8;
+    private static final int HEADER_BUCKET_COUNT = 12;
+    private static final int HEADER_PAGE_COUNT = 16;
+    private static final int HEADER_FREE_HEAD = 20;
+    private static final int HEADER_ENTRY_COUNT = 24;
+
+    // Bucket page layout: next overflow page, bytes used, then entries of
+    // [key length (short)][key bytes][first data page (int)][value length (int)]
+    private static final int BUCKET_NEXT = 0;
+    private static final int BUCKET_USED = 4;
+    private static final int BUCKET_HEADER_SIZE = 8;
+
+    // Data page layout: next page of the same value, then payload
+    private static final int DATA_NEXT = 0;
+    private static final int DATA_HEADER_SIZE = 4;
+    private static final int DATA_CAPACITY = PAGE_SIZE - DATA_HEADER_SIZE;
+
+    private final FileChannel channel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int bucketCount;
+
+    // In-memory copy of the header; only changed while holding the write lock
+    private int pageCount;
+    private int freeHead;
+    private int entryCount;
+
+    // 0 while no settings are stored, then bumped on every settings write
+    private volatile long settingsStamp;
+
+    /**
+     * Where an index entry lives, as found by {@link #locate(byte[])}.
+     */
+    private static class Location {
+        private int page;
+        private ByteBuffer buffer;
+        private int offset;
+        private int firstPage;
+        private int length;
+    }
+
+    /**
+     * Opens the store at the given path, creating an empty store if the file does not exist.
+     * @param file The store file
+     * @throws IOException If the file cannot be opened, is already open or is not a save store
+     */
+    public PagedSaveStorage(Path file) throws IOException {
+        this(file, DEFAULT_BUCKET_COUNT);
+    }
+
+    /**
+     * Opens the store at the given path with a chosen number of index buckets.
+     * The bucket count is only used when a new store is created.
+     * @param file The store file
+     * @param bucketCount The number of hash buckets for a new store
+     * @throws IOException If the file cannot be opened, is already open or is not a save store
+     */
+    public PagedSaveStorage(Path file, int bucketCount) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock storeLock;
+        try {
+            storeLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            storeLock = null; // held by another store in this JVM
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (storeLock == null) {
+            channel.close();
+            throw new IOException(file + " is already open in another game instance");
+        }
+
+        if (channel.size() == 0) {
+            this.bucketCount = bucketCount;
+            this.pageCount = 1 + bucketCount;
+            this.freeHead = NO_PAGE;
+            this.entryCount = 0;
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                writePage(1 + bucket, emptyBucketPage());
+            }
+            sync();
+            writeHeader();
+            sync();
+        } else {
+            ByteBuffer header = readPage(0);
+            if (header.getInt(HEADER_MAGIC) != MAGIC) {
+                channel.close();
+                throw new IOException(file + " is not a save store");
+            }
+            if (header.getInt(HEADER_VERSION) != FORMAT_VERSION || header.getInt(HEADER_PAGE_SIZE) != PAGE_SIZE) {
+                channel.close();
+                throw new IOException(file + " uses an unsupported store format");
+            }
+            this.bucketCount = header.getInt(HEADER_BUCKET_COUNT);
+            this.pageCount = header.getInt(HEADER_PAGE_COUNT);
+            this.freeHead = header.getInt(HEADER_FREE_HEAD);
+            // Counted again, as a crash can leave the count in the header one off
+            this.entryCount = countEntries();
+            this.settingsStamp = locate(encodeKey(SETTINGS_KEY)) == null ? 0 : 1;
+        }
+    }
+
+    /**
+     * Convenience constructor taking a path string.
+     * @param file The store file
+     * @throws IOException If the file cannot be opened or is not a save store
+     */
+    public PagedSaveStorage(String file) throws IOException {
+        this(Paths.get(file));
+    }
+
+    @Override
+    public void write(String filename, String contents) throws IOException {
+        put(filename, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String read(String filename) throws IOException {
+        byte[] value = get(filename);
+        if (value == null) {
+            throw new FileNotFoundException(filename + " (No such save in store)");
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean replace(String filename, String expected, String contents) throws IOException {
+        // The write lock is reentrant, so get and put can run while it is held
+        lock.writeLock().lock();
+        try {
+            byte[] value = get(filename);
+            if (value == null || !new String(value, StandardCharsets.UTF_8).equals(expected)) {
+                return false;
+            }
+            put(filename, contents.getBytes(StandardCharsets.UTF_8));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<String> list() throws IOException {
+        lock.readLock().lock();
+        try {
+            List<String> keys = new ArrayList<>(entryCount);
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                int page = 1 + bucket;
+                while (page != NO_PAGE) {
+                    ByteBuffer buffer = readPage(page);
+                    int used = buffer.getInt(BUCKET_USED);
+                    int offset = BUCKET_HEADER_SIZE;
+                    while (offset < used) {
+                        int keyLength = buffer.getShort(offset);
+                        String key = new String(buffer.array(), offset + 2, keyLength, StandardCharsets.UTF_8);
+                        if (key.toLowerCase().endsWith(".csv")) {
+                            keys.add(key);
+                        }
+                        offset += entrySize(keyLength);
+                    }
+                    page = buffer.getInt(BUCKET_NEXT);
+                }
+            }
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String filename) throws IOException {
+        byte[] key = encodeKey(filename);
+        lock.writeLock().lock();
+        try {
+            Location location = locate(key);
+            if (location == null) {
+                return false;
+            }
+
+            // Close the gap left by the entry inside its bucket page
+            ByteBuffer buffer = location.buffer;
+            int size = entrySize(key.length);
+            int used = buffer.getInt(BUCKET_USED);
+            System.arraycopy(buffer.array(), location.offset + size,
+                buffer.array(), location.offset, used - location.offset - size);
+            buffer.putInt(BUCKET_USED, used - size);
+            writePage(location.page, buffer);
+            sync();
+
+            // The entry is gone on disk, so its pages can go back on the free list
+            freeChain(location.firstPage);
+            entryCount--;
+            writeHeader();
+            sync();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnchanged(String filename, String expected) throws IOException {
+        // The write lock is reentrant, so get and delete can run while it is held
+        lock.writeLock().lock();
+        try {
+            byte[] value = get(filename);
+            if (value == null || !new String(value, StandardCharsets.UTF_8).equals(expected)) {
+                return false;
+            }
+            return delete(filename);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String readSettings() throws IOException {
+        byte[] value = get(SETTINGS_KEY);
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeSettings(String contents) throws IOException {
+        put(SETTINGS_KEY, contents.getBytes(StandardCharsets.UTF_8));
+        lock.writeLock().lock();
+        try {
+            settingsStamp++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long settingsStamp() {
+        return settingsStamp;
+    }
+
+    /**
+     * Gets the number of entries in the store, including the parental settings if saved.
+     * @return The number of stored entries
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entryCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the store to disk and closes the file.
+     * @throws IOException If the file could not be flushed or closed
+     */
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores a value, replacing any existing value for the key.
+     * @param filename The key
+     * @param value The value bytes
+     * @throws IOException If the store could not be written
+     */
+    private void put(String filename, byte[] value) throws IOException {
+        byte[] key = encodeKey(filename);
+        lock.writeLock().lock();
+        try {
+            // Write the new value first so the old one stays intact until the index points away from it,
+            // and take its pages off the free list on disk before anything points at them
+            int firstPage = writeValue(value);
+            writeHeader();
+            sync();
+
+            Location location = locate(key);
+            if (location != null) {
+                location.buffer.putInt(location.offset + 2 + key.length, firstPage);
+                location.buffer.putInt(location.offset + 6 + key.length, value.length);
+                writePage(location.page, location.buffer);
+                sync();
+                freeChain(location.firstPage);
+            } else {
+                insertEntry(key, firstPage, value.length);
+                entryCount++;
+            }
+            writeHeader();
+            sync();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a value.
+     * @param filename The key
+     * @return The value bytes, or null if the key is not stored
+     * @throws IOException If the store could not be read
+     */
+    private byte[] get(String filename) throws IOException {
+        byte[] key = encodeKey(filename);
+        lock.readLock().lock();
+        try {
+            Location location = locate(key);
+            return location == null ? null : readValue(location.firstPage, location.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the index entry for a key by walking its bucket chain.
+     * @param key The encoded key
+     * @return The entry location, or null if the key is not stored
+     * @throws IOException If the store could not be read
+     */
+    private Location locate(byte[] key) throws IOException {
+        int page = bucketPage(key);
+        while (page != NO_PAGE) {
+            ByteBuffer buffer = readPage(page);
+            int used = buffer.getInt(BUCKET_USED);
+            int offset = BUCKET_HEADER_SIZE;
+            while (offset < used) {
+                int keyLength = buffer.getShort(offset);
+                if (keyLength == key.length && keyMatches(buffer.array(), offset + 2, key)) {
+                    Location location = new Location();
+                    location.page = page;
+                    location.buffer = buffer;
+                    location.offset = offset;
+                    location.firstPage = buffer.getInt(offset + 2 + keyLength);
+                    location.length = buffer.getInt(offset + 6 + keyLength);
+                    return location;
+                }
+                offset += entrySize(keyLength);
+            }
+            page = buffer.getInt(BUCKET_NEXT);
+        }
+        return null;
+    }
+
+    /**
+     * Appends a new entry to the key's bucket chain, adding an overflow page if every page is full.
+     * The entry is on disk when this returns.
+     * @param key The encoded key
+     * @param firstPage The first data page of the value
+     * @param length The value length in bytes
+     * @throws IOException If the store could not be written
+     */
+    private void insertEntry(byte[] key, int firstPage, int length) throws IOException {
+        int size = entrySize(key.length);
+        int page = bucketPage(key);
+        ByteBuffer buffer = readPage(page);
+
+        while (buffer.getInt(BUCKET_USED) + size > PAGE_SIZE) {
+            int next = buffer.getInt(BUCKET_NEXT);
+            if (next == NO_PAGE) {
+                // Fill the overflow page and take it off the free list on disk before linking it in
+                int overflow = allocatePage();
+                ByteBuffer overflowBuffer = emptyBucketPage();
+                appendEntry(overflowBuffer, key, firstPage, length);
+                writePage(overflow, overflowBuffer);
+                writeHeader();
+                sync();
+                buffer.putInt(BUCKET_NEXT, overflow);
+                writePage(page, buffer);
+                sync();
+                return;
+            }
+            page = next;
+            buffer = readPage(page);
+        }
+
+        appendEntry(buffer, key, firstPage, length);
+        writePage(page, buffer);
+        sync();
+    }
+
+    private static void appendEntry(ByteBuffer buffer, byte[] key, int firstPage, int length) {
+        int offset = buffer.getInt(BUCKET_USED);
+        buffer.putShort(offset, (short) key.length);
+        System.arraycopy(key, 0, buffer.array(), offset + 2, key.length);
+        buffer.putInt(offset + 2 + key.length, firstPage);
+        buffer.putInt(offset + 6 + key.length, length);
+        buffer.putInt(BUCKET_USED, offset + entrySize(key.length));
+    }
+
+    /**
+     * Counts the index entries by walking every bucket chain.
+     * @return The number of stored entries
+     * @throws IOException If the store could not be read
+     */
+    private int countEntries() throws IOException {
+        int count = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            int page = 1 + bucket;
+            while (page != NO_PAGE) {
+                ByteBuffer buffer = readPage(page);
+                int used = buffer.getInt(BUCKET_USED);
+                int offset = BUCKET_HEADER_SIZE;
+                while (offset < used) {
+                    count++;
+                    offset += entrySize(buffer.getShort(offset));
+                }
+                page = buffer.getInt(BUCKET_NEXT);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes a value into a fresh chain of data pages.
+     * @param value The value bytes
+     * @return The first page of the chain, or NO_PAGE for an empty value
+     * @throws IOException If the store could not be written
+     */
+    private int writeValue(byte[] value) throws IOException {
+        if (value.length == 0) {
+            return NO_PAGE;
+        }
+
+        int pages = (value.length + DATA_CAPACITY - 1) / DATA_CAPACITY;
+        int[] chain = new int[pages];
+        for (int i = 0; i < pages; i++) {
+            chain[i] = allocatePage();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        for (int i = 0; i < pages; i++) {
+            int start = i * DATA_CAPACITY;
+            int count = Math.min(DATA_CAPACITY, value.length - start);
+            buffer.clear();
+            buffer.putInt(DATA_NEXT, i + 1 < pages ? chain[i + 1] : NO_PAGE);
+            System.arraycopy(value, start, buffer.array(), DATA_HEADER_SIZE, count);
+            writePage(chain[i], buffer);
+        }
+        return chain[0];
+    }
+
+    /**
+     * Reads a value from its chain of data pages.
+     * @param page The first data page
+     * @param length The value length in bytes
+     * @return The value bytes
+     * @throws IOException If the store could not be read
+     */
+    private byte[] readValue(int page, int length) throws IOException {
+        byte[] value = new byte[length];
+        int position = 0;
+        while (position < length) {
+            if (page == NO_PAGE) {
+                throw new IOException("Save store is corrupt: value chain ended early");
+            }
+            ByteBuffer buffer = readPage(page);
+            int count = Math.min(DATA_CAPACITY, length - position);
+            System.arraycopy(buffer.array(), DATA_HEADER_SIZE, value, position, count);
+            position += count;
+            page = buffer.getInt(DATA_NEXT);
+        }
+        return value;
+    }
+
+    /**
+     * Takes a page from the free list, or grows the file by one page.
+     * @return The allocated page number
+     * @throws IOException If the free list could not be read
+     */
+    private int allocatePage() throws IOException {
+        if (freeHead != NO_PAGE) {
+            int page = freeHead;
+            freeHead = readInt(page, DATA_NEXT);
+            return page;
+        }
+        return pageCount++;
+    }
+
+    /**
+     * Puts every page of a value chain on the free list.
+     * @param page The first page of the chain
+     * @throws IOException If the store could not be written
+     */
+    private void freeChain(int page) throws IOException {
+        while (page != NO_PAGE) {
+            int next = readInt(page, DATA_NEXT);
+            writeInt(page, DATA_NEXT, freeHead);
+            freeHead = page;
+            page = next;
+        }
+    }
+
+    private int bucketPage(byte[] key) {
+        int hash = 0;
+        for (byte b : key) {
+            hash = 31 * hash + b;
+        }
+        return 1 + Math.floorMod(hash, bucketCount);
+    }
+
+    private static int entrySize(int keyLength) {
+        return 2 + keyLength + 8;
+    }
+
+    private static boolean keyMatches(byte[] page, int offset, byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (page[offset + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] encodeKey(String filename) throws IOException {
+        byte[] key = filename.getBytes(StandardCharsets.UTF_8);
+        if (key.length > MAX_KEY_BYTES) {
+            throw new IOException("Save name is too long: " + filename);
+        }
+        return key;
+    }
+
+    private static ByteBuffer emptyBucketPage() {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        buffer.putInt(BUCKET_NEXT, NO_PAGE);
+        buffer.putInt(BUCKET_USED, BUCKET_HEADER_SIZE);
+        return buffer;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+        header.putInt(HEADER_MAGIC, MAGIC);
+        header.putInt(HEADER_VERSION, FORMAT_VERSION);
+        header.putInt(HEADER_PAGE_SIZE, PAGE_SIZE);
+        header.putInt(HEADER_BUCKET_COUNT, bucketCount);
+        header.putInt(HEADER_PAGE_COUNT, pageCount);
+        header.putInt(HEADER_FREE_HEAD, freeHead);
+        header.putInt(HEADER_ENTRY_COUNT, entryCount);
+        writePage(0, header);
+    }
+
+    private ByteBuffer readPage(int page) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE);
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Save store is truncated at page " + page);
+            }
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private void writePage(int page, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        writeAt(buffer, (long) page * PAGE_SIZE);
+        buffer.clear();
+    }
+
+    private int readInt(int page, int offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        long position = (long) page * PAGE_SIZE + offset;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Save store is truncated at page " + page);
+            }
+        }
+        return buffer.getInt(0);
+    }
+
+    private void writeInt(int page, int offset, int value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        buffer.putInt(0, value);
+        writeAt(buffer, (long) page * PAGE_SIZE + offset);
+    }
+
+    /**
+     * Writes a whole buffer, from position 0, at a position in the store file.
+     * Every write to the store goes through here, so tests can cut a change
+     * short to check that the store survives a crash.
+     * @param buffer The bytes to write
+     * @param position The file position of the first byte
+     * @throws IOException If the store could not be written
+     */
+    protected void writeAt(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    // Forces what was written so far to disk, so later writes can't land before it
+    private void sync() throws IOException {
+        channel.force(false);
+    }
+}
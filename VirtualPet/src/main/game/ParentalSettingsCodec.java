@@ -0,0 +1,125 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import group33.VirtualPet.src.main.model.ParentalSettings;
+
+/**
+ * Converts {@link ParentalSettings} to and from records: a header, then one
+ * record per setting holding its value. The last session times are only
+ * written when they are set.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class ParentalSettingsCodec implements SaveCodec<ParentalSettings> {
+    static final String HEADER_ROW = "Setting";
+    static final String RESTRICTION_ENABLED_ROW = "TimeRestrictionEnabled";
+    static final String START_TIME_ROW = "AllowedStartTime";
+    static final String END_TIME_ROW = "AllowedEndTime";
+    static final String PLAY_TIME_ROW = "TotalPlayTimeSeconds";
+    static final String SESSION_COUNT_ROW = "SessionCount";
+    static final String SESSION_TIME_ROW = "TotalSessionTimeSeconds";
+    static final String LAST_START_ROW = "LastSessionStart";
+    static final String LAST_END_ROW = "LastSessionEnd";
+
+    @Override
+    public void write(ParentalSettings settings, FieldSink sink) throws IOException {
+        sink.writeRecord(HEADER_ROW, "Value");
+
+        // Write time restriction settings
+        sink.beginRecord(RESTRICTION_ENABLED_ROW);
+        sink.writeBoolean(settings.isTimeRestrictionEnabled());
+        sink.endRecord();
+        sink.beginRecord(START_TIME_ROW);
+        sink.writeTime(settings.getAllowedStartTime());
+        sink.endRecord();
+        sink.beginRecord(END_TIME_ROW);
+        sink.writeTime(settings.getAllowedEndTime());
+        sink.endRecord();
+
+        // Write statistics
+        sink.beginRecord(PLAY_TIME_ROW);
+        sink.writeLong(settings.getTotalPlayTime().getSeconds());
+        sink.endRecord();
+        sink.beginRecord(SESSION_COUNT_ROW);
+        sink.writeInt(settings.getSessionCount());
+        sink.endRecord();
+        sink.beginRecord(SESSION_TIME_ROW);
+        sink.writeLong(settings.getTotalSessionTime().getSeconds());
+        sink.endRecord();
+
+        // Write last session info if available
+        if (settings.getLastSessionStart() != null) {
+            sink.beginRecord(LAST_START_ROW);
+            sink.writeDateTime(settings.getLastSessionStart());
+            sink.endRecord();
+        }
+        if (settings.getLastSessionEnd() != null) {
+            sink.beginRecord(LAST_END_ROW);
+            sink.writeDateTime(settings.getLastSessionEnd());
+            sink.endRecord();
+        }
+    }
+
+    /**
+     * Rebuilds settings from their records. A setting with an unreadable value
+     * keeps its default, and the remaining settings are still read.
+     */
+    @Override
+    public ParentalSettings read(FieldSource source) throws IOException {
+        ParentalSettings settings = new ParentalSettings();
+
+        // Session statistics are restored together once everything is read
+        Duration totalPlayTime = Duration.ZERO;
+        Duration totalSessionTime = null;
+        int sessionCount = 0;
+        LocalDateTime lastStart = null;
+        LocalDateTime lastEnd = null;
+
+        String label;
+        while ((label = source.nextRecord()) != null) {
+            try {
+                switch (label) {
+                    case RESTRICTION_ENABLED_ROW:
+                        settings.setTimeRestrictionEnabled(source.readBoolean());
+                        break;
+                    case START_TIME_ROW:
+                        settings.setAllowedStartTime(source.readTime());
+                        break;
+                    case END_TIME_ROW:
+                        settings.setAllowedEndTime(source.readTime());
+                        break;
+                    case PLAY_TIME_ROW:
+                        totalPlayTime = Duration.ofSeconds(source.readLong());
+                        break;
+                    case SESSION_COUNT_ROW:
+                        sessionCount = source.readInt();
+                        break;
+                    case SESSION_TIME_ROW:
+                        totalSessionTime = Duration.ofSeconds(source.readLong());
+                        break;
+                    case LAST_START_ROW:
+                        lastStart = source.readDateTime();
+                        break;
+                    case LAST_END_ROW:
+                        lastEnd = source.readDateTime();
+                        break;
+                    default:
+                        break;
+                }
+            } catch (IOException | RuntimeException e) {
+                // A missing value is an IOException from the source; either way only this setting is lost
+                System.err.println("Error reading setting " + label + ": " + e.getMessage());
+            }
+        }
+
+        // Older settings files don't have the session total; all play time was session time
+        settings.restoreSessionStatistics(totalPlayTime,
+            totalSessionTime != null ? totalSessionTime : totalPlayTime, sessionCount);
+        settings.restoreSessionTimes(lastStart, lastEnd);
+        return settings;
+    }
+}
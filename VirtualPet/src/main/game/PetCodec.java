@@ -0,0 +1,89 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Converts a {@link Pet} to and from the pet section of a save:
+ * a header record followed by one {@code Current Pet} record.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class PetCodec implements SaveCodec<Pet> {
+    static final String HEADER_ROW = "Pets";
+    static final String PET_ROW = "Current Pet";
+
+    private static final String[] HEADER_COLUMNS =
+        SaveSchema.PET_HEADER.substring(HEADER_ROW.length() + 1).split(",");
+
+    @Override
+    public void write(Pet pet, FieldSink sink) throws IOException {
+        writeHeader(sink);
+        sink.beginRecord(PET_ROW);
+        sink.writeString(pet.getName());
+        sink.writeString(pet.getType().name());
+        sink.writeInt(pet.getHealth());
+        sink.writeInt(pet.getHappiness());
+        sink.writeInt(pet.getFullness());
+        sink.writeInt(pet.getSleep());
+        sink.writeBoolean(pet.isSleeping());
+        sink.writeBoolean(pet.isHungry());
+        sink.writeBoolean(pet.isAngry());
+        sink.writeBoolean(pet.isDead());
+        sink.endRecord();
+    }
+
+    /**
+     * Writes the header record of the pet section, which saves have even without a pet.
+     * @param sink Where the record goes
+     * @throws IOException If the record could not be written
+     */
+    void writeHeader(FieldSink sink) throws IOException {
+        sink.writeRecord(HEADER_ROW, HEADER_COLUMNS);
+    }
+
+    @Override
+    public Pet read(FieldSource source) throws IOException {
+        String label;
+        while ((label = source.nextRecord()) != null) {
+            if (label.equals(PET_ROW)) {
+                return readFields(source);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rebuilds a pet from the fields of the current {@code Current Pet} record.
+     * @param source Positioned just after the record's label
+     * @return The rebuilt pet
+     * @throws IOException If the record is missing fields
+     */
+    Pet readFields(FieldSource source) throws IOException {
+        String name = source.readString();
+        Pet pet = new Pet(name, Pet.PetType.valueOf(source.readString()));
+
+        // Restore pet statistics
+        pet.setHealth(source.readInt());
+        pet.setHappiness(source.readInt());
+        pet.setFullness(source.readInt());
+        pet.setSleep(source.readInt());
+
+        // Restore pet states; hungry and angry are handled by the Pet class's internal checks
+        boolean sleeping = source.readBoolean();
+        source.readBoolean();
+        source.readBoolean();
+        boolean dead = source.readBoolean();
+        if (sleeping) {
+            pet.sleep();
+        }
+        if (dead) {
+            // Force the dead state to be set
+            pet.setHealth(0);
+            pet.checkHealthState();
+        }
+        return pet;
+    }
+}
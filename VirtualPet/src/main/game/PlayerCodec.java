@@ -0,0 +1,96 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+
+/**
+ * Converts a whole save to and from records: the layout version, the
+ * player's details, the current pet (see {@link PetCodec}) and the
+ * inventory (see {@link InventoryCodec}).
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class PlayerCodec implements SaveCodec<Player> {
+    static final String NAME_ROW = "Player Name";
+    static final String PLAY_TIME_ROW = "Total Play Time";
+    static final String SCORE_ROW = "Current Score";
+    static final String LAST_PLAY_ROW = "last time play was used";
+    static final String LAST_VET_ROW = "last time player went to vet";
+
+    private final PetCodec petCodec = new PetCodec();
+    private final InventoryCodec inventoryCodec = new InventoryCodec();
+
+    @Override
+    public void write(Player player, FieldSink sink) throws IOException {
+        sink.beginRecord(SaveSchema.VERSION_ROW);
+        sink.writeInt(SaveSchema.CURRENT_VERSION);
+        sink.endRecord();
+
+        // Write player information
+        sink.writeRecord(NAME_ROW, player.getName());
+        sink.beginRecord(PLAY_TIME_ROW);
+        sink.writeLong(player.getTotalPlayTime().toSeconds());
+        sink.endRecord();
+        sink.beginRecord(SCORE_ROW);
+        sink.writeInt(player.getScore());
+        sink.endRecord();
+        sink.beginRecord(LAST_PLAY_ROW);
+        sink.writeLong(player.getLastP());
+        sink.endRecord();
+        sink.beginRecord(LAST_VET_ROW);
+        sink.writeLong(player.getLastV());
+        sink.endRecord();
+
+        // Write pet information
+        Pet currentPet = player.getCurrentPet();
+        if (currentPet != null) {
+            petCodec.write(currentPet, sink);
+        } else {
+            petCodec.writeHeader(sink);
+        }
+
+        inventoryCodec.write(player.getInventory(), sink);
+    }
+
+    @Override
+    public Player read(FieldSource source) throws IOException {
+        Player player = null;
+        Pet loadedPet = null;
+        Inventory inventory = new Inventory();
+
+        String label;
+        while ((label = source.nextRecord()) != null) {
+            if (label.equals(NAME_ROW)) {
+                player = new Player(source.readString());
+            } else if (player == null) {
+                continue; // nothing before the player's name belongs to the player
+            } else if (label.equals(PLAY_TIME_ROW)) {
+                player.setTotalPlayTime(Duration.ofSeconds(source.readLong()));
+            } else if (label.equals(SCORE_ROW)) {
+                player.setScore(source.readInt());
+            } else if (label.equals(LAST_PLAY_ROW)) {
+                player.setLastP(source.readLong());
+            } else if (label.equals(LAST_VET_ROW)) {
+                player.setLastV(source.readLong());
+            } else if (label.equals(PetCodec.PET_ROW)) {
+                loadedPet = petCodec.readFields(source);
+            } else {
+                inventoryCodec.readRecord(label, source, inventory);
+            }
+        }
+
+        // Set up the player
+        if (player != null) {
+            player.setInventory(inventory);
+            if (loadedPet != null) {
+                player.adoptPet(loadedPet);
+            }
+        }
+        return player;
+    }
+}
@@ -0,0 +1,137 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Exports every save into one columnar file for analysis, such as death rates
+ * per pet type or score distributions, without building a {@link group33.VirtualPet.src.main.model.Player}
+ * for each save. Only the start of each save is read, as for {@link SaveSummary}.
+ * <p>
+ * The file holds one fixed width column per field, one value per save:
+ * score ({@code int}), total play time in seconds ({@code long}), pet type
+ * ({@code byte}) and pet name ({@code int}) as codes into dictionaries stored
+ * in the file, and whether the pet is dead ({@code byte}). Saves without a pet
+ * have the code -1. Read the file with {@link SaveAnalyticsTable}.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveAnalyticsExporter {
+    /** Marks the start of an export file ("VPC1") */
+    static final int MAGIC = 0x56504331;
+
+    private SaveAnalyticsExporter() {}
+
+    /**
+     * Exports every save using one worker per processor.
+     * @param file The file to write
+     * @return The number of saves exported
+     * @throws IOException If the file could not be written
+     */
+    public static int export(Path file) throws IOException {
+        return export(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Exports every save. Saves are read in parallel; saves that can't be read are left out.
+     * @param file The file to write
+     * @param parallelism The number of worker threads reading saves
+     * @return The number of saves exported
+     * @throws IOException If the file could not be written
+     */
+    public static int export(Path file, int parallelism) throws IOException {
+        List<String> saveFiles = GameSaveManager.listSaveFiles();
+        SaveSummary[] summaries = new SaveSummary[saveFiles.size()];
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < saveFiles.size(); i++) {
+            positions.put(saveFiles.get(i), i);
+        }
+
+        AtomicInteger failed = new AtomicInteger();
+        SaveMaintenance.forEachSave(saveFiles, parallelism, "save-export", filename -> {
+            try {
+                summaries[positions.get(filename)] = GameSaveManager.loadSummary(filename);
+            } catch (IOException | RuntimeException e) {
+                failed.incrementAndGet();
+            }
+        });
+        if (failed.get() > 0) {
+            System.err.println("Left " + failed.get() + " unreadable save(s) out of the export");
+        }
+
+        // Build the columns and dictionaries on one thread, keeping the save order
+        int rows = 0;
+        for (SaveSummary summary : summaries) {
+            if (summary != null) {
+                rows++;
+            }
+        }
+        int[] scores = new int[rows];
+        long[] playTimes = new long[rows];
+        byte[] petTypes = new byte[rows];
+        int[] petNames = new int[rows];
+        byte[] dead = new byte[rows];
+        List<String> nameDictionary = new ArrayList<>();
+        Map<String, Integer> nameCodes = new HashMap<>();
+
+        int row = 0;
+        for (SaveSummary summary : summaries) {
+            if (summary == null) {
+                continue;
+            }
+            scores[row] = summary.getScore();
+            playTimes[row] = summary.getTotalPlayTimeSeconds();
+            petTypes[row] = summary.hasPet() ? (byte) summary.getPetType().ordinal() : -1;
+            petNames[row] = summary.getPetName() == null ? -1 : nameCodes.computeIfAbsent(summary.getPetName(), name -> {
+                nameDictionary.add(name);
+                return nameDictionary.size() - 1;
+            });
+            dead[row] = (byte) (summary.isPetDead() ? 1 : 0);
+            row++;
+        }
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rows);
+
+            // Dictionaries
+            Pet.PetType[] types = Pet.PetType.values();
+            out.writeInt(types.length);
+            for (Pet.PetType type : types) {
+                out.writeUTF(type.name());
+            }
+            out.writeInt(nameDictionary.size());
+            for (String name : nameDictionary) {
+                out.writeUTF(name);
+            }
+
+            // Columns
+            for (int value : scores) {
+                out.writeInt(value);
+            }
+            for (long value : playTimes) {
+                out.writeLong(value);
+            }
+            out.write(petTypes);
+            for (int value : petNames) {
+                out.writeInt(value);
+            }
+            out.write(dead);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,254 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.IntSummaryStatistics;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Scans and aggregations over a file written by {@link SaveAnalyticsExporter}.
+ * <p>
+ * Each column is loaded into a primitive array. Rows are picked with an
+ * {@link IntPredicate} over row numbers, using the column getters such as
+ * {@link #getScore(int)}. Scans split the rows into chunks that are processed
+ * in parallel and then combined.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveAnalyticsTable {
+    /** Rows handled by one parallel task */
+    private static final int CHUNK_SIZE = 8192;
+
+    private final int rows;
+    private final int[] scores;
+    private final long[] playTimes;
+    private final byte[] petTypeCodes;
+    private final int[] petNameCodes;
+    private final byte[] dead;
+    private final Pet.PetType[] petTypeDictionary;
+    private final String[] petNameDictionary;
+
+    private SaveAnalyticsTable(int rows, int[] scores, long[] playTimes, byte[] petTypeCodes, int[] petNameCodes,
+                               byte[] dead, Pet.PetType[] petTypeDictionary, String[] petNameDictionary) {
+        this.rows = rows;
+        this.scores = scores;
+        this.playTimes = playTimes;
+        this.petTypeCodes = petTypeCodes;
+        this.petNameCodes = petNameCodes;
+        this.dead = dead;
+        this.petTypeDictionary = petTypeDictionary;
+        this.petNameDictionary = petNameDictionary;
+    }
+
+    /**
+     * Loads an export file.
+     * @param file The file written by {@link SaveAnalyticsExporter}
+     * @return The table
+     * @throws IOException If the file can't be read or is not an export file
+     */
+    public static SaveAnalyticsTable open(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SaveAnalyticsExporter.MAGIC) {
+                throw new IOException(file + " is not a save export");
+            }
+            int rows = in.readInt();
+
+            // Pet types no longer in the game decode as null
+            Pet.PetType[] types = new Pet.PetType[in.readInt()];
+            for (int i = 0; i < types.length; i++) {
+                String name = in.readUTF();
+                for (Pet.PetType type : Pet.PetType.values()) {
+                    if (type.name().equals(name)) {
+                        types[i] = type;
+                    }
+                }
+            }
+            String[] names = new String[in.readInt()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = in.readUTF();
+            }
+
+            int[] scores = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                scores[i] = in.readInt();
+            }
+            long[] playTimes = new long[rows];
+            for (int i = 0; i < rows; i++) {
+                playTimes[i] = in.readLong();
+            }
+            byte[] petTypes = new byte[rows];
+            in.readFully(petTypes);
+            int[] petNames = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                petNames[i] = in.readInt();
+            }
+            byte[] dead = new byte[rows];
+            in.readFully(dead);
+
+            return new SaveAnalyticsTable(rows, scores, playTimes, petTypes, petNames, dead, types, names);
+        }
+    }
+
+    /**
+     * @return The number of exported saves
+     */
+    public int getRowCount() { return rows; }
+
+    /**
+     * @param row The row number
+     * @return The player's score
+     */
+    public int getScore(int row) { return scores[row]; }
+
+    /**
+     * @param row The row number
+     * @return The player's total play time in seconds
+     */
+    public long getPlayTimeSeconds(int row) { return playTimes[row]; }
+
+    /**
+     * @param row The row number
+     * @return Whether the save has a current pet
+     */
+    public boolean hasPet(int row) { return petTypeCodes[row] >= 0; }
+
+    /**
+     * @param row The row number
+     * @return The pet's type, or null if the save has no pet
+     */
+    public Pet.PetType getPetType(int row) {
+        return petTypeCodes[row] < 0 ? null : petTypeDictionary[petTypeCodes[row]];
+    }
+
+    /**
+     * @param row The row number
+     * @return The pet's name, or null if the save has no pet
+     */
+    public String getPetName(int row) {
+        return petNameCodes[row] < 0 ? null : petNameDictionary[petNameCodes[row]];
+    }
+
+    /**
+     * @param row The row number
+     * @return Whether the pet is dead
+     */
+    public boolean isPetDead(int row) { return dead[row] != 0; }
+
+    /**
+     * Runs a scan over all rows in parallel chunks.
+     * @param <A> The type of the partial results
+     * @param create Creates an empty partial result for a chunk
+     * @param accumulate Adds one row to a partial result
+     * @param combine Merges two partial results
+     * @return The combined result
+     */
+    public <A> A aggregate(Supplier<A> create, ObjIntConsumer<A> accumulate, BinaryOperator<A> combine) {
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+            .mapToObj(chunk -> {
+                A partial = create.get();
+                int end = Math.min(rows, (chunk + 1) * CHUNK_SIZE);
+                for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+                    accumulate.accept(partial, row);
+                }
+                return partial;
+            })
+            .reduce(combine)
+            .orElseGet(create);
+    }
+
+    /**
+     * Counts the rows matching a filter.
+     * @param filter Picks rows by row number
+     * @return The number of matching rows
+     */
+    public long count(IntPredicate filter) {
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+            .mapToLong(chunk -> {
+                long matches = 0;
+                int end = Math.min(rows, (chunk + 1) * CHUNK_SIZE);
+                for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+                    if (filter.test(row)) {
+                        matches++;
+                    }
+                }
+                return matches;
+            })
+            .sum();
+    }
+
+    /**
+     * Gets the score statistics of the rows matching a filter.
+     * @param filter Picks rows by row number
+     * @return The count, minimum, maximum, sum and average of the scores
+     */
+    public IntSummaryStatistics scoreStatistics(IntPredicate filter) {
+        return aggregate(IntSummaryStatistics::new, (stats, row) -> {
+            if (filter.test(row)) {
+                stats.accept(scores[row]);
+            }
+        }, (left, right) -> {
+            left.combine(right);
+            return left;
+        });
+    }
+
+    /**
+     * Counts scores in buckets of equal width; scores past the last bucket are counted in it.
+     * @param bucketWidth The width of each bucket
+     * @param buckets The number of buckets
+     * @return The number of saves per bucket
+     */
+    public long[] scoreHistogram(int bucketWidth, int buckets) {
+        return aggregate(() -> new long[buckets], (histogram, row) -> {
+            int bucket = Math.min(buckets - 1, Math.max(0, scores[row] / bucketWidth));
+            histogram[bucket]++;
+        }, (left, right) -> {
+            for (int i = 0; i < buckets; i++) {
+                left[i] += right[i];
+            }
+            return left;
+        });
+    }
+
+    /**
+     * Works out the share of dead pets for every pet type that appears in the export.
+     * @return The fraction of pets of each type that are dead
+     */
+    public Map<Pet.PetType, Double> deathRateByPetType() {
+        int types = petTypeDictionary.length;
+        long[][] counts = aggregate(() -> new long[2][types], (partial, row) -> {
+            if (petTypeCodes[row] >= 0) {
+                partial[0][petTypeCodes[row]]++;
+                partial[1][petTypeCodes[row]] += dead[row];
+            }
+        }, (left, right) -> {
+            for (int i = 0; i < types; i++) {
+                left[0][i] += right[0][i];
+                left[1][i] += right[1][i];
+            }
+            return left;
+        });
+
+        Map<Pet.PetType, Double> rates = new EnumMap<>(Pet.PetType.class);
+        for (int i = 0; i < types; i++) {
+            if (counts[0][i] > 0 && petTypeDictionary[i] != null) {
+                rates.put(petTypeDictionary[i], (double) counts[1][i] / counts[0][i]);
+            }
+        }
+        return rates;
+    }
+}
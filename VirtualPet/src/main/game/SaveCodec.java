@@ -0,0 +1,34 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+
+/**
+ * Converts one kind of game object to and from records.
+ * <p>
+ * Codecs are written by hand against the classes' constructors and setters,
+ * so loading needs no reflection, and the same codec works for every
+ * {@link FieldSink} and {@link FieldSource}, such as CSV and binary.
+ *
+ * @param <T> The kind of object handled
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public interface SaveCodec<T> {
+
+    /**
+     * Writes an object as records.
+     * @param value The object to write
+     * @param sink Where the records go
+     * @throws IOException If the records could not be written
+     */
+    void write(T value, FieldSink sink) throws IOException;
+
+    /**
+     * Rebuilds an object from the records written by {@link #write}.
+     * Records the codec doesn't know are skipped.
+     * @param source Where the records come from
+     * @return The rebuilt object, or null if the records don't hold one
+     * @throws IOException If the records could not be read
+     */
+    T read(FieldSource source) throws IOException;
+}
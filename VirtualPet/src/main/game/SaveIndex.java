@@ -0,0 +1,292 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Secondary indexes over all saves, so searches such as "all dead pets",
+ * "score over 500" or "names starting with Bo" are lookups instead of loading
+ * every save.
+ * <p>
+ * Saves are indexed by pet type, by the dead, hungry and angry flags, and by
+ * score in a sorted skip list. Save names and pet names are kept lower cased
+ * in sorted skip lists too, so names starting with some text are a range of
+ * each list, found as the user types. The index is built from the save headers on
+ * a background thread, started by {@link GameSaveManager#warmSaveIndex()} or on
+ * first use, and is updated by {@link GameSaveManager} whenever a save is written
+ * or deleted, including while it is being built. Lookups don't lock and can run alongside updates.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveIndex {
+
+    /**
+     * The pet states saves can be looked up by.
+     */
+    public enum Flag {
+        DEAD, HUNGRY, ANGRY
+    }
+
+    /**
+     * The indexed fields of one save.
+     */
+    static class Entry {
+        final String filename;
+        final String petName;
+        final int score;
+        final Pet.PetType petType;
+        final boolean[] flags;
+
+        Entry(String filename, String petName, int score, Pet.PetType petType, boolean[] flags) {
+            this.filename = filename;
+            this.petName = petName;
+            this.score = score;
+            this.petType = petType;
+            this.flags = flags;
+        }
+    }
+
+    // Orders saves by score, then by file name so equal scores stay distinct
+    private static final Comparator<Entry> BY_SCORE =
+        Comparator.<Entry>comparingInt(entry -> entry.score).thenComparing(entry -> entry.filename);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Pet.PetType, NavigableSet<String>> byPetType = new EnumMap<>(Pet.PetType.class);
+    private final Map<Flag, NavigableSet<String>> byFlag = new EnumMap<>(Flag.class);
+    private final NavigableSet<Entry> byScore = new ConcurrentSkipListSet<>(BY_SCORE);
+    // Keyed by lower cased name and file name, so saves with the same name stay distinct
+    private final NavigableMap<String, String> bySaveName = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, String> byPetName = new ConcurrentSkipListMap<>();
+    // Saves updated or deleted while build() runs, which it must not index from their old contents
+    private Set<String> changedWhileBuilding;
+
+    SaveIndex() {
+        for (Pet.PetType type : Pet.PetType.values()) {
+            byPetType.put(type, new ConcurrentSkipListSet<>());
+        }
+        for (Flag flag : Flag.values()) {
+            byFlag.put(flag, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    /**
+     * Indexes every save, reading their headers in parallel. A save updated or
+     * deleted while this runs keeps the index entry from that update.
+     * @param parallelism The number of worker threads
+     */
+    void build(int parallelism) {
+        synchronized (this) {
+            changedWhileBuilding = new HashSet<>();
+        }
+        try {
+            SaveMaintenance.forEachSave(GameSaveManager.listSaveFiles(), parallelism, "save-index", filename -> {
+                try {
+                    Entry entry = readEntry(filename, GameSaveManager.readSaveFile(filename));
+                    synchronized (this) {
+                        if (!changedWhileBuilding.contains(filename)) {
+                            add(entry);
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Could not index save " + filename + ": " + e.getMessage());
+                }
+            });
+        } finally {
+            synchronized (this) {
+                changedWhileBuilding = null;
+            }
+        }
+    }
+
+    /**
+     * Re-indexes a save that was just written.
+     * @param filename The name of the save file
+     * @param contents The contents written
+     */
+    synchronized void update(String filename, String contents) {
+        remove(filename);
+        try {
+            add(readEntry(filename, contents));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not index save " + filename + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Drops a save from the index.
+     * @param filename The name of the save file
+     */
+    synchronized void remove(String filename) {
+        if (changedWhileBuilding != null) {
+            changedWhileBuilding.add(filename);
+        }
+        Entry old = entries.remove(filename);
+        if (old == null) {
+            return;
+        }
+        byScore.remove(old);
+        bySaveName.remove(nameKey(GameSaveManager.getDisplayName(filename), filename));
+        if (old.petName != null) {
+            byPetName.remove(nameKey(old.petName, filename));
+        }
+        if (old.petType != null) {
+            byPetType.get(old.petType).remove(filename);
+        }
+        for (Flag flag : Flag.values()) {
+            if (old.flags[flag.ordinal()]) {
+                byFlag.get(flag).remove(filename);
+            }
+        }
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.filename, entry);
+        byScore.add(entry);
+        bySaveName.put(nameKey(GameSaveManager.getDisplayName(entry.filename), entry.filename), entry.filename);
+        if (entry.petName != null) {
+            byPetName.put(nameKey(entry.petName, entry.filename), entry.filename);
+        }
+        if (entry.petType != null) {
+            byPetType.get(entry.petType).add(entry.filename);
+        }
+        for (Flag flag : Flag.values()) {
+            if (entry.flags[flag.ordinal()]) {
+                byFlag.get(flag).add(entry.filename);
+            }
+        }
+    }
+
+    private static String foldCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String nameKey(String name, String filename) {
+        return foldCase(name) + '\0' + filename;
+    }
+
+    /**
+     * Reads the indexed fields from the start of a save.
+     */
+    private static Entry readEntry(String filename, String contents) throws IOException {
+        int score = 0;
+        String petName = null;
+        Pet.PetType petType = null;
+        boolean[] flags = new boolean[Flag.values().length];
+
+        try (BufferedReader reader = new BufferedReader(new StringReader(contents))) {
+            FieldSource source = new CsvFieldSource(SaveSchema.upgrade(reader).iterator());
+            String label;
+            while ((label = source.nextRecord()) != null && !label.equals(InventoryCodec.FOOD_HEADER_ROW)) {
+                if (label.equals(PlayerCodec.SCORE_ROW)) {
+                    score = Math.max(0, source.readInt());
+                } else if (label.equals(PetCodec.PET_ROW)) {
+                    petName = source.readString();
+                    petType = Pet.PetType.valueOf(source.readString());
+                    // Skip the statistics and the sleeping flag
+                    for (int column = SaveSchema.PET_TYPE + 1; column < SaveSchema.PET_IS_HUNGRY; column++) {
+                        source.readString();
+                    }
+                    flags[Flag.HUNGRY.ordinal()] = source.readBoolean();
+                    flags[Flag.ANGRY.ordinal()] = source.readBoolean();
+                    flags[Flag.DEAD.ordinal()] = source.readBoolean();
+                }
+            }
+        }
+
+        return new Entry(filename, petName, score, petType, flags);
+    }
+
+    /**
+     * @return The number of indexed saves
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Finds the saves whose current pet is of a type.
+     * @param type The pet type
+     * @return The save file names, sorted
+     */
+    public Set<String> withPetType(Pet.PetType type) {
+        return Collections.unmodifiableSet(byPetType.get(type));
+    }
+
+    /**
+     * Finds the saves whose current pet is in a state.
+     * @param flag The pet state
+     * @return The save file names, sorted
+     */
+    public Set<String> withFlag(Flag flag) {
+        return Collections.unmodifiableSet(byFlag.get(flag));
+    }
+
+    /**
+     * Finds the saves with a score in a range.
+     * @param min The lowest score, inclusive
+     * @param max The highest score, inclusive
+     * @return The save file names, from lowest to highest score
+     */
+    public List<String> withScoreBetween(int min, int max) {
+        if (min > max) {
+            return Collections.emptyList();
+        }
+        Entry from = new Entry("", null, min, null, null);
+        NavigableSet<Entry> range = max == Integer.MAX_VALUE
+            ? byScore.tailSet(from, true)
+            : byScore.subSet(from, true, new Entry("", null, max + 1, null, null), false);
+        return range.stream().map(entry -> entry.filename).collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the saves with a score above a value.
+     * @param score The score to beat
+     * @return The save file names, from lowest to highest score
+     */
+    public List<String> withScoreAbove(int score) {
+        return score == Integer.MAX_VALUE ? Collections.emptyList() : withScoreBetween(score + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the saves whose save name or pet name starts with some text, ignoring case.
+     * Saves matching by save name come first, sorted by save name, followed by
+     * saves matching only by pet name, sorted by pet name.
+     * @param prefix The start of the name; an empty prefix matches every save
+     * @param limit The most saves to return
+     * @return The save file names
+     */
+    public List<String> withNamePrefix(String prefix, int limit) {
+        String from = foldCase(prefix);
+        String to = from + Character.MAX_VALUE;
+        Set<String> matches = new LinkedHashSet<>();
+        for (NavigableMap<String, String> names : List.of(bySaveName, byPetName)) {
+            for (String filename : names.subMap(from, true, to, false).values()) {
+                if (matches.size() >= limit) {
+                    return new ArrayList<>(matches);
+                }
+                matches.add(filename);
+            }
+        }
+        return new ArrayList<>(matches);
+    }
+}
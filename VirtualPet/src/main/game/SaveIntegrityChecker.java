@@ -0,0 +1,262 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks every save for damage, in parallel, and moves damaged saves out of the way.
+ * <p>
+ * Each save ends with a CRC32C checksum row written by {@link GameSaveManager}.
+ * A save is damaged if that checksum doesn't match or if the save can't be
+ * loaded at all (for example a truncated pet row or an unknown pet type).
+ * Older saves written before checksums existed are reported but left alone;
+ * running {@link SaveMaintenance#MIGRATE} adds a checksum to them.
+ * <p>
+ * Damaged saves are restored from a backup storage if it holds an intact copy,
+ * and otherwise moved into a quarantine storage so the game no longer lists them.
+ * Both are optional; without them the check only reports. A save is only
+ * restored or moved if it still holds the damaged contents that were checked,
+ * so a good save written by a running game in the meantime is kept.
+ * <p>
+ * Can also be run on its own:
+ * {@code SaveIntegrityChecker [--quarantine <dir>] [--backup <dir>]}
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveIntegrityChecker {
+
+    /**
+     * The result of checking one save.
+     */
+    public enum Status {
+        /** The checksum matches and the save loads */
+        OK,
+        /** The save has no checksum row but loads */
+        NO_CHECKSUM,
+        /** The checksum doesn't match the contents */
+        CHECKSUM_MISMATCH,
+        /** The save can't be read or loaded */
+        UNPARSEABLE;
+
+        /**
+         * @return Whether a save with this status is damaged
+         */
+        public boolean isDamaged() {
+            return this == CHECKSUM_MISMATCH || this == UNPARSEABLE;
+        }
+    }
+
+    /**
+     * What a check found and what it did about it.
+     */
+    public static class Report {
+        private final int scanned;
+        private final Map<String, Status> problems;
+        private final List<String> repaired;
+        private final List<String> quarantined;
+        private final long elapsedNanos;
+
+        Report(int scanned, Map<String, Status> problems, List<String> repaired,
+               List<String> quarantined, long elapsedNanos) {
+            this.scanned = scanned;
+            this.problems = problems;
+            this.repaired = repaired;
+            this.quarantined = quarantined;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return The number of saves checked
+         */
+        public int getScanned() { return scanned; }
+
+        /**
+         * @return The status of every save that was not OK, by file name
+         */
+        public Map<String, Status> getProblems() { return problems; }
+
+        /**
+         * Counts the saves with each status.
+         * @return The number of saves per status
+         */
+        public Map<Status, Integer> getCounts() {
+            Map<Status, Integer> counts = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                counts.put(status, 0);
+            }
+            problems.values().forEach(status -> counts.merge(status, 1, Integer::sum));
+            counts.put(Status.OK, scanned - problems.size());
+            return counts;
+        }
+
+        /**
+         * @return The damaged saves restored from the backup
+         */
+        public List<String> getRepaired() { return repaired; }
+
+        /**
+         * @return The damaged saves moved to quarantine
+         */
+        public List<String> getQuarantined() { return quarantined; }
+
+        /**
+         * @return How long the check took, in milliseconds
+         */
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        /**
+         * @return The number of saves checked per second
+         */
+        public double getSavesPerSecond() {
+            return elapsedNanos == 0 ? 0 : scanned * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d saves checked in %d ms (%.0f saves/s): %s, %d repaired, %d quarantined",
+                scanned, getElapsedMillis(), getSavesPerSecond(), getCounts(), repaired.size(), quarantined.size());
+        }
+    }
+
+    /**
+     * Checks the contents of one save.
+     * @param contents The full contents of the save
+     * @return The status of the save
+     */
+    public static Status verify(String contents) {
+        String checksumRow = "\n" + GameSaveManager.CHECKSUM_ROW + ",";
+        int rowStart = contents.lastIndexOf(checksumRow);
+        Status status = Status.NO_CHECKSUM;
+        if (rowStart >= 0) {
+            String body = contents.substring(0, rowStart + 1);
+            String stored = contents.substring(rowStart + checksumRow.length()).trim();
+            if (!stored.equalsIgnoreCase(GameSaveManager.checksum(body))) {
+                return Status.CHECKSUM_MISMATCH;
+            }
+            status = Status.OK;
+        }
+
+        try {
+            if (GameSaveManager.parseGame(contents) == null) {
+                return Status.UNPARSEABLE;
+            }
+        } catch (IOException | RuntimeException e) {
+            return Status.UNPARSEABLE;
+        }
+        return status;
+    }
+
+    /**
+     * Checks every save using one worker per processor, without changing anything.
+     * @return What the check found
+     */
+    public static Report check() {
+        return check(Runtime.getRuntime().availableProcessors(), null, null);
+    }
+
+    /**
+     * Checks every save and deals with the damaged ones.
+     * @param parallelism The number of worker threads
+     * @param quarantine Where damaged saves are moved, or null to leave them in place
+     * @param backup Where intact copies of saves are kept, or null to not repair
+     * @return What the check found and did
+     */
+    public static Report check(int parallelism, SaveStorage quarantine, SaveStorage backup) {
+        long start = System.nanoTime();
+        List<String> saveFiles = GameSaveManager.listSaveFiles();
+
+        Map<String, Status> problems = new ConcurrentSkipListMap<>();
+        Map<String, Boolean> handled = new ConcurrentSkipListMap<>(); // true if repaired, false if quarantined
+
+        SaveMaintenance.forEachSave(saveFiles, parallelism, "save-fsck", filename -> {
+            String contents = null;
+            Status status;
+            try {
+                contents = GameSaveManager.readSaveFile(filename);
+                status = verify(contents);
+            } catch (IOException e) {
+                status = Status.UNPARSEABLE;
+            }
+            if (status == Status.OK) {
+                return;
+            }
+            problems.put(filename, status);
+            if (!status.isDamaged() || contents == null) {
+                return; // a save that can't be read can't be checked for changes, so it is only reported
+            }
+
+            // A live game may write over the save at any time, so it is only replaced or
+            // removed while it still holds the damaged contents checked here
+            try {
+                String copy = intactBackup(filename, backup);
+                if (copy != null) {
+                    if (GameSaveManager.replaceSaveFile(filename, contents, copy)) {
+                        handled.put(filename, true);
+                    }
+                } else if (quarantine != null) {
+                    quarantine.write(filename, contents);
+                    if (GameSaveManager.deleteSaveIfUnchanged(filename, contents)) {
+                        handled.put(filename, false);
+                    } else {
+                        quarantine.delete(filename);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not move damaged save " + filename + ": " + e.getMessage());
+            }
+        });
+
+        List<String> repaired = handled.entrySet().stream()
+            .filter(Map.Entry::getValue).map(Map.Entry::getKey).toList();
+        List<String> quarantined = handled.entrySet().stream()
+            .filter(entry -> !entry.getValue()).map(Map.Entry::getKey).toList();
+        return new Report(saveFiles.size(), Collections.unmodifiableMap(problems),
+            repaired, quarantined, System.nanoTime() - start);
+    }
+
+    /**
+     * Gets the backup copy of a save, if there is an intact one.
+     * @param filename The name of the save file
+     * @param backup Where intact copies of saves are kept, or null
+     * @return The backup copy, or null if there is no intact one
+     */
+    private static String intactBackup(String filename, SaveStorage backup) {
+        if (backup == null) {
+            return null;
+        }
+        String copy;
+        try {
+            copy = backup.read(filename);
+        } catch (IOException e) {
+            return null; // no backup of this save
+        }
+        return verify(copy).isDamaged() ? null : copy;
+    }
+
+    /**
+     * Checks the save folder from the command line.
+     * @param args Optional {@code --quarantine <dir>} and {@code --backup <dir>}
+     */
+    public static void main(String[] args) {
+        SaveStorage quarantine = null;
+        SaveStorage backup = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String settingsFile = args[i + 1] + "/parental_settings.csv";
+            if (args[i].equals("--quarantine")) {
+                quarantine = new CsvDirectoryStorage(args[i + 1], settingsFile);
+            } else if (args[i].equals("--backup")) {
+                backup = new CsvDirectoryStorage(args[i + 1], settingsFile);
+            }
+        }
+
+        Report report = check(Runtime.getRuntime().availableProcessors(), quarantine, backup);
+        report.getProblems().forEach((filename, status) -> System.out.println(status + " " + filename));
+        System.out.println(report);
+    }
+}
@@ -0,0 +1,234 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+
+/**
+ * Applies a change to every save in parallel, for repairs such as reviving all
+ * pets after an outage.
+ * <p>
+ * Saves are processed on a fixed number of worker threads with a bounded task
+ * queue, so even a very large save directory is streamed rather than queued up
+ * in memory all at once. A save is only rewritten if the transformation reports
+ * a change and the resulting contents differ from what is stored. Rewrites go
+ * through the storage backend, which replaces each save atomically and only if
+ * it still holds the contents that were read, so a game saved while its save is
+ * being changed is never overwritten; the change is applied to the new save instead.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveMaintenance {
+    /** How many tasks may wait per worker before the listing thread runs tasks itself */
+    private static final int QUEUED_TASKS_PER_WORKER = 64;
+    /** How many times a save written by someone else meanwhile is read and changed again */
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * A change applied to a loaded save.
+     */
+    @FunctionalInterface
+    public interface Transformation {
+        /**
+         * Applies the change to a player loaded from a save.
+         * @param player The player loaded from the save
+         * @return true if the player was changed and the save should be rewritten
+         */
+        boolean apply(Player player);
+    }
+
+    /** Revives the current pet if it is dead */
+    public static final Transformation REVIVE_DEAD_PETS = player -> {
+        Pet pet = player.getCurrentPet();
+        if (pet == null || !pet.isDead()) {
+            return false;
+        }
+        pet.revive();
+        return true;
+    };
+
+    /** Resets the player's play time statistics */
+    public static final Transformation RESET_STATISTICS = player -> {
+        if (player.getTotalPlayTime().isZero()) {
+            return false;
+        }
+        player.resetPlayTimeStatistics();
+        return true;
+    };
+
+    /** Rewrites every save in the current {@link SaveSchema} layout; saves already in that layout are left alone */
+    public static final Transformation MIGRATE = player -> true;
+
+    /**
+     * Counts and failures of a maintenance run.
+     */
+    public static class Report {
+        private final int scanned;
+        private final int changed;
+        private final Map<String, String> failures;
+        private final long elapsedNanos;
+
+        Report(int scanned, int changed, Map<String, String> failures, long elapsedNanos) {
+            this.scanned = scanned;
+            this.changed = changed;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return The number of saves looked at
+         */
+        public int getScanned() { return scanned; }
+
+        /**
+         * @return The number of saves rewritten
+         */
+        public int getChanged() { return changed; }
+
+        /**
+         * @return The number of saves that could not be processed
+         */
+        public int getFailed() { return failures.size(); }
+
+        /**
+         * @return The error message for each save that could not be processed, by file name
+         */
+        public Map<String, String> getFailures() { return failures; }
+
+        /**
+         * @return How long the run took, in milliseconds
+         */
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        /**
+         * @return The number of saves processed per second
+         */
+        public double getSavesPerSecond() {
+            return elapsedNanos == 0 ? 0 : scanned * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d saves scanned, %d rewritten, %d failed in %d ms (%.0f saves/s)",
+                scanned, getChanged(), getFailed(), getElapsedMillis(), getSavesPerSecond());
+        }
+    }
+
+    /**
+     * Applies a transformation to every save using one worker per processor.
+     * @param transformation The change to apply
+     * @return The counts and failures of the run
+     */
+    public static Report run(Transformation transformation) {
+        return run(transformation, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Applies a transformation to every save.
+     * @param transformation The change to apply
+     * @param parallelism The number of worker threads
+     * @return The counts and failures of the run
+     */
+    public static Report run(Transformation transformation, int parallelism) {
+        long start = System.nanoTime();
+        List<String> saveFiles = GameSaveManager.listSaveFiles();
+
+        AtomicInteger changed = new AtomicInteger();
+        Map<String, String> failures = new ConcurrentSkipListMap<>();
+
+        forEachSave(saveFiles, parallelism, "save-maintenance", filename -> {
+            try {
+                if (process(filename, transformation)) {
+                    changed.incrementAndGet();
+                }
+            } catch (IOException | RuntimeException e) {
+                failures.put(filename, e.toString());
+            }
+        });
+
+        return new Report(saveFiles.size(), changed.get(), failures, System.nanoTime() - start);
+    }
+
+    /**
+     * Runs an action for every save on a fixed number of worker threads and waits for all of them.
+     * The task queue is bounded; once it is full the calling thread runs tasks itself.
+     * @param saveFiles The names of the save files
+     * @param parallelism The number of worker threads
+     * @param threadName The name given to the worker threads
+     * @param action The action to run for each save; it must handle its own errors
+     */
+    static void forEachSave(List<String> saveFiles, int parallelism, String threadName, Consumer<String> action) {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * QUEUED_TASKS_PER_WORKER),
+            runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+        for (String filename : saveFiles) {
+            workers.execute(() -> action.accept(filename));
+        }
+
+        workers.shutdown();
+        try {
+            while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                // Keep waiting; every task finishes once its save has been handled
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loads one save, applies the transformation and rewrites it if anything changed.
+     * @param filename The name of the save file
+     * @param transformation The change to apply
+     * @return true if the save was rewritten
+     * @throws IOException If the save could not be read, parsed or written
+     */
+    private static boolean process(String filename, Transformation transformation) throws IOException {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String original;
+            try {
+                original = GameSaveManager.readSaveFile(filename);
+            } catch (FileNotFoundException e) {
+                if (attempt > 0) {
+                    return false; // deleted while being changed
+                }
+                throw e;
+            }
+            Player player = GameSaveManager.parseGame(original);
+            if (player == null) {
+                throw new IOException("Save has no player");
+            }
+
+            if (!transformation.apply(player)) {
+                return false;
+            }
+
+            String updated = GameSaveManager.serializeGame(player);
+            if (updated.equals(original)) {
+                return false;
+            }
+            if (GameSaveManager.replaceSaveFile(filename, original, updated)) {
+                return true;
+            }
+            // Saved by someone else since it was read; change the new contents instead
+        }
+        throw new IOException("Save kept changing while being updated");
+    }
+}
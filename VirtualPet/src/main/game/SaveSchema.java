@@ -0,0 +1,196 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Versions of the save file layout, and the migrations between them.
+ * <p>
+ * Saves start with a {@code Save Version} row; saves without one are version 1.
+ * Older saves are upgraded line by line while they are being loaded, so the
+ * loader only ever sees the current layout. Nothing is written back on load;
+ * an upgraded save is stored in the current layout the next time it is saved,
+ * or all at once with {@link #migrateAll(int)}.
+ * <p>
+ * Layout history:
+ * <ol>
+ *   <li>No version row. The pet row follows whatever columns the {@code Pets}
+ *       header lists, and saves from earlier builds lack some of the state columns.</li>
+ *   <li>Starts with a version row, ends with a checksum row, and the pet row
+ *       always has exactly the columns of {@link #PET_HEADER}.</li>
+ * </ol>
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveSchema {
+    /** The layout written by this version of the game */
+    public static final int CURRENT_VERSION = 2;
+
+    /** Label of the first row of a save, holding its layout version */
+    static final String VERSION_ROW = "Save Version";
+
+    /** Header of the pet section in the current layout */
+    static final String PET_HEADER = "Pets,Name,Type,Health,Happiness,Fullness,Sleep,Is Sleeping,Is Hungry,Is Angry,Is Dead";
+
+    // Column positions of the current pet row in the current layout
+    static final int PET_NAME = 1;
+    static final int PET_TYPE = 2;
+    static final int PET_HEALTH = 3;
+    static final int PET_HAPPINESS = 4;
+    static final int PET_FULLNESS = 5;
+    static final int PET_SLEEP = 6;
+    static final int PET_IS_SLEEPING = 7;
+    static final int PET_IS_HUNGRY = 8;
+    static final int PET_IS_ANGRY = 9;
+    static final int PET_IS_DEAD = 10;
+    static final int PET_COLUMNS = 11;
+
+    private static final List<String> PET_COLUMN_NAMES = Arrays.asList(PET_HEADER.split(","));
+
+    /**
+     * Upgrades the lines of a save from one layout version to the next.
+     */
+    private interface Migration {
+        /**
+         * Creates the line mapper for one save. Mappers may keep state between
+         * lines of the same save, such as a header they have seen.
+         * @return A function from an old line to the upgraded line, or to null to drop it
+         */
+        UnaryOperator<String> newLineMapper();
+    }
+
+    // MIGRATIONS[n - 1] upgrades version n to version n + 1
+    private static final Migration[] MIGRATIONS = {
+        SaveSchema::petRowsByHeader
+    };
+
+    private SaveSchema() {}
+
+    /**
+     * Reads the lines of a save, upgrading them to the current layout as they are read.
+     * The version row itself is not passed on.
+     * @param reader Reader positioned at the start of the save contents
+     * @return The lines of the save in the current layout
+     * @throws IOException If the save was written by a newer version of the game
+     */
+    static Stream<String> upgrade(BufferedReader reader) throws IOException {
+        String first = reader.readLine();
+        if (first == null) {
+            return Stream.empty();
+        }
+
+        int version = versionOf(first);
+        if (version > CURRENT_VERSION) {
+            throw new IOException("Save has layout version " + version
+                + ", newer than this game's " + CURRENT_VERSION);
+        }
+
+        Stream<String> lines = version == 1
+            ? Stream.concat(Stream.of(first), reader.lines())
+            : reader.lines();
+        for (int from = version; from < CURRENT_VERSION; from++) {
+            lines = lines.map(MIGRATIONS[from - 1].newLineMapper()).filter(Objects::nonNull);
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the layout version from the first line of a save.
+     * @param firstLine The first line of the save
+     * @return The layout version, 1 if the line is not a version row
+     * @throws IOException If the version row can't be read
+     */
+    static int versionOf(String firstLine) throws IOException {
+        if (!firstLine.startsWith(VERSION_ROW + ",")) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(firstLine.substring(VERSION_ROW.length() + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Unreadable save version: " + firstLine);
+        }
+    }
+
+    /**
+     * Rewrites every save still in an older layout, in parallel.
+     * Saves already in the current layout are left untouched.
+     * @param parallelism The number of worker threads
+     * @return The counts and failures of the run
+     */
+    public static SaveMaintenance.Report migrateAll(int parallelism) {
+        return SaveMaintenance.run(SaveMaintenance.MIGRATE, parallelism);
+    }
+
+    /**
+     * Version 1 to 2: reads the pet row by the names in the {@code Pets} header
+     * and writes it in the current column order. Columns an older header lacks
+     * get the value a new pet of that type would have. Rows with fewer values
+     * than their header are truncated and are passed on unchanged, so loading
+     * them still fails.
+     * @return The line mapper for one save
+     */
+    private static UnaryOperator<String> petRowsByHeader() {
+        String[][] header = { PET_HEADER.split(",") }; // version 1 saves without a header used the current columns
+        return line -> {
+            String[] parts = line.split(",");
+            if (parts[0].equals("Pets")) {
+                header[0] = parts;
+                return PET_HEADER;
+            }
+            if (!parts[0].equals("Current Pet") || parts.length < header[0].length || header[0].length < 3) {
+                return line;
+            }
+
+            String[] upgraded = new String[PET_COLUMNS];
+            upgraded[0] = parts[0];
+            for (int column = 1; column < header[0].length; column++) {
+                int target = PET_COLUMN_NAMES.indexOf(header[0][column]);
+                if (target > 0) {
+                    upgraded[target] = parts[column];
+                }
+            }
+            if (upgraded[PET_NAME] == null || upgraded[PET_TYPE] == null) {
+                return line;
+            }
+
+            Pet defaults = null;
+            for (int column = 1; column < PET_COLUMNS; column++) {
+                if (upgraded[column] != null) {
+                    continue;
+                }
+                if (defaults == null) {
+                    defaults = new Pet(upgraded[PET_NAME], Pet.PetType.valueOf(upgraded[PET_TYPE]));
+                }
+                upgraded[column] = defaultValue(defaults, column);
+            }
+            return String.join(",", upgraded);
+        };
+    }
+
+    /**
+     * Gets the value a new pet has for a column of the pet row.
+     * @param pet A new pet of the right type
+     * @param column The column position in the current layout
+     * @return The value as written in a save
+     */
+    private static String defaultValue(Pet pet, int column) {
+        switch (column) {
+            case PET_HEALTH: return String.valueOf(pet.getHealth());
+            case PET_HAPPINESS: return String.valueOf(pet.getHappiness());
+            case PET_FULLNESS: return String.valueOf(pet.getFullness());
+            case PET_SLEEP: return String.valueOf(pet.getSleep());
+            case PET_IS_SLEEPING: return String.valueOf(pet.isSleeping());
+            case PET_IS_HUNGRY: return String.valueOf(pet.isHungry());
+            case PET_IS_ANGRY: return String.valueOf(pet.isAngry());
+            default: return String.valueOf(pet.isDead());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Storage backend used by {@link GameSaveManager} to keep save files and parental settings.
+ * <p>
+ * Saves are addressed by their file name (always ending in .csv, as shown to the
+ * player) and stored as the full CSV text produced by the save manager, so every
+ * backend shares the same save format. The parental settings are stored the same
+ * way as a single CSV document.
+ * <p>
+ * Implementations:
+ * <ul>
+ *   <li>{@link CsvDirectoryStorage} - one CSV file per save (the default)</li>
+ *   <li>{@link InMemorySaveStorage} - nothing touches the disk, for tests and benchmarks</li>
+ *   <li>{@link PagedSaveStorage} - all saves in a single paged store file</li>
+ * </ul>
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public interface SaveStorage {
+
+    /**
+     * Stores the contents of a save, replacing any existing save with the same name.
+     * @param filename The name of the save file
+     * @param contents The full contents of the save file
+     * @throws IOException If the save could not be written
+     */
+    void write(String filename, String contents) throws IOException;
+
+    /**
+     * Reads the contents of a save.
+     * @param filename The name of the save file
+     * @return The full contents of the save file
+     * @throws java.io.FileNotFoundException If there is no save with that name
+     * @throws IOException If the save could not be read
+     */
+    String read(String filename) throws IOException;
+
+    /**
+     * Replaces a save only if it still holds the expected contents, so a save
+     * that is read, changed and written back never overwrites a write made in
+     * between. The default compares and then writes; backends override this to
+     * do both under one lock.
+     * @param filename The name of the save file
+     * @param expected The contents the save must still hold
+     * @param contents The new contents of the save
+     * @return true if the save was replaced, false if it changed or no longer exists
+     * @throws IOException If the save could not be read or written
+     */
+    default boolean replace(String filename, String expected, String contents) throws IOException {
+        try {
+            if (!read(filename).equals(expected)) {
+                return false;
+            }
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+        write(filename, contents);
+        return true;
+    }
+
+    /**
+     * Opens a save for reading line by line, so callers that only need the
+     * start of a save can stop early. Backends that can stream from disk
+     * override this; the default reads the whole save.
+     * @param filename The name of the save file
+     * @return A reader positioned at the start of the save; the caller must close it
+     * @throws java.io.FileNotFoundException If there is no save with that name
+     * @throws IOException If the save could not be read
+     */
+    default BufferedReader openReader(String filename) throws IOException {
+        return new BufferedReader(new StringReader(read(filename)));
+    }
+
+    /**
+     * Lists the names of all stored saves.
+     * @return The save file names, in no particular order
+     * @throws IOException If the saves could not be listed
+     */
+    List<String> list() throws IOException;
+
+    /**
+     * Removes a save.
+     * @param filename The name of the save file
+     * @return true if a save was removed, false if there was none
+     * @throws IOException If the save could not be removed
+     */
+    boolean delete(String filename) throws IOException;
+
+    /**
+     * Removes a save only if it still holds the expected contents, so a save
+     * found damaged is never removed after a good copy was written over it.
+     * The default compares and then deletes; backends override this to do
+     * both under one lock.
+     * @param filename The name of the save file
+     * @param expected The contents the save must still hold
+     * @return true if the save was removed, false if it changed or no longer exists
+     * @throws IOException If the save could not be read or removed
+     */
+    default boolean deleteIfUnchanged(String filename, String expected) throws IOException {
+        try {
+            if (!read(filename).equals(expected)) {
+                return false;
+            }
+        } catch (FileNotFoundException e) {
+            return false;
+        }
+        return delete(filename);
+    }
+
+    /**
+     * Writes an autosave checkpoint. Only the game's own checkpoint writer
+     * writes checkpoints, and a damaged one is skipped when loading, so the
+     * cross-process locking and atomic replace that saves need are not
+     * required. The default is a normal write; backends override this to skip
+     * the extra work.
+     * @param filename The name of the checkpoint file
+     * @param contents The checkpoint contents
+     * @throws IOException If the checkpoint could not be written
+     */
+    default void writeCheckpoint(String filename, String contents) throws IOException {
+        write(filename, contents);
+    }
+
+    /**
+     * Reads an autosave checkpoint, which may be damaged if writing it was cut short.
+     * @param filename The name of the checkpoint file
+     * @return The checkpoint contents
+     * @throws IOException If the checkpoint does not exist or could not be read
+     */
+    default String readCheckpoint(String filename) throws IOException {
+        return read(filename);
+    }
+
+    /**
+     * Removes an autosave checkpoint.
+     * @param filename The name of the checkpoint file
+     * @return true if a checkpoint was removed, false if there was none
+     * @throws IOException If the checkpoint could not be removed
+     */
+    default boolean deleteCheckpoint(String filename) throws IOException {
+        return delete(filename);
+    }
+
+    /**
+     * Reads the stored parental settings.
+     * @return The settings CSV, or null if no settings have been saved
+     * @throws IOException If the settings could not be read
+     */
+    String readSettings() throws IOException;
+
+    /**
+     * Stores the parental settings, replacing any previous settings.
+     * @param contents The settings CSV
+     * @throws IOException If the settings could not be written
+     */
+    void writeSettings(String contents) throws IOException;
+
+    /**
+     * Gets a stamp that changes whenever the stored settings change, so callers
+     * can tell whether a cached copy is still current without reading the settings.
+     * @return The current stamp, or 0 if no settings have been saved
+     * @throws IOException If the stamp could not be determined
+     */
+    long settingsStamp() throws IOException;
+}
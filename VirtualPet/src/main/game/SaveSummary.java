@@ -0,0 +1,122 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.IOException;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+
+/**
+ * The few fields of a save file needed to show it in a list, read from the
+ * start of the file without building the full {@link Player}.
+ * <p>
+ * The full save is only loaded the first time the player, pet or inventory is
+ * requested, and then kept for later calls.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SaveSummary {
+    private final String filename;
+    private final String playerName;
+    private final int score;
+    private final long totalPlayTimeSeconds;
+    private final String petName;
+    private final Pet.PetType petType;
+    private final boolean petDead;
+
+    private Player player; // loaded on first use
+
+    /**
+     * Creates a summary from fields read out of a save header.
+     * @param filename The name of the save file
+     * @param playerName The player's name
+     * @param score The player's score
+     * @param totalPlayTimeSeconds The player's total play time in seconds
+     * @param petName The current pet's name, or null if the save has no pet
+     * @param petType The current pet's type, or null if the save has no pet
+     * @param petDead Whether the current pet is dead
+     */
+    SaveSummary(String filename, String playerName, int score, long totalPlayTimeSeconds,
+                String petName, Pet.PetType petType, boolean petDead) {
+        this.filename = filename;
+        this.playerName = playerName;
+        this.score = score;
+        this.totalPlayTimeSeconds = totalPlayTimeSeconds;
+        this.petName = petName;
+        this.petType = petType;
+        this.petDead = petDead;
+    }
+
+    /**
+     * @return The name of the save file
+     */
+    public String getFilename() { return filename; }
+
+    /**
+     * @return The player's name
+     */
+    public String getPlayerName() { return playerName; }
+
+    /**
+     * @return The player's score
+     */
+    public int getScore() { return score; }
+
+    /**
+     * @return The player's total play time in seconds
+     */
+    public long getTotalPlayTimeSeconds() { return totalPlayTimeSeconds; }
+
+    /**
+     * @return Whether the save has a current pet
+     */
+    public boolean hasPet() { return petType != null; }
+
+    /**
+     * @return The current pet's name, or null if the save has no pet
+     */
+    public String getPetName() { return petName; }
+
+    /**
+     * @return The current pet's type, or null if the save has no pet
+     */
+    public Pet.PetType getPetType() { return petType; }
+
+    /**
+     * @return Whether the current pet is dead
+     */
+    public boolean isPetDead() { return petDead; }
+
+    /**
+     * Gets the full player, loading the whole save on first call.
+     * @return The loaded player
+     * @throws IOException If there's an error reading the save file
+     */
+    public synchronized Player getPlayer() throws IOException {
+        if (player == null) {
+            player = GameSaveManager.loadGame(filename);
+        }
+        return player;
+    }
+
+    /**
+     * Gets the current pet, loading the whole save on first call.
+     * @return The loaded pet, or null if the save has no pet
+     * @throws IOException If there's an error reading the save file
+     */
+    public Pet getPet() throws IOException {
+        Player loaded = getPlayer();
+        return loaded == null ? null : loaded.getCurrentPet();
+    }
+
+    /**
+     * Gets the inventory, loading the whole save on first call.
+     * @return The loaded inventory, or null if the save has no player
+     * @throws IOException If there's an error reading the save file
+     */
+    public Inventory getInventory() throws IOException {
+        Player loaded = getPlayer();
+        return loaded == null ? null : loaded.getInventory();
+    }
+}
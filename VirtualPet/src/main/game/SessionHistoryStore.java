@@ -0,0 +1,344 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps the history of play sessions for the parental controls.
+ * <p>
+ * Every session is appended as a fixed size (start, end) record to a log file,
+ * in start time order, so the sessions of any time range are found by binary
+ * search without reading the rest of the log. Alongside the log, the number of
+ * sessions and the play time of every day and every week (starting Monday) are
+ * kept in a small rollup file, so totals over long ranges only read a handful
+ * of rollups. A session counts towards the day and week it started in.
+ * <p>
+ * The rollup file also records how many log records it covers. A session is
+ * appended to the log before the rollups are rewritten, so if the game stops
+ * in between, the sessions past that count are added to the rollups the next
+ * time the history is opened.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SessionHistoryStore {
+    /** Each log record holds the start and end in epoch seconds */
+    private static final int RECORD_SIZE = 2 * Long.BYTES;
+
+    private final Path logFile;
+    private final Path rollupFile;
+    private final NavigableMap<LocalDate, Rollup> dailyRollups = new TreeMap<>();
+    private final NavigableMap<LocalDate, Rollup> weeklyRollups = new TreeMap<>();
+    private long rolledUpRecords;       // Log records included in the rollups; -1 if unknown
+    private long lastStart = Long.MIN_VALUE;
+
+    /**
+     * One play session.
+     */
+    public static class Session {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Session(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * @return When the session started
+         */
+        public LocalDateTime getStart() { return start; }
+
+        /**
+         * @return When the session ended
+         */
+        public LocalDateTime getEnd() { return end; }
+
+        /**
+         * @return How long the session lasted
+         */
+        public Duration getDuration() { return Duration.between(start, end); }
+    }
+
+    /**
+     * The number of sessions and the play time of a day, a week or a range.
+     */
+    public static class Rollup {
+        private int sessionCount;
+        private long totalSeconds;
+
+        Rollup() {}
+
+        Rollup(int sessionCount, long totalSeconds) {
+            this.sessionCount = sessionCount;
+            this.totalSeconds = totalSeconds;
+        }
+
+        private void add(int sessions, long seconds) {
+            sessionCount += sessions;
+            totalSeconds += seconds;
+        }
+
+        /**
+         * @return The number of sessions
+         */
+        public int getSessionCount() { return sessionCount; }
+
+        /**
+         * @return The total play time of the sessions
+         */
+        public Duration getTotalTime() { return Duration.ofSeconds(totalSeconds); }
+    }
+
+    /**
+     * Opens the history kept in the given files, creating them on the first append.
+     * Only the rollups are read when opening, plus any log records they don't cover yet;
+     * they are rebuilt from the log if missing or if they cover more records than the log holds.
+     * @param logFile The file holding every session
+     * @param rollupFile The file holding the daily and weekly rollups
+     * @throws IOException If the files exist but can't be read
+     */
+    public SessionHistoryStore(Path logFile, Path rollupFile) throws IOException {
+        this.logFile = logFile;
+        this.rollupFile = rollupFile;
+
+        long records = recordCount();
+        if (Files.exists(rollupFile)) {
+            readRollups();
+        }
+        if (rolledUpRecords < 0 || rolledUpRecords > records) {
+            // The rollups can't be matched to the log, so they are rebuilt from all of it
+            dailyRollups.clear();
+            weeklyRollups.clear();
+            rolledUpRecords = 0;
+        }
+        if (rolledUpRecords < records) {
+            for (Session session : readRecords(rolledUpRecords, records)) {
+                addToRollups(session.getStart().toLocalDate(), session.getDuration().getSeconds());
+            }
+            rolledUpRecords = records;
+            writeRollups();
+        }
+
+        if (records > 0) {
+            try (RandomAccessFile log = new RandomAccessFile(logFile.toFile(), "r")) {
+                log.seek((records - 1) * RECORD_SIZE);
+                lastStart = log.readLong();
+            }
+        }
+    }
+
+    /**
+     * Adds a finished session to the history.
+     * A session starting before the last recorded one is recorded as starting at the same time,
+     * which keeps the log in order if the clock was turned back.
+     * @param start When the session started
+     * @param end When the session ended
+     * @throws IOException If the session could not be written
+     */
+    public synchronized void append(LocalDateTime start, LocalDateTime end) throws IOException {
+        long startSeconds = Math.max(toEpoch(start), lastStart);
+        long endSeconds = Math.max(toEpoch(end), startSeconds);
+
+        if (logFile.getParent() != null) {
+            Files.createDirectories(logFile.getParent());
+        }
+        long records;
+        try (RandomAccessFile log = new RandomAccessFile(logFile.toFile(), "rw")) {
+            log.seek(log.length() - log.length() % RECORD_SIZE); // drop a torn record left by a crash
+            log.writeLong(startSeconds);
+            log.writeLong(endSeconds);
+            log.setLength(log.getFilePointer());
+            records = log.length() / RECORD_SIZE;
+        }
+        lastStart = startSeconds;
+
+        addToRollups(fromEpoch(startSeconds).toLocalDate(), endSeconds - startSeconds);
+        rolledUpRecords = records;
+        writeRollups();
+    }
+
+    /**
+     * Finds the sessions that started within a time range.
+     * @param from The start of the range, inclusive
+     * @param to The end of the range, exclusive
+     * @return The sessions in start time order
+     * @throws IOException If the log can't be read
+     */
+    public synchronized List<Session> sessionsBetween(LocalDateTime from, LocalDateTime to) throws IOException {
+        long first = firstRecordStartingAt(toEpoch(from));
+        long last = firstRecordStartingAt(toEpoch(to));
+        return last > first ? readRecords(first, last) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the rollup of one day.
+     * @param day The day
+     * @return The sessions and play time of that day
+     */
+    public synchronized Rollup getDay(LocalDate day) {
+        Rollup rollup = dailyRollups.get(day);
+        return rollup == null ? new Rollup() : new Rollup(rollup.sessionCount, rollup.totalSeconds);
+    }
+
+    /**
+     * Gets the rollup of the week containing a day.
+     * @param day Any day of the week
+     * @return The sessions and play time of that week
+     */
+    public synchronized Rollup getWeek(LocalDate day) {
+        Rollup rollup = weeklyRollups.get(weekOf(day));
+        return rollup == null ? new Rollup() : new Rollup(rollup.sessionCount, rollup.totalSeconds);
+    }
+
+    /**
+     * Adds up the sessions of a range of days. Whole weeks inside the range are
+     * taken from the weekly rollups, so only the days at either end are read one by one.
+     * @param from The first day, inclusive
+     * @param to The last day, inclusive
+     * @return The sessions and play time of the range
+     */
+    public synchronized Rollup total(LocalDate from, LocalDate to) {
+        Rollup total = new Rollup();
+        LocalDate day = from;
+        while (!day.isAfter(to)) {
+            if (day.getDayOfWeek() == DayOfWeek.MONDAY && !day.plusDays(6).isAfter(to)) {
+                Rollup week = weeklyRollups.get(day);
+                if (week != null) {
+                    total.add(week.sessionCount, week.totalSeconds);
+                }
+                day = day.plusWeeks(1);
+            } else {
+                Rollup rollup = dailyRollups.get(day);
+                if (rollup != null) {
+                    total.add(rollup.sessionCount, rollup.totalSeconds);
+                }
+                day = day.plusDays(1);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the first Monday on or before a day.
+     */
+    private static LocalDate weekOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpoch(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private void addToRollups(LocalDate day, long seconds) {
+        dailyRollups.computeIfAbsent(day, key -> new Rollup()).add(1, seconds);
+        weeklyRollups.computeIfAbsent(weekOf(day), key -> new Rollup()).add(1, seconds);
+    }
+
+    private long recordCount() throws IOException {
+        return Files.exists(logFile) ? Files.size(logFile) / RECORD_SIZE : 0;
+    }
+
+    /**
+     * Binary searches the log for the first record starting at or after a time.
+     * @return The record index, or the record count if there is none
+     */
+    private long firstRecordStartingAt(long seconds) throws IOException {
+        long low = 0;
+        long high = recordCount();
+        if (high == 0) {
+            return 0;
+        }
+        try (RandomAccessFile log = new RandomAccessFile(logFile.toFile(), "r")) {
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                log.seek(middle * RECORD_SIZE);
+                if (log.readLong() < seconds) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+        }
+        return low;
+    }
+
+    private List<Session> readRecords(long first, long end) throws IOException {
+        List<Session> sessions = new ArrayList<>((int) Math.min(end - first, Integer.MAX_VALUE));
+        try (RandomAccessFile log = new RandomAccessFile(logFile.toFile(), "r")) {
+            log.seek(first * RECORD_SIZE);
+            for (long i = first; i < end; i++) {
+                sessions.add(new Session(fromEpoch(log.readLong()), fromEpoch(log.readLong())));
+            }
+        }
+        return sessions;
+    }
+
+    private void readRollups() throws IOException {
+        rolledUpRecords = -1; // rollup files without a record count are rebuilt
+        for (String line : Files.readAllLines(rollupFile, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",");
+            if (parts.length == 2 && parts[0].equals("Records")) {
+                rolledUpRecords = Long.parseLong(parts[1]);
+                continue;
+            }
+            if (parts.length != 4 || !(parts[0].equals("Day") || parts[0].equals("Week"))) {
+                continue; // header
+            }
+            Rollup rollup = new Rollup(Integer.parseInt(parts[2]), Long.parseLong(parts[3]));
+            if (parts[0].equals("Day")) {
+                dailyRollups.put(LocalDate.parse(parts[1]), rollup);
+            } else {
+                weeklyRollups.put(LocalDate.parse(parts[1]), rollup);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the rollup file through a temporary file, so it is never left half written.
+     */
+    private void writeRollups() throws IOException {
+        Path tempFile = rollupFile.resolveSibling(rollupFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write("Period,Start,Sessions,Seconds");
+            writer.newLine();
+            writer.write("Records," + rolledUpRecords);
+            writer.newLine();
+            for (Map.Entry<LocalDate, Rollup> entry : dailyRollups.entrySet()) {
+                writer.write("Day," + entry.getKey() + "," + entry.getValue().sessionCount + "," + entry.getValue().totalSeconds);
+                writer.newLine();
+            }
+            for (Map.Entry<LocalDate, Rollup> entry : weeklyRollups.entrySet()) {
+                writer.write("Week," + entry.getKey() + "," + entry.getValue().sessionCount + "," + entry.getValue().totalSeconds);
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(tempFile, rollupFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, rollupFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
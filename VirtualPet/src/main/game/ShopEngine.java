@@ -0,0 +1,316 @@
+package group33.VirtualPet.src.main.game;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.model.Pet;
+
+/**
+ * Prices the items in the shop.
+ * <p>
+ * An item's price starts from the base price in the item catalog and is then
+ * changed by three rules:
+ * <ul>
+ *   <li>a discount on the whole shop, for example during a sale;</li>
+ *   <li>demand: each item bought raises that item's price by
+ *       {@value #DEMAND_STEP_PERCENT}%, up to {@value #MAX_DEMAND_PERCENT}%, until
+ *       demand is reset. Demand is kept in memory only and the game screen
+ *       resets it whenever a game starts, so purchases never carry over to
+ *       another game or another player;</li>
+ *   <li>pet preferences: items a pet type likes are cheaper for players with
+ *       that pet, as listed in {@value #PREFERENCES_RESOURCE}.</li>
+ * </ul>
+ * Every price is worked out ahead of time into a table by pet type and
+ * catalog id, so a quote is an array lookup. The rules are only evaluated again
+ * when one of their inputs changes: a purchase reprices just the item bought,
+ * a new preference just that item, and a new discount the whole table.
+ * <p>
+ * All methods are synchronized, quotes included, so a price written by one
+ * thread is always seen by the next quote on another.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class ShopEngine {
+    /** Classpath location of the pet preferences */
+    public static final String PREFERENCES_RESOURCE = "group33/VirtualPet/assets/data/pet_preferences.csv";
+    /** Price rise per item bought, in percent */
+    public static final int DEMAND_STEP_PERCENT = 5;
+    /** Highest price rise from demand, in percent */
+    public static final int MAX_DEMAND_PERCENT = 50;
+    /** Price returned for items the shop does not sell */
+    public static final int NOT_SOLD = -1;
+
+    private static final String FOOD_KIND = "Food";
+    private static final String GIFT_KIND = "Gift";
+    // One row per pet type, plus a last row for players without a pet
+    private static final int PRICE_ROWS = Pet.PetType.values().length + 1;
+
+    private static volatile ShopEngine instance;
+
+    private final PriceTable food;
+    private final PriceTable gifts;
+    private int discountPercent;
+    private long evaluations;          // Prices worked out so far, to check that rules are not rerun needlessly
+
+    /**
+     * The prices of one kind of item, and the inputs they are worked out from, by catalog id.
+     */
+    private static final class PriceTable {
+        final int[] basePrices;         // NOT_SOLD for items not in the shop
+        final int[] demand;             // Items bought since demand was reset
+        final int[][] preferences;      // Percent off, by price row
+        final int[][] prices;           // The quotes, by price row
+
+        PriceTable(List<? extends ItemCatalog.Listing<?>> listings, ToIntFunction<ItemCatalog.Listing<?>> ids) {
+            int width = 0;
+            for (ItemCatalog.Listing<?> listing : listings) {
+                width = Math.max(width, ids.applyAsInt(listing) + 1);
+            }
+            basePrices = new int[width];
+            Arrays.fill(basePrices, NOT_SOLD);
+            for (ItemCatalog.Listing<?> listing : listings) {
+                basePrices[ids.applyAsInt(listing)] = listing.getPrice();
+            }
+            demand = new int[width];
+            preferences = new int[PRICE_ROWS][width];
+            prices = new int[PRICE_ROWS][width];
+        }
+
+        int quote(int row, int id) {
+            return id < basePrices.length ? prices[row][id] : NOT_SOLD;
+        }
+    }
+
+    /**
+     * Creates a shop engine with the catalog's base prices, no discount, no demand
+     * and the pet preferences from {@value #PREFERENCES_RESOURCE}.
+     * @throws IllegalStateException If the pet preferences are missing or broken
+     */
+    public ShopEngine() {
+        food = new PriceTable(ItemCatalog.foodListings(),
+            listing -> ItemCatalog.foodId((Inventory.FoodItem) listing.getItem()));
+        gifts = new PriceTable(ItemCatalog.giftListings(),
+            listing -> ItemCatalog.giftId((Inventory.GiftItem) listing.getItem()));
+        loadPreferences();
+        repriceAll();
+    }
+
+    /**
+     * Gets the shared shop engine used by the game screens.
+     * @return The shared shop engine
+     */
+    public static ShopEngine getInstance() {
+        if (instance == null) {
+            synchronized (ShopEngine.class) {
+                if (instance == null) {
+                    instance = new ShopEngine();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the price of a food item.
+     * @param item The food item
+     * @param petType The type of the buyer's pet, or null if the buyer has none
+     * @return The price in score points, or {@link #NOT_SOLD} if the shop doesn't sell the item
+     */
+    public synchronized int quoteFood(Inventory.FoodItem item, Pet.PetType petType) {
+        return food.quote(row(petType), ItemCatalog.foodId(item));
+    }
+
+    /**
+     * Gets the price of a gift item.
+     * @param item The gift item
+     * @param petType The type of the buyer's pet, or null if the buyer has none
+     * @return The price in score points, or {@link #NOT_SOLD} if the shop doesn't sell the item
+     */
+    public synchronized int quoteGift(Inventory.GiftItem item, Pet.PetType petType) {
+        return gifts.quote(row(petType), ItemCatalog.giftId(item));
+    }
+
+    /**
+     * Records that food items were bought, raising their price.
+     * @param item The food item bought
+     * @param quantity How many were bought
+     */
+    public synchronized void recordFoodPurchase(Inventory.FoodItem item, int quantity) {
+        recordPurchase(food, ItemCatalog.foodId(item), quantity);
+    }
+
+    /**
+     * Records that gift items were bought, raising their price.
+     * @param item The gift item bought
+     * @param quantity How many were bought
+     */
+    public synchronized void recordGiftPurchase(Inventory.GiftItem item, int quantity) {
+        recordPurchase(gifts, ItemCatalog.giftId(item), quantity);
+    }
+
+    /**
+     * Forgets all purchases, so prices go back to the price before demand.
+     * Called whenever a game starts.
+     */
+    public synchronized void resetDemand() {
+        Arrays.fill(food.demand, 0);
+        Arrays.fill(gifts.demand, 0);
+        repriceAll();
+    }
+
+    /**
+     * @return The discount on the whole shop, in percent
+     */
+    public synchronized int getDiscountPercent() { return discountPercent; }
+
+    /**
+     * Sets a discount on the whole shop.
+     * @param discountPercent The discount in percent, from 0 to 100
+     */
+    public synchronized void setDiscountPercent(int discountPercent) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100 percent");
+        }
+        if (this.discountPercent != discountPercent) {
+            this.discountPercent = discountPercent;
+            repriceAll();
+        }
+    }
+
+    /**
+     * Sets how much cheaper a food item is for players with a type of pet.
+     * @param petType The pet type
+     * @param item The food item
+     * @param discountPercent The discount in percent, from 0 to 100
+     */
+    public synchronized void setFoodPreference(Pet.PetType petType, Inventory.FoodItem item, int discountPercent) {
+        setPreference(food, petType, ItemCatalog.foodId(item), discountPercent);
+    }
+
+    /**
+     * Sets how much cheaper a gift item is for players with a type of pet.
+     * @param petType The pet type
+     * @param item The gift item
+     * @param discountPercent The discount in percent, from 0 to 100
+     */
+    public synchronized void setGiftPreference(Pet.PetType petType, Inventory.GiftItem item, int discountPercent) {
+        setPreference(gifts, petType, ItemCatalog.giftId(item), discountPercent);
+    }
+
+    /**
+     * @return The number of prices worked out by the pricing rules so far
+     */
+    public synchronized long getEvaluations() { return evaluations; }
+
+    private static int row(Pet.PetType petType) {
+        return petType == null ? PRICE_ROWS - 1 : petType.ordinal();
+    }
+
+    private void recordPurchase(PriceTable table, int id, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (id >= table.basePrices.length || table.basePrices[id] == NOT_SOLD) {
+            return;
+        }
+        int maxDemand = MAX_DEMAND_PERCENT / DEMAND_STEP_PERCENT;
+        int demand = (int) Math.min((long) table.demand[id] + quantity, maxDemand);
+        if (demand != table.demand[id]) {
+            table.demand[id] = demand;
+            reprice(table, id);
+        }
+    }
+
+    private void setPreference(PriceTable table, Pet.PetType petType, int id, int discountPercent) {
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("Discount must be between 0 and 100 percent");
+        }
+        if (id >= table.basePrices.length || table.basePrices[id] == NOT_SOLD) {
+            return;
+        }
+        if (table.preferences[row(petType)][id] != discountPercent) {
+            table.preferences[row(petType)][id] = discountPercent;
+            reprice(table, id);
+        }
+    }
+
+    private void repriceAll() {
+        for (int id = 0; id < food.basePrices.length; id++) {
+            reprice(food, id);
+        }
+        for (int id = 0; id < gifts.basePrices.length; id++) {
+            reprice(gifts, id);
+        }
+    }
+
+    // Works out the price of one item for every price row
+    private void reprice(PriceTable table, int id) {
+        int base = table.basePrices[id];
+        for (int row = 0; row < PRICE_ROWS; row++) {
+            table.prices[row][id] = base == NOT_SOLD ? NOT_SOLD
+                : evaluate(base, table.demand[id], table.preferences[row][id]);
+        }
+        evaluations += PRICE_ROWS;
+    }
+
+    private int evaluate(int base, int demand, int preferencePercent) {
+        long price = (long) base
+            * (100 - discountPercent)
+            * (100 + (long) demand * DEMAND_STEP_PERCENT)
+            * (100 - preferencePercent);
+        if (price == 0) {
+            return 0; // Free, from a 100% discount
+        }
+        // Rounded to whole points, but never rounded down to free
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (price + 500_000) / 1_000_000));
+    }
+
+    private void loadPreferences() {
+        try (InputStream in = ShopEngine.class.getClassLoader().getResourceAsStream(PREFERENCES_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing pet preferences " + PREFERENCES_RESOURCE);
+            }
+            parsePreferences(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Could not load " + PREFERENCES_RESOURCE + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void parsePreferences(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line = lines.readLine(); // header
+        while ((line = lines.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 5) {
+                throw new IOException("Bad pet preference: " + line);
+            }
+            Pet.PetType petType = Pet.PetType.valueOf(fields[0].trim());
+            String name = fields[2].trim();
+            int value = Integer.parseInt(fields[3].trim());
+            int discount = Integer.parseInt(fields[4].trim());
+            switch (fields[1].trim()) {
+                case FOOD_KIND:
+                    setPreference(food, petType, ItemCatalog.foodId(ItemCatalog.food(name, value)), discount);
+                    break;
+                case GIFT_KIND:
+                    setPreference(gifts, petType, ItemCatalog.giftId(ItemCatalog.gift(name, value)), discount);
+                    break;
+                default:
+                    throw new IOException("Unknown item kind: " + fields[1]);
+            }
+        }
+    }
+}
@@ -31,7 +31,8 @@ public class TimeRestrictionManager {
      */
     public static boolean isWithinAllowedTime() {
         try {
-            ParentalSettings settings = GameSaveManager.loadParentalSettings();
+            // Read-only check, answered from the cached settings unless the file changed
+            ParentalSettings settings = GameSaveManager.getParentalSettings();
             
             if (settings == null || !settings.isTimeRestrictionEnabled()) {
                 // No time restrictions if settings don't exist or restrictions are disabled
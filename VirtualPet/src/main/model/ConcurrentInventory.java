@@ -0,0 +1,152 @@
+package group33.VirtualPet.src.main.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An inventory that several threads can change at once, for example purchases,
+ * item use and admin grants for the same player arriving on different threads.
+ * <p>
+ * Quantities are kept in {@link AtomicIntegerArray}s and changed with
+ * compare-and-set, so no lock is taken. Adding saturates at
+ * {@code Integer.MAX_VALUE} like {@link Inventory#addFoodItem}, and using an item
+ * only succeeds while its quantity is positive, so two threads can never use the
+ * same last item. Each item's count sits on its own cache line, so threads busy
+ * with different items don't slow each other down. Every change still bumps the
+ * version once, so changes are never lost to autosaves.
+ * <p>
+ * Single calls are atomic. A transaction either applies completely or is undone,
+ * but other threads may see part of it while it is being applied. Reading the
+ * views while other threads write gives each quantity's latest value, not one
+ * consistent copy; use the snapshots for that.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class ConcurrentInventory extends Inventory {
+
+    /**
+     * Creates a new concurrent inventory with the default items.
+     */
+    public ConcurrentInventory() {
+        super(new AtomicQuantities(), new AtomicQuantities());
+    }
+
+    /**
+     * Quantities in atomic arrays. Ids are split into fixed chunks that are created
+     * when first needed and never moved, so growing never copies a count that
+     * another thread may be changing.
+     */
+    private static class AtomicQuantities extends Quantities {
+        private static final int CHUNK_BITS = 5;
+        private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+        private static final int MAX_CHUNKS = 1024;
+        // Counts are this many ints apart, 64 bytes, so each has its own cache line
+        private static final int PADDING = 16;
+
+        private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+        private final AtomicInteger capacity = new AtomicInteger();
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * The counts and presence flags of {@code CHUNK_SIZE} consecutive ids.
+         */
+        private static class Chunk {
+            final AtomicIntegerArray counts = new AtomicIntegerArray(CHUNK_SIZE * PADDING);
+            final AtomicIntegerArray present = new AtomicIntegerArray(CHUNK_SIZE);
+        }
+
+        private Chunk chunk(int id) {
+            int index = id >>> CHUNK_BITS;
+            return index < MAX_CHUNKS ? chunks.get(index) : null;
+        }
+
+        private Chunk createChunk(int id) {
+            int index = id >>> CHUNK_BITS;
+            if (index >= MAX_CHUNKS) {
+                throw new IllegalStateException("Too many items for a concurrent inventory: " + id);
+            }
+            Chunk chunk = chunks.get(index);
+            if (chunk == null) {
+                chunks.compareAndSet(index, null, new Chunk());
+                chunk = chunks.get(index);
+                capacity.accumulateAndGet((index + 1) << CHUNK_BITS, Math::max);
+            }
+            return chunk;
+        }
+
+        private static int slot(int id) {
+            return (id & (CHUNK_SIZE - 1)) * PADDING;
+        }
+
+        @Override
+        int get(int id) {
+            Chunk chunk = chunk(id);
+            return chunk == null ? 0 : chunk.counts.get(slot(id));
+        }
+
+        @Override
+        void add(int id, int quantity) {
+            Chunk chunk = createChunk(id);
+            int slot = slot(id);
+            int current;
+            do {
+                current = chunk.counts.get(slot);
+            } while (!chunk.counts.compareAndSet(slot, current, saturatedAdd(current, quantity)));
+            if (chunk.present.get(id & (CHUNK_SIZE - 1)) == 0
+                    && chunk.present.compareAndSet(id & (CHUNK_SIZE - 1), 0, 1)) {
+                size.incrementAndGet();
+            }
+        }
+
+        @Override
+        boolean take(int id, int count) {
+            Chunk chunk = chunk(id);
+            if (chunk == null) {
+                return false;
+            }
+            int slot = slot(id);
+            int current;
+            do {
+                current = chunk.counts.get(slot);
+                if (current < count) {
+                    return false;
+                }
+            } while (!chunk.counts.compareAndSet(slot, current, current - count));
+            return true;
+        }
+
+        @Override
+        boolean isPresent(int id) {
+            Chunk chunk = chunk(id);
+            return chunk != null && chunk.present.get(id & (CHUNK_SIZE - 1)) == 1;
+        }
+
+        @Override
+        int capacity() {
+            return capacity.get();
+        }
+
+        @Override
+        int size() {
+            return size.get();
+        }
+
+        @Override
+        void clear() {
+            for (int index = 0; index < MAX_CHUNKS; index++) {
+                Chunk chunk = chunks.get(index);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    chunk.counts.set(i * PADDING, 0);
+                    if (chunk.present.getAndSet(i, 0) == 1) {
+                        size.decrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+}
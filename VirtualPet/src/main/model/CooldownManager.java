@@ -0,0 +1,132 @@
+package group33.VirtualPet.src.main.model;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of a player's cooldowns: the waiting periods after an action
+ * before it can be used again.
+ * <p>
+ * The time each action's cooldown ends is held in an array indexed by the
+ * action, so checking a cooldown is an array lookup, and adding an action only
+ * means adding it to {@link Action}. {@link #getNextExpiry(long)} tells the
+ * screens when the next cooldown ends, so they can wait for that moment
+ * instead of checking every second.
+ * <p>
+ * All times are in milliseconds since the epoch.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class CooldownManager {
+    /** Returned by {@link #getNextExpiry(long)} when no cooldown is running */
+    public static final long NONE = Long.MAX_VALUE;
+
+    /**
+     * The actions that can have a cooldown, with how long it lasts.
+     */
+    public enum Action {
+        PLAY(300000),
+        VET(300000),
+        BATTLE(0),
+        EXERCISE(0);
+
+        private final long durationMillis;
+
+        Action(long durationMillis) {
+            this.durationMillis = durationMillis;
+        }
+
+        /**
+         * @return How long the cooldown lasts in milliseconds, 0 if the action has none
+         */
+        public long getDurationMillis() { return durationMillis; }
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+
+    private final long[] expiries = new long[ACTIONS.length]; // When each cooldown ends; 0 means ready
+    private long version;
+
+    /**
+     * Starts an action's cooldown.
+     * @param action The action just used
+     * @param now The current time
+     */
+    public void start(Action action, long now) {
+        setLastUse(action, now);
+    }
+
+    /**
+     * Checks whether an action can be used.
+     * @param action The action
+     * @param now The current time
+     * @return True if the action's cooldown has ended
+     */
+    public boolean isReady(Action action, long now) {
+        return now >= expiries[action.ordinal()];
+    }
+
+    /**
+     * Gets how long is left of an action's cooldown.
+     * @param action The action
+     * @param now The current time
+     * @return The milliseconds left, 0 if the action is ready
+     */
+    public long getRemainingMillis(Action action, long now) {
+        return Math.max(0, expiries[action.ordinal()] - now);
+    }
+
+    /**
+     * @param action The action
+     * @return When the action's cooldown ends
+     */
+    public long getExpiry(Action action) {
+        return expiries[action.ordinal()];
+    }
+
+    /**
+     * Gets when the next running cooldown ends, across all actions.
+     * @param now The current time
+     * @return The earliest end of a cooldown after now, or {@link #NONE} if every action is ready
+     */
+    public long getNextExpiry(long now) {
+        long next = NONE;
+        for (long expiry : expiries) {
+            if (expiry > now && expiry < next) {
+                next = expiry;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @param action The action
+     * @return When the action was last used, as far as its cooldown is concerned
+     */
+    public long getLastUse(Action action) {
+        return expiries[action.ordinal()] - action.getDurationMillis();
+    }
+
+    /**
+     * Sets when an action was last used, which sets when its cooldown ends.
+     * @param action The action
+     * @param lastUse When the action was last used
+     */
+    public void setLastUse(Action action, long lastUse) {
+        version++;
+        expiries[action.ordinal()] = lastUse + action.getDurationMillis();
+    }
+
+    /**
+     * Ends every cooldown.
+     */
+    public void clear() {
+        version++;
+        Arrays.fill(expiries, 0);
+    }
+
+    /**
+     * @return The version, which changes every time a cooldown is started or changed
+     */
+    public long getVersion() { return version; }
+}
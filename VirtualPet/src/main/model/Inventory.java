@@ -1,21 +1,46 @@
 package group33.VirtualPet.src.main.model;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
 
 /**
  * Represents an inventory system for a virtual pet game.
  * Manages two types of items: Food (restores pet's fullness) and Gifts (boosts pet's happiness).
  * Tracks quantities of each item and provides methods for adding/using items.
+ * Quantities are kept in arrays indexed by the {@link ItemCatalog} id of each item.
+ * An Inventory is meant to be used from one thread at a time; use
+ * {@link ConcurrentInventory} when several threads change the same inventory.
+ * Every change to an item is reported to the registered {@link InventoryListener}s.
  *
  * @author Team 33 (Dhir, Kostya, Fatima, Anna)
  * @since Winter 2025 
  *
  */
 public class Inventory {
-    // Separate maps for food and gift items
-    private Map<FoodItem, Integer> foodItems;  // Maps food items to their quantities
-    private Map<GiftItem, Integer> giftItems;  // Maps gift items to their quantities
+    // Separate quantities for food and gift items, indexed by catalog id
+    private final Quantities foodItems;
+    private final Quantities giftItems;
+    private final AtomicLong version = new AtomicLong(); // Bumped on every change, so savers can tell what changed
+    
+    // Read-only views, created once, and snapshots copied only when the version moved
+    private final Map<FoodItem, Integer> foodItemsView;
+    private final Map<GiftItem, Integer> giftItemsView;
+    private volatile Snapshot<FoodItem> foodItemsSnapshot;
+    private volatile Snapshot<GiftItem> giftItemsSnapshot;
+    
+    private final List<InventoryListener> listeners = new CopyOnWriteArrayList<>();
     
     /**
      * Represents a food item that can be fed to pets to increase their fullness.
@@ -24,6 +49,7 @@ public class Inventory {
     public static class FoodItem {
         private String name;          // Name of the food item
         private int fullnessValue;    // How much fullness this item restores
+        int catalogId = -1;           // Cached ItemCatalog id, -1 until first looked up
         
         /**
          * Creates a new FoodItem.
@@ -55,6 +81,9 @@ public class Inventory {
             if (this == obj) return true;
             if (obj == null || getClass() != obj.getClass()) return false;
             FoodItem other = (FoodItem) obj;
+            if (catalogId >= 0 && other.catalogId >= 0) {
+                return catalogId == other.catalogId; // ids are only shared by equal items
+            }
             return name.equals(other.name) && fullnessValue == other.fullnessValue;
         }
         
@@ -75,6 +104,7 @@ public class Inventory {
     public static class GiftItem {
         private String name;          // Name of the gift item
         private int happinessValue;   // How much happiness this item provides
+        int catalogId = -1;           // Cached ItemCatalog id, -1 until first looked up
         
         /**
          * Creates a new GiftItem.
@@ -106,6 +136,9 @@ public class Inventory {
             if (this == obj) return true;
             if (obj == null || getClass() != obj.getClass()) return false;
             GiftItem other = (GiftItem) obj;
+            if (catalogId >= 0 && other.catalogId >= 0) {
+                return catalogId == other.catalogId; // ids are only shared by equal items
+            }
             return name.equals(other.name) && happinessValue == other.happinessValue;
         }
         
@@ -119,6 +152,213 @@ public class Inventory {
         }
     }
     
+    /**
+     * The quantities of one kind of item, by catalog id. An item is present once it
+     * has been added, even if its quantity has since dropped to zero.
+     */
+    abstract static class Quantities {
+        /**
+         * @param id A catalog id
+         * @return The quantity of the item, 0 if it was never added
+         */
+        abstract int get(int id);
+
+        /**
+         * Adds to the quantity of an item, capped at Integer.MAX_VALUE, and marks it present.
+         * @param id A catalog id
+         * @param quantity How many to add, may be negative
+         */
+        abstract void add(int id, int quantity);
+
+        /**
+         * Removes some of an item if at least that many are held.
+         * @param id A catalog id
+         * @param count How many to remove
+         * @return True if they were removed, false if fewer are held
+         */
+        abstract boolean take(int id, int count);
+
+        /**
+         * @param id A catalog id
+         * @return True if the item has been added
+         */
+        abstract boolean isPresent(int id);
+
+        /**
+         * @return A bound on the ids of present items; every present id is lower
+         */
+        abstract int capacity();
+
+        /**
+         * @return The number of present items
+         */
+        abstract int size();
+
+        /**
+         * Removes every item.
+         */
+        abstract void clear();
+
+        static int saturatedAdd(int current, int quantity) {
+            // Check for potential overflow and cap at Integer.MAX_VALUE
+            if (quantity > 0 && current > Integer.MAX_VALUE - quantity) {
+                return Integer.MAX_VALUE;
+            }
+            return current + quantity;
+        }
+    }
+    
+    /**
+     * Quantities in plain arrays, for an inventory used from one thread.
+     */
+    private static class ArrayQuantities extends Quantities {
+        private int[] counts = new int[0];
+        private boolean[] present = new boolean[0];
+        private int size;             // Number of present items
+
+        @Override
+        int get(int id) {
+            return id < counts.length ? counts[id] : 0;
+        }
+
+        @Override
+        void add(int id, int quantity) {
+            if (id >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(id + 1, 2 * counts.length));
+                present = Arrays.copyOf(present, counts.length);
+            }
+            counts[id] = saturatedAdd(counts[id], quantity);
+            if (!present[id]) {
+                present[id] = true;
+                size++;
+            }
+        }
+
+        @Override
+        boolean take(int id, int count) {
+            if (id < counts.length && counts[id] >= count) {
+                counts[id] -= count;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        boolean isPresent(int id) {
+            return id < present.length && present[id];
+        }
+
+        @Override
+        int capacity() {
+            return present.length;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void clear() {
+            Arrays.fill(counts, 0);
+            Arrays.fill(present, false);
+            size = 0;
+        }
+    }
+    
+    /**
+     * A read-only copy of the items of one kind, and the version it was copied at.
+     * @param <T> The item type
+     */
+    private static final class Snapshot<T> {
+        final long version;
+        final Map<T, Integer> items;
+
+        Snapshot(long version, Map<T, Integer> items) {
+            this.version = version;
+            this.items = items;
+        }
+    }
+    
+    /**
+     * A live, read-only map over the quantities of one kind of item. Reading it
+     * allocates nothing but iterators and entries, and it always shows the
+     * current quantities. Looking up one item goes straight to its catalog id
+     * instead of scanning the entries.
+     * @param <T> The item type
+     */
+    private static class ItemsView<T> extends AbstractMap<T, Integer> {
+        private final Quantities quantities;
+        private final Class<T> type;
+        private final IntFunction<T> items;
+        private final ToIntFunction<T> ids;
+        private final Set<Map.Entry<T, Integer>> entries = new AbstractSet<Map.Entry<T, Integer>>() {
+            @Override
+            public Iterator<Map.Entry<T, Integer>> iterator() {
+                return new Iterator<Map.Entry<T, Integer>>() {
+                    private int next = advance(0);
+
+                    private int advance(int from) {
+                        int capacity = quantities.capacity();
+                        while (from < capacity && !quantities.isPresent(from)) {
+                            from++;
+                        }
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < quantities.capacity();
+                    }
+
+                    @Override
+                    public Map.Entry<T, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int id = next;
+                        next = advance(id + 1);
+                        return new AbstractMap.SimpleImmutableEntry<>(items.apply(id), quantities.get(id));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return quantities.size();
+            }
+        };
+
+        ItemsView(Quantities quantities, Class<T> type, IntFunction<T> items, ToIntFunction<T> ids) {
+            this.quantities = quantities;
+            this.type = type;
+            this.items = items;
+            this.ids = ids;
+        }
+
+        @Override
+        public Set<Map.Entry<T, Integer>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            int id = idOf(key);
+            return id >= 0 && quantities.isPresent(id) ? quantities.get(id) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int id = idOf(key);
+            return id >= 0 && quantities.isPresent(id);
+        }
+
+        // The catalog id of a key, or -1 if the key is not an item of this kind
+        private int idOf(Object key) {
+            return type.isInstance(key) ? ids.applyAsInt(type.cast(key)) : -1;
+        }
+    }
+    
     /**
      * Creates a new Inventory with default items.
      * Initializes with:
@@ -126,8 +366,19 @@ public class Inventory {
      * - 4 Balls, 3 Cards, 2 Flowers, 1 Hat (gifts)
      */
     public Inventory() {
-        foodItems = new HashMap<>();
-        giftItems = new HashMap<>();
+        this(new ArrayQuantities(), new ArrayQuantities());
+    }
+    
+    /**
+     * Creates a new Inventory with default items, keeping its quantities in the given storage.
+     * @param foodItems The storage for food quantities
+     * @param giftItems The storage for gift quantities
+     */
+    Inventory(Quantities foodItems, Quantities giftItems) {
+        this.foodItems = foodItems;
+        this.giftItems = giftItems;
+        foodItemsView = new ItemsView<>(foodItems, FoodItem.class, ItemCatalog::food, ItemCatalog::foodId);
+        giftItemsView = new ItemsView<>(giftItems, GiftItem.class, ItemCatalog::gift, ItemCatalog::giftId);
         
         // Initialize with some default items
         initializeDefaultItems();
@@ -138,17 +389,45 @@ public class Inventory {
      * Called automatically during construction.
      */
     private void initializeDefaultItems() {
-        // Default food items
-        foodItems.put(new FoodItem("Apple", 5), 4);
-        foodItems.put(new FoodItem("Smoothie", 10), 3);
-        foodItems.put(new FoodItem("Taco", 20), 2);
-        foodItems.put(new FoodItem("Ramen", 30), 1);
-        
-        // Default gift items
-        giftItems.put(new GiftItem("Ball", 5), 4);
-        giftItems.put(new GiftItem("Cards", 10), 3);
-        giftItems.put(new GiftItem("Flowers", 20), 2);
-        giftItems.put(new GiftItem("Hat", 30), 1);
+        // Default items come from the item catalog's data file
+        for (ItemCatalog.Listing<FoodItem> listing : ItemCatalog.foodListings()) {
+            if (listing.getStartingQuantity() > 0) {
+                putQuantity(foodItems, ItemCatalog.foodId(listing.getItem()), listing.getStartingQuantity());
+            }
+        }
+        for (ItemCatalog.Listing<GiftItem> listing : ItemCatalog.giftListings()) {
+            if (listing.getStartingQuantity() > 0) {
+                putQuantity(giftItems, ItemCatalog.giftId(listing.getItem()), listing.getStartingQuantity());
+            }
+        }
+    }
+    
+    /**
+     * Removes every item from the inventory, including the default ones.
+     */
+    public void clear() {
+        int[] removedFood = listeners.isEmpty() ? new int[0] : presentIds(foodItems);
+        int[] removedGifts = listeners.isEmpty() ? new int[0] : presentIds(giftItems);
+        foodItems.clear();
+        giftItems.clear();
+        version.incrementAndGet();
+        for (int id : removedFood) {
+            foodChanged(InventoryEvent.Type.ITEM_REMOVED, id);
+        }
+        for (int id : removedGifts) {
+            giftChanged(InventoryEvent.Type.ITEM_REMOVED, id);
+        }
+    }
+    
+    private static int[] presentIds(Quantities quantities) {
+        int[] ids = new int[quantities.size()];
+        int count = 0;
+        for (int id = 0; id < quantities.capacity() && count < ids.length; id++) {
+            if (quantities.isPresent(id)) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.copyOf(ids, count);
     }
     
     /**
@@ -158,14 +437,12 @@ public class Inventory {
      * @param quantity How many of this item to add
      */
     public void addFoodItem(FoodItem item, int quantity) {
-        Integer currentQuantity = foodItems.getOrDefault(item, 0);
-        // Check for potential overflow and cap at Integer.MAX_VALUE
-        if (quantity > 0 && currentQuantity > Integer.MAX_VALUE - quantity) {
-            foodItems.put(item, Integer.MAX_VALUE);
-        } else {
-            foodItems.merge(item, quantity, Integer::sum);
-        }
+        int id = ItemCatalog.foodId(item);
+        InventoryEvent.Type type = putQuantity(foodItems, id, quantity);
+        version.incrementAndGet();
+        foodChanged(type, id);
     }
+    
     /**
      * Adds gift items to the inventory.
      * If the item already exists, increases its quantity.
@@ -173,21 +450,97 @@ public class Inventory {
      * @param quantity How many of this item to add
      */
     public void addGiftItem(GiftItem item, int quantity) {
-        Integer currentQuantity = giftItems.getOrDefault(item, 0);
-        // Check for potential overflow and cap at Integer.MAX_VALUE
-        if (quantity > 0 && currentQuantity > Integer.MAX_VALUE - quantity) {
-            giftItems.put(item, Integer.MAX_VALUE);
-        } else {
-            giftItems.merge(item, quantity, Integer::sum);
+        int id = ItemCatalog.giftId(item);
+        InventoryEvent.Type type = putQuantity(giftItems, id, quantity);
+        version.incrementAndGet();
+        giftChanged(type, id);
+    }
+    
+    // Adds to a quantity without bumping the version. Callers bump it once their change has landed,
+    // so a copy taken at the old version is never kept as current.
+    private static InventoryEvent.Type putQuantity(Quantities quantities, int id, int quantity) {
+        boolean added = !quantities.isPresent(id);
+        quantities.add(id, quantity);
+        return added ? InventoryEvent.Type.ITEM_ADDED : InventoryEvent.Type.QUANTITY_CHANGED;
+    }
+    
+    /**
+     * Applies a batch of quantity changes as one change, for {@link InventoryTransaction}.
+     * Either every change is applied or, if an item would drop below zero, none is.
+     * @param foodChanges Quantity changes per food item, negative for items used up
+     * @param giftChanges Quantity changes per gift item, negative for items used up
+     * @return True if the changes were applied, false if the inventory holds too few items
+     */
+    boolean applyChanges(Map<FoodItem, Integer> foodChanges, Map<GiftItem, Integer> giftChanges) {
+        // Take the items used first, so a shortage can be undone before anything is added
+        if (!takeAll(foodItems, foodChanges, ItemCatalog::foodId)) {
+            return false;
+        }
+        if (!takeAll(giftItems, giftChanges, ItemCatalog::giftId)) {
+            giveBack(foodItems, foodChanges, ItemCatalog::foodId, null);
+            return false;
+        }
+        InventoryEvent.Type[] foodTypes = putAll(foodItems, foodChanges, ItemCatalog::foodId);
+        InventoryEvent.Type[] giftTypes = putAll(giftItems, giftChanges, ItemCatalog::giftId);
+        version.incrementAndGet();
+        
+        int change = 0;
+        for (FoodItem item : foodChanges.keySet()) {
+            foodChanged(foodTypes[change++], ItemCatalog.foodId(item));
+        }
+        change = 0;
+        for (GiftItem item : giftChanges.keySet()) {
+            giftChanged(giftTypes[change++], ItemCatalog.giftId(item));
         }
+        return true;
     }
+    
+    // Adds the items gained, and gives the event type of every change in the map's order
+    private static <T> InventoryEvent.Type[] putAll(Quantities quantities, Map<T, Integer> changes, ToIntFunction<T> ids) {
+        InventoryEvent.Type[] types = new InventoryEvent.Type[changes.size()];
+        int change = 0;
+        for (Map.Entry<T, Integer> entry : changes.entrySet()) {
+            types[change++] = entry.getValue() >= 0
+                ? putQuantity(quantities, ids.applyAsInt(entry.getKey()), entry.getValue())
+                : InventoryEvent.Type.QUANTITY_CHANGED;
+        }
+        return types;
+    }
+    
+    private static <T> boolean takeAll(Quantities quantities, Map<T, Integer> changes, ToIntFunction<T> ids) {
+        for (Map.Entry<T, Integer> change : changes.entrySet()) {
+            if (change.getValue() < 0 && !quantities.take(ids.applyAsInt(change.getKey()), -change.getValue())) {
+                giveBack(quantities, changes, ids, change.getKey());
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Puts back the items taken for the changes before the given one, or for all changes if it is null
+    private static <T> void giveBack(Quantities quantities, Map<T, Integer> changes, ToIntFunction<T> ids, T failed) {
+        for (Map.Entry<T, Integer> change : changes.entrySet()) {
+            if (change.getKey() == failed) {
+                return;
+            }
+            if (change.getValue() < 0) {
+                quantities.add(ids.applyAsInt(change.getKey()), -change.getValue());
+            }
+        }
+    }
+    
     /**
      * Attempts to use one food item from inventory.
      * @param item The food item to use
      * @return True if item was available and used, false otherwise
      */
     public boolean useFoodItem(FoodItem item) {
-        return useItem(foodItems, item);
+        int id = ItemCatalog.foodId(item);
+        if (useItem(foodItems, id)) {
+            foodChanged(InventoryEvent.Type.QUANTITY_CHANGED, id);
+            return true;
+        }
+        return false;
     }
     
     /**
@@ -196,31 +549,126 @@ public class Inventory {
      * @return True if item was available and used, false otherwise
      */
     public boolean useGiftItem(GiftItem item) {
-        return useItem(giftItems, item);
+        int id = ItemCatalog.giftId(item);
+        if (useItem(giftItems, id)) {
+            giftChanged(InventoryEvent.Type.QUANTITY_CHANGED, id);
+            return true;
+        }
+        return false;
     }
     
     /**
-     * Helper method to use an item from a specified inventory map.
-     * @param <T> The type of item (FoodItem or GiftItem)
-     * @param itemMap The inventory map to use the item from
-     * @param item The item to use
+     * Helper method to use an item from the quantities of one kind of item.
+     * @param quantities The quantities to use the item from
+     * @param id The catalog id of the item to use
      * @return True if item was available and used, false otherwise
      */
-    private <T> boolean useItem(Map<T, Integer> itemMap, T item) {
-        Integer currentQuantity = itemMap.getOrDefault(item, 0);
-        if (currentQuantity > 0) {
-            itemMap.put(item, currentQuantity - 1);
+    private boolean useItem(Quantities quantities, int id) {
+        if (quantities.take(id, 1)) {
+            version.incrementAndGet();
             return true;
         }
         return false;
     }
     
+    /**
+     * Gets how many of a food item the inventory holds.
+     * @param item The food item
+     * @return The quantity, 0 if the item was never added
+     */
+    public int getFoodQuantity(FoodItem item) {
+        return foodItems.get(ItemCatalog.foodId(item));
+    }
+    
+    /**
+     * Gets how many of a gift item the inventory holds.
+     * @param item The gift item
+     * @return The quantity, 0 if the item was never added
+     */
+    public int getGiftQuantity(GiftItem item) {
+        return giftItems.get(ItemCatalog.giftId(item));
+    }
+    
+    /**
+     * Finds a food item in the inventory by name, ignoring case, without scanning the inventory.
+     * If several food items share the name, the one first added to the catalog is returned.
+     * @param name The name of the food item
+     * @return The food item, or null if the inventory holds none with that name
+     */
+    public FoodItem findFoodItem(String name) {
+        ItemCatalog.IdList ids = ItemCatalog.foodIdsNamed(name);
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            if (foodItems.isPresent(id)) {
+                return ItemCatalog.food(id);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds a gift item in the inventory by name, ignoring case, without scanning the inventory.
+     * If several gift items share the name, the one first added to the catalog is returned.
+     * @param name The name of the gift item
+     * @return The gift item, or null if the inventory holds none with that name
+     */
+    public GiftItem findGiftItem(String name) {
+        ItemCatalog.IdList ids = ItemCatalog.giftIdsNamed(name);
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            if (giftItems.isPresent(id)) {
+                return ItemCatalog.gift(id);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Registers a listener to be told about every item that changes.
+     * @param listener The listener to add
+     */
+    public void addInventoryListener(InventoryListener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * Stops telling a listener about changes.
+     * @param listener The listener to remove
+     */
+    public void removeInventoryListener(InventoryListener listener) {
+        listeners.remove(listener);
+    }
+    
+    private void foodChanged(InventoryEvent.Type type, int id) {
+        if (!listeners.isEmpty()) {
+            fire(new InventoryEvent(this, type, ItemCatalog.food(id), null, foodItems.get(id)));
+        }
+    }
+    
+    private void giftChanged(InventoryEvent.Type type, int id) {
+        if (!listeners.isEmpty()) {
+            fire(new InventoryEvent(this, type, null, ItemCatalog.gift(id), giftItems.get(id)));
+        }
+    }
+    
+    private void fire(InventoryEvent event) {
+        for (InventoryListener listener : listeners) {
+            listener.inventoryChanged(event);
+        }
+    }
+    
+    /**
+     * Gets the inventory's version, which changes every time an item is added or used.
+     * @return The version
+     */
+    public long getVersion() { return version.get(); }
+    
     /**
      * Gets a copy of all food items in inventory and their quantities.
      * @return A new Map containing all food items and their counts
      */
     public Map<FoodItem, Integer> getFoodItems() {
-        return new HashMap<>(foodItems);
+        return new HashMap<>(foodItemsView);
     }
     
     /**
@@ -228,6 +676,58 @@ public class Inventory {
      * @return A new Map containing all gift items and their counts
      */
     public Map<GiftItem, Integer> getGiftItems() {
-        return new HashMap<>(giftItems);
+        return new HashMap<>(giftItemsView);
+    }
+    
+    /**
+     * Gets a live, read-only view of the food items in inventory and their quantities.
+     * The view always shows the current quantities and is not copied, so it must not
+     * be iterated while the inventory changes.
+     * @return A read-only Map of all food items and their counts
+     */
+    public Map<FoodItem, Integer> getFoodItemsView() {
+        return foodItemsView;
+    }
+    
+    /**
+     * Gets a live, read-only view of the gift items in inventory and their quantities.
+     * The view always shows the current quantities and is not copied, so it must not
+     * be iterated while the inventory changes.
+     * @return A read-only Map of all gift items and their counts
+     */
+    public Map<GiftItem, Integer> getGiftItemsView() {
+        return giftItemsView;
+    }
+    
+    /**
+     * Gets a read-only copy of the food items in inventory and their quantities.
+     * The copy is shared by callers until the inventory changes, so it is only
+     * made again after an item is added or used.
+     * @return A read-only Map of all food items and their counts at this version
+     */
+    public Map<FoodItem, Integer> getFoodItemsSnapshot() {
+        Snapshot<FoodItem> snapshot = foodItemsSnapshot;
+        long current = version.get();
+        if (snapshot == null || snapshot.version != current) {
+            snapshot = new Snapshot<>(current, Collections.unmodifiableMap(new HashMap<>(foodItemsView)));
+            foodItemsSnapshot = snapshot;
+        }
+        return snapshot.items;
+    }
+    
+    /**
+     * Gets a read-only copy of the gift items in inventory and their quantities.
+     * The copy is shared by callers until the inventory changes, so it is only
+     * made again after an item is added or used.
+     * @return A read-only Map of all gift items and their counts at this version
+     */
+    public Map<GiftItem, Integer> getGiftItemsSnapshot() {
+        Snapshot<GiftItem> snapshot = giftItemsSnapshot;
+        long current = version.get();
+        if (snapshot == null || snapshot.version != current) {
+            snapshot = new Snapshot<>(current, Collections.unmodifiableMap(new HashMap<>(giftItemsView)));
+            giftItemsSnapshot = snapshot;
+        }
+        return snapshot.items;
     }
-}
\ No newline at end of file
+}
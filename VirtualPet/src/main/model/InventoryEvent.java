@@ -0,0 +1,80 @@
+package group33.VirtualPet.src.main.model;
+
+import java.util.EventObject;
+
+/**
+ * A change to one item of an inventory, sent to {@link InventoryListener}s.
+ * An event names the item that changed, what happened to it and the quantity
+ * it was left with, so a listener can update just that item. Exactly one of
+ * {@link #getFoodItem()} and {@link #getGiftItem()} is set.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class InventoryEvent extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * What happened to the item.
+     */
+    public enum Type {
+        /** The item is new to the inventory */
+        ITEM_ADDED,
+        /** The quantity of an item already in the inventory changed */
+        QUANTITY_CHANGED,
+        /** The item was taken out of the inventory */
+        ITEM_REMOVED
+    }
+
+    private final Type type;
+    private final Inventory.FoodItem foodItem;
+    private final Inventory.GiftItem giftItem;
+    private final int quantity;
+
+    /**
+     * Creates an inventory event.
+     * @param inventory The inventory that changed
+     * @param type What happened to the item
+     * @param foodItem The food item that changed, or null for a gift item
+     * @param giftItem The gift item that changed, or null for a food item
+     * @param quantity The quantity of the item after the change
+     */
+    public InventoryEvent(Inventory inventory, Type type, Inventory.FoodItem foodItem,
+                          Inventory.GiftItem giftItem, int quantity) {
+        super(inventory);
+        this.type = type;
+        this.foodItem = foodItem;
+        this.giftItem = giftItem;
+        this.quantity = quantity;
+    }
+
+    /**
+     * @return The inventory that changed
+     */
+    public Inventory getInventory() { return (Inventory) getSource(); }
+
+    /**
+     * @return What happened to the item
+     */
+    public Type getType() { return type; }
+
+    /**
+     * @return True if the item is a food item, false if it is a gift item
+     */
+    public boolean isFood() { return foodItem != null; }
+
+    /**
+     * @return The food item that changed, or null if a gift item changed
+     */
+    public Inventory.FoodItem getFoodItem() { return foodItem; }
+
+    /**
+     * @return The gift item that changed, or null if a food item changed
+     */
+    public Inventory.GiftItem getGiftItem() { return giftItem; }
+
+    /**
+     * @return The quantity of the item after the change
+     */
+    public int getQuantity() { return quantity; }
+}
@@ -0,0 +1,20 @@
+package group33.VirtualPet.src.main.model;
+
+import java.util.EventListener;
+
+/**
+ * Receives a call for every item that changes in an inventory.
+ * Listeners are called on the thread that changed the inventory, after the
+ * change is made.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public interface InventoryListener extends EventListener {
+
+    /**
+     * Called after an item was added, changed its quantity or was removed.
+     * @param event The change
+     */
+    void inventoryChanged(InventoryEvent event);
+}
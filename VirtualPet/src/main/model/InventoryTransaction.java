@@ -0,0 +1,163 @@
+package group33.VirtualPet.src.main.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A batch of purchases and item uses applied to a player as one unit.
+ * Steps are collected with the builder methods and nothing changes until
+ * {@link #commit()}, which applies every step or none of them. For example,
+ * buying 5 Tacos for 200 points and using 2 Apples either happens completely
+ * or, if the player can't pay or holds too few Apples, not at all.
+ * <p>
+ * A committed batch is one change to the inventory, one change to the score and
+ * at most one feeding and one gift for the pet, however many steps it has, so
+ * screens refresh and autosaves write once per batch. Items bought in a batch
+ * can be used in the same batch. Like the rest of the model, a transaction is
+ * meant to be used on the thread that updates the player.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class InventoryTransaction {
+    private final Player player;
+    private final Map<Inventory.FoodItem, Integer> foodChanges = new LinkedHashMap<>();
+    private final Map<Inventory.GiftItem, Integer> giftChanges = new LinkedHashMap<>();
+    private long cost;                // Points spent on purchases
+    private long reward;              // Points earned by the batch
+    private long fullness;            // Fullness given to the pet by the food used
+    private long happiness;           // Happiness given to the pet by the gifts used
+    private boolean foodUsed;
+    private boolean giftUsed;
+    private boolean committed;
+
+    /**
+     * Starts an empty transaction.
+     * @param player The player whose score, inventory and pet the transaction changes
+     */
+    public InventoryTransaction(Player player) {
+        if (player == null) {
+            throw new IllegalArgumentException("Player cannot be null");
+        }
+        this.player = player;
+    }
+
+    /**
+     * Adds a purchase of food items.
+     * @param item The food item to buy
+     * @param quantity How many to buy
+     * @param unitPrice The price of one item, in score points
+     * @return This transaction
+     */
+    public InventoryTransaction buyFood(Inventory.FoodItem item, int quantity, int unitPrice) {
+        checkStep(quantity, unitPrice);
+        foodChanges.merge(ItemCatalog.intern(item), quantity, Integer::sum);
+        cost += (long) quantity * unitPrice;
+        return this;
+    }
+
+    /**
+     * Adds a purchase of gift items.
+     * @param item The gift item to buy
+     * @param quantity How many to buy
+     * @param unitPrice The price of one item, in score points
+     * @return This transaction
+     */
+    public InventoryTransaction buyGift(Inventory.GiftItem item, int quantity, int unitPrice) {
+        checkStep(quantity, unitPrice);
+        giftChanges.merge(ItemCatalog.intern(item), quantity, Integer::sum);
+        cost += (long) quantity * unitPrice;
+        return this;
+    }
+
+    /**
+     * Adds feeding food items to the current pet.
+     * @param item The food item to use
+     * @param quantity How many to use
+     * @return This transaction
+     */
+    public InventoryTransaction useFood(Inventory.FoodItem item, int quantity) {
+        checkStep(quantity, 0);
+        foodChanges.merge(ItemCatalog.intern(item), -quantity, Integer::sum);
+        fullness += (long) quantity * item.getFullnessValue();
+        foodUsed = true;
+        return this;
+    }
+
+    /**
+     * Adds giving gift items to the current pet.
+     * @param item The gift item to use
+     * @param quantity How many to use
+     * @return This transaction
+     */
+    public InventoryTransaction useGift(Inventory.GiftItem item, int quantity) {
+        checkStep(quantity, 0);
+        giftChanges.merge(ItemCatalog.intern(item), -quantity, Integer::sum);
+        happiness += (long) quantity * item.getHappinessValue();
+        giftUsed = true;
+        return this;
+    }
+
+    /**
+     * Adds points to the player's score when the transaction is applied.
+     * @param points The points earned
+     * @return This transaction
+     */
+    public InventoryTransaction addScore(int points) {
+        if (points < 0) {
+            throw new IllegalArgumentException("Points earned cannot be negative");
+        }
+        reward += points;
+        return this;
+    }
+
+    /**
+     * @return The total price of the purchases in this transaction
+     */
+    public long getCost() { return cost; }
+
+    /**
+     * Applies every step of the transaction, or none of them if the player can't
+     * pay for the purchases, holds too few of an item being used, or has no pet
+     * to use items on. A transaction can only be committed once.
+     * @return True if the transaction was applied, false if nothing changed
+     */
+    public boolean commit() {
+        if (committed) {
+            throw new IllegalStateException("Transaction was already committed");
+        }
+        committed = true;
+
+        long newScore = player.getScore() - cost + reward;
+        Pet pet = player.getCurrentPet();
+        if (newScore < 0 || ((foodUsed || giftUsed) && pet == null)) {
+            return false;
+        }
+        if (!player.getInventory().applyChanges(foodChanges, giftChanges)) {
+            return false;
+        }
+
+        if (cost != 0 || reward != 0) {
+            player.setScore((int) Math.min(newScore, Integer.MAX_VALUE));
+        }
+        if (foodUsed) {
+            pet.feed((int) Math.min(fullness, Integer.MAX_VALUE));
+        }
+        if (giftUsed) {
+            pet.giveGift((int) Math.min(happiness, Integer.MAX_VALUE));
+        }
+        return true;
+    }
+
+    private void checkStep(int quantity, int unitPrice) {
+        if (committed) {
+            throw new IllegalStateException("Transaction was already committed");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (unitPrice < 0) {
+            throw new IllegalArgumentException("Price cannot be negative");
+        }
+    }
+}
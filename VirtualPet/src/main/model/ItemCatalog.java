@@ -0,0 +1,421 @@
+package group33.VirtualPet.src.main.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Gives every distinct food and gift item a small integer id, so inventories
+ * can keep their quantities in plain {@code int} arrays indexed by id.
+ * <p>
+ * Ids are handed out in order of first use, starting at 0, separately for food
+ * and for gifts, and never change while the game runs. Two items that are
+ * {@code equals} share an id. Each item object remembers its id after the first
+ * lookup, so later lookups don't hash the item at all. Items can also be looked
+ * up by name, ignoring case, without scanning.
+ * <p>
+ * The catalog also holds the canonical instance of every item. Items bought in
+ * the shop are interned with {@link #food(String, int)} and
+ * {@link #gift(String, int)}, so equal items are the same object and comparing
+ * them is an identity check. Ids are never reclaimed, so items read from saves
+ * are looked up with {@link #listedFood(String, int)} and
+ * {@link #listedGift(String, int)} instead, which only accept items on sale. The items on sale, their prices and the quantities
+ * a new inventory starts with are loaded once from {@value #ITEMS_RESOURCE}, by
+ * {@link #load()} when the game starts or else the first time they are needed.
+ * If that file is missing or broken the game can't run, so an
+ * {@link IllegalStateException} is thrown, again on every later attempt.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class ItemCatalog {
+    /** Classpath location of the item definitions */
+    public static final String ITEMS_RESOURCE = "group33/VirtualPet/assets/data/items.csv";
+
+    static final String FOOD_KIND = "Food";
+    static final String GIFT_KIND = "Gift";
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final Registry<Inventory.FoodItem> FOOD = new Registry<>(Inventory.FoodItem::getName);
+    private static final Registry<Inventory.GiftItem> GIFTS = new Registry<>(Inventory.GiftItem::getName);
+
+    private static volatile Definitions definitions;
+
+    /**
+     * An item on sale, with its price and how many a new inventory starts with.
+     * @param <T> The item type
+     */
+    public static final class Listing<T> {
+        private final T item;
+        private final int price;
+        private final int startingQuantity;
+
+        Listing(T item, int price, int startingQuantity) {
+            this.item = item;
+            this.price = price;
+            this.startingQuantity = startingQuantity;
+        }
+
+        /**
+         * @return The canonical item
+         */
+        public T getItem() { return item; }
+
+        /**
+         * @return The price of one item, in score points
+         */
+        public int getPrice() { return price; }
+
+        /**
+         * @return How many of the item a new inventory starts with
+         */
+        public int getStartingQuantity() { return startingQuantity; }
+    }
+
+    /**
+     * The items on sale, as read from the data file.
+     */
+    private static final class Definitions {
+        final List<Listing<Inventory.FoodItem>> foodListings = new ArrayList<>();
+        final List<Listing<Inventory.GiftItem>> giftListings = new ArrayList<>();
+
+        static Definitions read() {
+            Definitions definitions = new Definitions();
+            try (InputStream in = ItemCatalog.class.getClassLoader().getResourceAsStream(ITEMS_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing item definitions " + ITEMS_RESOURCE
+                        + "; the folder holding group33/ must be on the classpath");
+                }
+                definitions.parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Could not load " + ITEMS_RESOURCE + ": " + e.getMessage(), e);
+            }
+            if (definitions.foodListings.isEmpty() && definitions.giftListings.isEmpty()) {
+                throw new IllegalStateException(ITEMS_RESOURCE + " has no items");
+            }
+            return definitions;
+        }
+
+        private void parse(Reader reader) throws IOException {
+            BufferedReader lines = new BufferedReader(reader);
+            String line = lines.readLine(); // header
+            while ((line = lines.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 5) {
+                    throw new IOException("Bad item definition: " + line);
+                }
+                String name = fields[1].trim();
+                int value = Integer.parseInt(fields[2].trim());
+                int price = Integer.parseInt(fields[3].trim());
+                int startingQuantity = Integer.parseInt(fields[4].trim());
+                switch (fields[0].trim()) {
+                    case FOOD_KIND:
+                        foodListings.add(new Listing<>(food(name, value), price, startingQuantity));
+                        break;
+                    case GIFT_KIND:
+                        giftListings.add(new Listing<>(gift(name, value), price, startingQuantity));
+                        break;
+                    default:
+                        throw new IOException("Unknown item kind: " + fields[0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The ids of the items sharing a name, in the order they were added.
+     * Adding an id returns a new list that may share this list's array, writing
+     * only past this list's size, so a list never changes once it is published.
+     */
+    static final class IdList {
+        static final IdList EMPTY = new IdList(new int[0], 0);
+
+        private final int[] ids;
+        private final int size;
+
+        private IdList(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        /**
+         * @return The number of ids in the list
+         */
+        int size() { return size; }
+
+        /**
+         * @param index The position in the list, below {@link #size()}
+         * @return The id at that position
+         */
+        int get(int index) { return ids[index]; }
+
+        private IdList with(int id) {
+            int[] grown = size < ids.length ? ids : Arrays.copyOf(ids, Math.max(2, size * 2));
+            grown[size] = id;
+            return new IdList(grown, size + 1);
+        }
+    }
+
+    /**
+     * The items of one kind, by id.
+     * @param <T> The item type
+     */
+    private static class Registry<T> {
+        private final Map<T, Integer> ids = new ConcurrentHashMap<>();
+        // Doubled when full; a slot is filled before its id is published in ids, so lookups never lock
+        private volatile Object[] items = new Object[INITIAL_CAPACITY];
+        private volatile int size;
+        // Ids by case-folded name; items with the same name and different values share a key
+        private final Map<String, IdList> idsByName = new ConcurrentHashMap<>();
+        private final Function<T, String> names;
+
+        Registry(Function<T, String> names) {
+            this.names = names;
+        }
+
+        int idOf(T item) {
+            Integer id = ids.get(item);
+            if (id != null) {
+                return id;
+            }
+            synchronized (this) {
+                id = ids.get(item);
+                if (id == null) {
+                    id = size;
+                    Object[] slots = items;
+                    if (id == slots.length) {
+                        slots = Arrays.copyOf(slots, slots.length * 2);
+                        items = slots;
+                    }
+                    slots[id] = item;
+                    size = id + 1;
+                    ids.put(item, id);
+                    String name = fold(names.apply(item));
+                    idsByName.put(name, idsByName.getOrDefault(name, IdList.EMPTY).with(id));
+                }
+                return id;
+            }
+        }
+
+        IdList idsNamed(String name) {
+            return idsByName.getOrDefault(fold(name), IdList.EMPTY);
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int id) {
+            return (T) items[id];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private ItemCatalog() {}
+
+    /**
+     * Loads the item definitions if they aren't loaded yet. Called when the game
+     * starts, so a missing data file is reported before any screen opens.
+     * @throws IllegalStateException If {@value #ITEMS_RESOURCE} is missing or broken
+     */
+    public static void load() {
+        definitions();
+    }
+
+    private static Definitions definitions() {
+        Definitions loaded = definitions;
+        if (loaded == null) {
+            synchronized (ItemCatalog.class) {
+                loaded = definitions;
+                if (loaded == null) {
+                    loaded = Definitions.read();
+                    definitions = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the id of a food item, giving it the next free id if it is new.
+     * @param item The food item
+     * @return The item's id
+     */
+    public static int foodId(Inventory.FoodItem item) {
+        int id = item.catalogId;
+        if (id < 0) {
+            id = FOOD.idOf(item);
+            item.catalogId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the id of a gift item, giving it the next free id if it is new.
+     * @param item The gift item
+     * @return The item's id
+     */
+    public static int giftId(Inventory.GiftItem item) {
+        int id = item.catalogId;
+        if (id < 0) {
+            id = GIFTS.idOf(item);
+            item.catalogId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the canonical instance of a food item, adding it to the catalog if it is new.
+     * @param name The name of the food item
+     * @param fullnessValue How much fullness the item restores
+     * @return The one shared instance of that item
+     */
+    public static Inventory.FoodItem food(String name, int fullnessValue) {
+        return intern(new Inventory.FoodItem(name, fullnessValue));
+    }
+
+    /**
+     * Gets the canonical instance of a gift item, adding it to the catalog if it is new.
+     * @param name The name of the gift item
+     * @param happinessValue How much happiness the item provides
+     * @return The one shared instance of that item
+     */
+    public static Inventory.GiftItem gift(String name, int happinessValue) {
+        return intern(new Inventory.GiftItem(name, happinessValue));
+    }
+
+    /**
+     * Gets the canonical instance of a food item equal to the given one.
+     * @param item The food item
+     * @return The one shared instance of that item
+     */
+    public static Inventory.FoodItem intern(Inventory.FoodItem item) {
+        return FOOD.get(foodId(item));
+    }
+
+    /**
+     * Gets the canonical instance of a gift item equal to the given one.
+     * @param item The gift item
+     * @return The one shared instance of that item
+     */
+    public static Inventory.GiftItem intern(Inventory.GiftItem item) {
+        return GIFTS.get(giftId(item));
+    }
+
+    /**
+     * Gets the food items on sale, in the order of the data file.
+     * @return The food listings, read-only
+     */
+    public static List<Listing<Inventory.FoodItem>> foodListings() {
+        return Collections.unmodifiableList(definitions().foodListings);
+    }
+
+    /**
+     * Gets the gift items on sale, in the order of the data file.
+     * @return The gift listings, read-only
+     */
+    public static List<Listing<Inventory.GiftItem>> giftListings() {
+        return Collections.unmodifiableList(definitions().giftListings);
+    }
+
+    /**
+     * Gets the food item on sale with a name and fullness value, without adding
+     * anything to the catalog.
+     * @param name The name of the food item
+     * @param fullnessValue How much fullness the item restores
+     * @return The canonical item, or null if no such food item is on sale
+     */
+    public static Inventory.FoodItem listedFood(String name, int fullnessValue) {
+        Inventory.FoodItem wanted = new Inventory.FoodItem(name, fullnessValue);
+        for (Listing<Inventory.FoodItem> listing : definitions().foodListings) {
+            if (listing.getItem().equals(wanted)) {
+                return listing.getItem();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the gift item on sale with a name and happiness value, without adding
+     * anything to the catalog.
+     * @param name The name of the gift item
+     * @param happinessValue How much happiness the item provides
+     * @return The canonical item, or null if no such gift item is on sale
+     */
+    public static Inventory.GiftItem listedGift(String name, int happinessValue) {
+        Inventory.GiftItem wanted = new Inventory.GiftItem(name, happinessValue);
+        for (Listing<Inventory.GiftItem> listing : definitions().giftListings) {
+            if (listing.getItem().equals(wanted)) {
+                return listing.getItem();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the ids of the food items with a name, ignoring case.
+     * @param name The name to look up
+     * @return The ids in the order the items were added, empty if there are none
+     */
+    static IdList foodIdsNamed(String name) {
+        return FOOD.idsNamed(name);
+    }
+
+    /**
+     * Gets the ids of the gift items with a name, ignoring case.
+     * @param name The name to look up
+     * @return The ids in the order the items were added, empty if there are none
+     */
+    static IdList giftIdsNamed(String name) {
+        return GIFTS.idsNamed(name);
+    }
+
+    /**
+     * @param id A food item id
+     * @return The food item with that id
+     */
+    public static Inventory.FoodItem food(int id) {
+        return FOOD.get(id);
+    }
+
+    /**
+     * @param id A gift item id
+     * @return The gift item with that id
+     */
+    public static Inventory.GiftItem gift(int id) {
+        return GIFTS.get(id);
+    }
+
+    /**
+     * @return The number of food items given an id so far
+     */
+    public static int foodCount() {
+        return FOOD.size();
+    }
+
+    /**
+     * @return The number of gift items given an id so far
+     */
+    public static int giftCount() {
+        return GIFTS.size();
+    }
+}
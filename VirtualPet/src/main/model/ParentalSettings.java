@@ -61,6 +61,21 @@ public class ParentalSettings implements Serializable {
         lastSessionEnd = null;
     }
     
+    /**
+     * Constructs a copy of existing settings.
+     * @param other The settings to copy
+     */
+    public ParentalSettings(ParentalSettings other) {
+        timeRestrictionEnabled = other.timeRestrictionEnabled;
+        allowedStartTime = other.allowedStartTime;
+        allowedEndTime = other.allowedEndTime;
+        totalPlayTime = other.totalPlayTime;
+        totalSessionTime = other.totalSessionTime;
+        sessionCount = other.sessionCount;
+        lastSessionStart = other.lastSessionStart;
+        lastSessionEnd = other.lastSessionEnd;
+    }
+    
     /**
      * Checks if time restrictions are enabled.
      * @return true if time restrictions are active
@@ -161,6 +176,36 @@ public class ParentalSettings implements Serializable {
         }
     }
     
+    /**
+     * Restores the session statistics read from saved settings in one step.
+     * @param totalPlayTime The total accumulated play time
+     * @param totalSessionTime The total time of all counted sessions
+     * @param sessionCount The number of completed sessions
+     */
+    public void restoreSessionStatistics(Duration totalPlayTime, Duration totalSessionTime, int sessionCount) {
+        this.totalPlayTime = totalPlayTime;
+        this.totalSessionTime = totalSessionTime;
+        this.sessionCount = Math.max(0, sessionCount);
+    }
+    
+    /**
+     * Restores the start of the current session and the end of the last one from saved settings.
+     * @param lastSessionStart When the current session started, or null if none is running
+     * @param lastSessionEnd When the last session ended, or null if none has ended
+     */
+    public void restoreSessionTimes(LocalDateTime lastSessionStart, LocalDateTime lastSessionEnd) {
+        this.lastSessionStart = lastSessionStart;
+        this.lastSessionEnd = lastSessionEnd;
+    }
+    
+    /**
+     * Gets the total time of all counted sessions.
+     * @return The sum of all session durations
+     */
+    public Duration getTotalSessionTime() {
+        return totalSessionTime;
+    }
+    
     /**
      * Calculates the average session duration.
      * @return Average duration or ZERO if no sessions recorded
@@ -39,6 +39,9 @@ public class Pet {
     private boolean isHungry;
     private boolean isAngry;
     
+    // Bumped on every change, so savers can tell whether the pet changed since they last looked
+    private long version;
+    
     /**
      * Enum representing different types of pets with their base statistics.
      * Each type has unique maximum values and decline rates for its attributes.
@@ -142,6 +145,7 @@ public class Pet {
      * Does nothing if the pet is dead or sleeping.
      */
     public void updateStatistics() {
+        version++;
         if (isDead || isSleeping) return;
         
         // Decline statistics
@@ -169,6 +173,7 @@ public class Pet {
      * Applies penalties if fullness is gone.
      */
     public void checkFullnessState() {
+        version++;
         if (fullness <= 0) {
             isHungry = true;
             // Faster happiness decline when hungry
@@ -184,6 +189,7 @@ public class Pet {
      * Checks the pet's happiness state and updates anger status.
      */
     public void checkHappinessState() {
+        version++;
         if (happiness <= 0) {
             isAngry = true;
         } else {
@@ -195,6 +201,7 @@ public class Pet {
      * Checks the pet's health state and updates death status.
      */
     public void checkHealthState() {
+        version++;
         if (health <= 0) {
             isDead = true;
         }
@@ -207,6 +214,7 @@ public class Pet {
      * @param foodValue The amount to increase fullness by
      */
     public void feed(int foodValue) {
+        version++;
         if (isDead || isSleeping) return;
         
         fullness = Math.min(maxFullness, fullness + foodValue);
@@ -221,6 +229,7 @@ public class Pet {
      * @param giftValue The amount to increase happiness by
      */
     public void giveGift(int giftValue) {
+        version++;
         if (isDead || isSleeping) return;
         
         happiness = Math.min(maxHappiness, happiness + giftValue);
@@ -232,6 +241,7 @@ public class Pet {
      * Has no effect if the pet is dead.
      */
     public void sleep() {
+        version++;
         if (isDead) return;
         
         this.isSleeping = true;
@@ -242,6 +252,7 @@ public class Pet {
      * Has no effect if the pet is dead.
      */
     public void wakeUp() {
+        version++;
         if (isDead) return;
         
         sleep = maxSleep;
@@ -254,6 +265,7 @@ public class Pet {
      * Has no effect if the pet is dead or sleeping.
      */
     public void exercise() {
+        version++;
         if (isDead || isSleeping) return;
         
         // Reduce sleepiness and hunger, increase health
@@ -267,6 +279,7 @@ public class Pet {
      * Has no effect if the pet is dead or sleeping.
      */
     public void takeToVet() {
+        version++;
         if (isDead || isSleeping) return;
         
         health = Math.min(maxHealth, health + 20);
@@ -333,12 +346,19 @@ public class Pet {
      */
     public PetType getType() { return type; }
 
+    /**
+     * Gets the pet's version, which changes every time the pet changes.
+     * @return The version
+     */
+    public long getVersion() { return version; }
+
     /**
      * Sets the pet's health (clamped to 0-maxHealth)
      * @param health The new health value
      * 
      */
     public void setHealth(int health) {
+        version++;
         this.health = health;
     }
 
@@ -348,6 +368,7 @@ public class Pet {
      * 
      */
     public void setDead(boolean dead) {
+        version++;
         this.isDead = dead;
     }
 
@@ -357,6 +378,7 @@ public class Pet {
      * 
      */
     public void setHappiness(int happiness) {
+        version++;
         this.happiness = happiness;
     }
 
@@ -366,6 +388,7 @@ public class Pet {
      * 
      */
     public void setFullness(int fullness) {
+        version++;
         this.fullness = fullness;
     }
 
@@ -375,6 +398,7 @@ public class Pet {
      * 
      */
     public void setSleep(int sleep) {
+        version++;
         this.sleep = sleep;
     }
 
@@ -383,6 +407,7 @@ public class Pet {
      * Resets all negative states (dead, sleeping, hungry, angry).
      */
     public void revive() {
+        version++;
         isDead = false;
         isSleeping = false;
         isHungry = false;
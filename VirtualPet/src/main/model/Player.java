@@ -2,8 +2,6 @@ package group33.VirtualPet.src.main.model;
 
 import java.time.LocalDateTime;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Represents a player in the Virtual Pet game, tracking their progress, pets, and game statistics.
@@ -15,7 +13,7 @@ import java.util.List;
  *   <li>Current pet ownership</li>
  *   <li>Inventory of food and gift items</li>
  *   <li>Play time tracking and session management</li>
- *   <li>Timestamps for last interactions (playing with pet, vet visits)</li>
+ *   <li>Cooldowns of actions (playing with pet, vet visits)</li>
  * </ul>
  * 
  * @author Team 33 (Dhir, Kostya, Fatima, Anna)
@@ -30,11 +28,12 @@ public class Player {
     // Play time tracking
     private LocalDateTime sessionStartTime;  // When current session started
     private Duration totalPlayTime;          // Cumulative play time across all sessions
-    private List<Duration> sessionDurations; // History of all session durations
+    private SessionStats sessionStats;       // Recent session lengths and statistics over all sessions
 
-    private long lastP;  // Timestamp of last play interaction with pet (in milliseconds)
-    private long lastV;  // Timestamp of last vet visit (in milliseconds)
-    private int cool = 300000;
+    private final CooldownManager cooldowns = new CooldownManager(); // Keeps its own version
+    
+    // Bumped on every change to the player's own fields; the pet and inventory keep their own versions
+    private long version;
 
     /**
      * Creates a new Player with default initial state.
@@ -45,11 +44,7 @@ public class Player {
         this.score = 0;
         this.inventory = new Inventory();
         this.totalPlayTime = Duration.ZERO;
-        this.sessionDurations = new ArrayList<>();
-        // this.lastP = 0;
-        // this.lastV = 0;
-        this.lastV = System.currentTimeMillis() - cool;
-        this.lastP = System.currentTimeMillis() - cool;
+        this.sessionStats = new SessionStats();
     }
     
     /**
@@ -57,6 +52,7 @@ public class Player {
      * @param pet The pet to adopt (null to abandon current pet)
      */
     public void adoptPet(Pet pet) {
+        version++;
         this.currentPet = pet;
     }
     
@@ -65,6 +61,7 @@ public class Player {
      * @param points The positive number of points to add
      */
     public void incrementScore(int points) {
+        version++;
         if (points < 0) return; // ignore negative input
         if (score > Integer.MAX_VALUE - points) {
             score = Integer.MAX_VALUE; // cap at max value
@@ -77,6 +74,7 @@ public class Player {
      * @param points The positive number of points to subtract
      */
     public void decrementScore(int points) {
+        version++;
         score = Math.max(0, score - points);
     }
     
@@ -93,10 +91,11 @@ public class Player {
      * Calculates duration since startSession() was called.
      */
     public void endSession() {
+        version++;
         if (sessionStartTime != null) {
             Duration sessionDuration = Duration.between(sessionStartTime, LocalDateTime.now());
             totalPlayTime = totalPlayTime.plus(sessionDuration);
-            sessionDurations.add(sessionDuration);
+            sessionStats.record(sessionDuration);
             sessionStartTime = null;
         }
     }
@@ -106,6 +105,7 @@ public class Player {
      * @param duration The new total play time (cannot be null)
      */
     public void setTotalPlayTime(Duration duration) {
+        version++;
         this.totalPlayTime = duration;
     }
 
@@ -114,6 +114,7 @@ public class Player {
      * @param score The new score value (will not be lower than 0 and is (clamped between 0 and Integer.MAX_VALUE)
      */
     public void setScore(int score) {
+        version++;
         if (score < 0) {
             this.score = 0;
         } else {
@@ -125,6 +126,7 @@ public class Player {
      * @param inventory The new inventory (cannot be null)
      */
     public void setInventory(Inventory inventory) {
+        version++;
         this.inventory = inventory;
     }
 
@@ -140,20 +142,23 @@ public class Player {
      * @return Average session length in seconds, or 0 if no sessions recorded
      */
     public double getAveragePlayTime() {
-        if (sessionDurations.isEmpty()) return 0;
-        
-        return sessionDurations.stream()
-            .mapToLong(Duration::toSeconds)
-            .average()
-            .orElse(0);
+        return sessionStats.getAverageSeconds();
+    }
+
+    /**
+     * @return Statistics of the player's play sessions, including recent session lengths and percentiles
+     */
+    public SessionStats getSessionStats() {
+        return sessionStats;
     }
     
     /**
      * Resets all play time statistics (total and session history).
      */
     public void resetPlayTimeStatistics() {
+        version++;
         totalPlayTime = Duration.ZERO;
-        sessionDurations.clear();
+        sessionStats.clear();
     }
     
     /**
@@ -165,6 +170,12 @@ public class Player {
     
     // Basic getters and setters
     
+    /**
+     * The current pet and the inventory have versions of their own.
+     * @return The player's version, which changes every time the player's own fields or cooldowns change
+     */
+    public long getVersion() { return version + cooldowns.getVersion(); }
+    
     /**
      * @return The player's name
      */
@@ -181,26 +192,31 @@ public class Player {
      */
     public Pet getCurrentPet() { return currentPet; }
 
+    /**
+     * @return The player's cooldowns
+     */
+    public CooldownManager getCooldowns() { return cooldowns; }
+
     /**
      * Sets timestamp of last play interaction with pet.
      * @param last Timestamp in milliseconds since epoch
      */
     public void setLastP(long last) {
-        this.lastP = last;
+        cooldowns.setLastUse(CooldownManager.Action.PLAY, last);
     }
 
     /**
      * @return Timestamp of last play interaction with pet in milliseconds since epoch
      */
     public long getLastP() {
-        return lastP;
+        return cooldowns.getLastUse(CooldownManager.Action.PLAY);
     }
 
     /**
      * @return Timestamp of last vet visit in milliseconds since epoch
      */
     public long getLastV() {
-        return lastV;
+        return cooldowns.getLastUse(CooldownManager.Action.VET);
     }
 
     /**
@@ -208,6 +224,6 @@ public class Player {
      * @param last Timestamp in milliseconds since epoch
      */
     public void setLastV(long last) {
-        this.lastV = last;
+        cooldowns.setLastUse(CooldownManager.Action.VET, last);
     }
-}
\ No newline at end of file
+}
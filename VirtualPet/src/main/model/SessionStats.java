@@ -0,0 +1,185 @@
+package group33.VirtualPet.src.main.model;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Play session statistics for a player, in whole seconds.
+ * <p>
+ * The lengths of the most recent sessions are kept in a ring buffer of fixed
+ * capacity, so the oldest are overwritten once it is full. The count, total,
+ * shortest and longest session and a histogram of session lengths are kept for
+ * every session ever recorded, and updated as each one is recorded, so the
+ * average and percentiles cover the whole history while memory stays the same
+ * however many sessions a player has.
+ * <p>
+ * The histogram has {@value #SUB_BUCKETS} buckets for every power of two, so a
+ * percentile is within about 6% of the exact value. Reading one scans the
+ * fixed number of buckets and never the sessions themselves.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class SessionStats {
+    /** Number of recent sessions kept by default */
+    public static final int DEFAULT_CAPACITY = 128;
+
+    // Buckets per power of two; lengths below this have a bucket each
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BITS = 4;
+    private static final int BUCKET_COUNT = (Integer.SIZE - SUB_BITS) * SUB_BUCKETS;
+
+    private final int[] recent;         // Ring buffer of recent session lengths
+    private int next;                   // Where the next session goes in the ring buffer
+    private long count;                 // Sessions recorded
+    private long totalSeconds;          // Total length of all sessions
+    private int minSeconds;             // Shortest session, valid when count > 0
+    private int maxSeconds;             // Longest session, valid when count > 0
+    private final long[] histogram = new long[BUCKET_COUNT];
+
+    /**
+     * Creates empty statistics keeping the last {@value #DEFAULT_CAPACITY} sessions.
+     */
+    public SessionStats() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates empty statistics.
+     * @param capacity How many recent sessions to keep
+     */
+    public SessionStats(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        recent = new int[capacity];
+    }
+
+    /**
+     * Records a finished session.
+     * @param duration How long the session lasted; negative durations count as 0
+     */
+    public void record(Duration duration) {
+        record(duration.getSeconds());
+    }
+
+    /**
+     * Records a finished session.
+     * @param seconds How long the session lasted in seconds; negative lengths count as 0
+     */
+    public void record(long seconds) {
+        int length = (int) Math.max(0, Math.min(Integer.MAX_VALUE, seconds));
+        recent[next] = length;
+        next = (next + 1) % recent.length;
+        if (count == 0) {
+            minSeconds = length;
+            maxSeconds = length;
+        } else {
+            minSeconds = Math.min(minSeconds, length);
+            maxSeconds = Math.max(maxSeconds, length);
+        }
+        count++;
+        totalSeconds += length;
+        histogram[bucketOf(length)]++;
+    }
+
+    /**
+     * Forgets all sessions.
+     */
+    public void clear() {
+        next = 0;
+        count = 0;
+        totalSeconds = 0;
+        minSeconds = 0;
+        maxSeconds = 0;
+        Arrays.fill(histogram, 0);
+    }
+
+    /**
+     * @return The number of sessions recorded
+     */
+    public long getCount() { return count; }
+
+    /**
+     * @return The total length of all sessions in seconds
+     */
+    public long getTotalSeconds() { return totalSeconds; }
+
+    /**
+     * @return The average session length in seconds, or 0 if no sessions were recorded
+     */
+    public double getAverageSeconds() {
+        return count == 0 ? 0 : (double) totalSeconds / count;
+    }
+
+    /**
+     * @return The shortest session in seconds, or 0 if no sessions were recorded
+     */
+    public int getMinSeconds() { return minSeconds; }
+
+    /**
+     * @return The longest session in seconds, or 0 if no sessions were recorded
+     */
+    public int getMaxSeconds() { return maxSeconds; }
+
+    /**
+     * Estimates a percentile of the session lengths.
+     * @param percent The percentile, from 0 to 100
+     * @return The length in seconds that this percent of sessions are no longer than, or 0 if no sessions were recorded
+     */
+    public int getPercentileSeconds(double percent) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank) {
+                return Math.max(minSeconds, Math.min(maxSeconds, highestIn(bucket)));
+            }
+        }
+        return maxSeconds;
+    }
+
+    /**
+     * @return How many recent sessions are kept
+     */
+    public int getCapacity() { return recent.length; }
+
+    /**
+     * Gets the lengths of the recent sessions.
+     * @return The lengths in seconds, oldest first, of at most {@link #getCapacity()} sessions
+     */
+    public int[] getRecentSeconds() {
+        int size = (int) Math.min(count, recent.length);
+        int[] lengths = new int[size];
+        int start = (next - size + recent.length) % recent.length;
+        for (int i = 0; i < size; i++) {
+            lengths[i] = recent[(start + i) % recent.length];
+        }
+        return lengths;
+    }
+
+    private static int bucketOf(int seconds) {
+        if (seconds < SUB_BUCKETS) {
+            return seconds;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(seconds);
+        int shift = exponent - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + ((seconds >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    // The longest length that falls in a bucket
+    private static int highestIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return (int) Math.min(Integer.MAX_VALUE, lowest + (1L << shift) - 1);
+    }
+}
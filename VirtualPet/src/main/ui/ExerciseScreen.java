@@ -3,7 +3,7 @@ package group33.VirtualPet.src.main.ui;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager.ScreenType;
 
-import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.AsyncSaveService;
 import group33.VirtualPet.src.main.model.Pet;
 import group33.VirtualPet.src.main.model.Player;
 import group33.VirtualPet.src.main.ui.UIUtility.BackgroundPanel;
@@ -224,15 +224,18 @@ public class ExerciseScreen extends JFrame {
             exerciseButton.setText("Exercising...");
         
             if (!currentSaveFilename.isEmpty()) {
-                try {
-                    GameSaveManager.saveGame(player, currentSaveFilename);
-                    showMessage("Exercise complete!\n+" + SCORE_INCREASE + " points" + 
-                              "\nHealth +" + HEALTH_INCREASE + 
-                              "\nHunger -" + HUNGER_DECREASE + 
-                              "\nSleepiness -" + SLEEPINESS_DECREASE + "\nYour current score : " + player.getScore());
-                } catch (Exception ex) {
-                    showMessage("Error saving game: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // Save in the background and only report back if the write fails
+                AsyncSaveService.getInstance().saveAsync(player, currentSaveFilename)
+                    .whenComplete((saved, ex) -> {
+                        if (ex != null) {
+                            SwingUtilities.invokeLater(() -> 
+                                showMessage("Error saving game: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
+                        }
+                    });
+                showMessage("Exercise complete!\n+" + SCORE_INCREASE + " points" + 
+                          "\nHealth +" + HEALTH_INCREASE + 
+                          "\nHunger -" + HUNGER_DECREASE + 
+                          "\nSleepiness -" + SLEEPINESS_DECREASE + "\nYour current score : " + player.getScore());
             } else {
                 showMessage("Exercise complete!\n+" + SCORE_INCREASE + " points" + 
                           "\nHealth +" + HEALTH_INCREASE + 
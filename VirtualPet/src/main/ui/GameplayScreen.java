@@ -2,8 +2,14 @@ package group33.VirtualPet.src.main.ui;
 
 import group33.VirtualPet.src.main.game.TimeRestrictionManager;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager.ScreenType;
+import group33.VirtualPet.src.main.game.AsyncSaveService;
+import group33.VirtualPet.src.main.game.CheckpointService;
 import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.ShopEngine;
+import group33.VirtualPet.src.main.model.CooldownManager;
 import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.InventoryTransaction;
+import group33.VirtualPet.src.main.model.ItemCatalog;
 import group33.VirtualPet.src.main.model.ParentalSettings;
 import group33.VirtualPet.src.main.model.Pet;
 import group33.VirtualPet.src.main.model.Player;
@@ -21,7 +27,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalTime;
 import java.time.Duration;
-import java.util.Map;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -56,7 +61,6 @@ public class GameplayScreen extends JFrame {
     private Inventory inventory;
     // New field to track current save filename
     private String currentSaveFilename; 
-    private int cool = 300000;
     private JLabel vetCooldownLabel;
     private JLabel playCooldownLabel;
     private Timer cooldownTimer;
@@ -97,6 +101,7 @@ public class GameplayScreen extends JFrame {
     private Timer flipTimer;
     private boolean isFlipped = false;
     private Timer gameTickTimer;
+    private Timer checkpointTimer;
     private boolean alertShown = false; // Prevent repeated alerts
 
     /**
@@ -115,6 +120,9 @@ public class GameplayScreen extends JFrame {
         // Load parental settings
         loadParentalSettings();
         
+        // Shop demand belongs to one game, so prices start fresh for every game
+        ShopEngine.getInstance().resetDemand();
+        
         setTitle("Pixel Pals - Gameplay");
         setSize(1031, 849);
         setResizable(false);
@@ -131,10 +139,11 @@ public class GameplayScreen extends JFrame {
         setupLayout();
         setupKeyboardShortcuts();
         updatePetStatus();
+        setupCooldownTimer();
         updateCooldowns();
         updateCommandAvailability();
         setupGameTickTimer();
-        setupCooldownTimer();
+        setupCheckpointTimer();
         
         // Flip image every 2 seconds
         flipTimer = new Timer(2000, e -> { 
@@ -224,12 +233,30 @@ public class GameplayScreen extends JFrame {
         });
         gameTickTimer.start();
     }
+    /**
+     * Autosaves the game as rolling checkpoints while it is being played, if
+     * autosaving is turned on. New games without a save file yet are not checkpointed.
+     */
+    private void setupCheckpointTimer() {
+        if (!CheckpointService.isEnabled() || currentSaveFilename == null || currentSaveFilename.isEmpty()) {
+            return;
+        }
+        CheckpointService checkpoints = CheckpointService.getInstance();
+        checkpoints.track(player, currentSaveFilename);
+        checkpointTimer = new Timer(checkpoints.getIntervalMillis(), e -> checkpoints.checkpointAll());
+        checkpointTimer.start();
+    }
+
     // Also make sure to stop the timer when the screen is closed
     @Override
     public void dispose() {
         if (gameTickTimer != null) {
             gameTickTimer.stop();
         }
+        if (checkpointTimer != null) {
+            checkpointTimer.stop();
+            CheckpointService.getInstance().untrack(currentSaveFilename);
+        }
         if (cooldownTimer != null) {
             cooldownTimer.stop();
         }
@@ -238,36 +265,47 @@ public class GameplayScreen extends JFrame {
 
     private void updateCooldowns() {
         long currentTime = System.currentTimeMillis();
+        CooldownManager cooldowns = player.getCooldowns();
+        long vetTimeRemaining = cooldowns.getRemainingMillis(CooldownManager.Action.VET, currentTime);
+        long playTimeRemaining = cooldowns.getRemainingMillis(CooldownManager.Action.PLAY, currentTime);
+        showCooldown(vetCooldownLabel, "Vet", vetTimeRemaining);
+        showCooldown(playCooldownLabel, "Play", playTimeRemaining);
         
-        // Calculate remaining cooldown for vet
-        long vetTimeRemaining = Math.max(0, (player.getLastV() + cool) - currentTime);
-        if (vetTimeRemaining > 0) {
-            int vetSecondsRemaining = (int)(vetTimeRemaining / 1000);
-            vetCooldownLabel.setText("Vet: " + vetSecondsRemaining + "s");
-            vetCooldownLabel.setForeground(Color.RED);
-        } else {
-            vetCooldownLabel.setText("Vet: Ready");
-            vetCooldownLabel.setForeground(Color.GREEN);
+        // Wake up when a label next changes: when its seconds tick down, or when the next cooldown ends
+        long nextExpiry = cooldowns.getNextExpiry(currentTime);
+        if (nextExpiry == CooldownManager.NONE) {
+            cooldownTimer.stop();
+            return;
         }
-        
-        // Calculate remaining cooldown for play
-        long playTimeRemaining = Math.max(0, (player.getLastP() + cool) - currentTime);
-        if (playTimeRemaining > 0) {
-            int playSecondsRemaining = (int)(playTimeRemaining / 1000);
-            playCooldownLabel.setText("Play: " + playSecondsRemaining + "s");
-            playCooldownLabel.setForeground(Color.RED);
+        long delay = Math.min(untilNextSecond(vetTimeRemaining), untilNextSecond(playTimeRemaining));
+        delay = Math.min(delay, nextExpiry - currentTime);
+        cooldownTimer.setInitialDelay((int) Math.max(1, delay));
+        cooldownTimer.restart();
+    }
+
+    private void showCooldown(JLabel label, String action, long timeRemaining) {
+        if (timeRemaining > 0) {
+            int secondsRemaining = (int)(timeRemaining / 1000);
+            label.setText(action + ": " + secondsRemaining + "s");
+            label.setForeground(Color.RED);
         } else {
-            playCooldownLabel.setText("Play: Ready");
-            playCooldownLabel.setForeground(Color.GREEN);
+            label.setText(action + ": Ready");
+            label.setForeground(Color.GREEN);
         }
     }
 
+    // Milliseconds until the whole seconds shown for a cooldown change, or 1000 if it isn't running
+    private static long untilNextSecond(long timeRemaining) {
+        long partSecond = timeRemaining % 1000;
+        return timeRemaining > 0 && partSecond > 0 ? partSecond : 1000;
+    }
+
     private void setupCooldownTimer() {
-        // Update cooldowns every 1 second (1000ms)
-        cooldownTimer = new Timer(1000, e -> {
+        // One-shot timer, scheduled by updateCooldowns() for the next moment a cooldown label changes
+        cooldownTimer = new Timer(0, e -> {
             updateCooldowns();
         });
-        cooldownTimer.start();
+        cooldownTimer.setRepeats(false);
     }
 
     /**
@@ -638,7 +676,7 @@ private void loadFallbackImage() {
             updateCommandAvailability();
             // Apply cooldown after use
             long curr = System.currentTimeMillis();
-            if(curr-player.getLastV() <cool)
+            if(!player.getCooldowns().isReady(CooldownManager.Action.VET, curr))
             {
                 JOptionPane.showMessageDialog(this, "Wait for Cooldown to expire");
             }
@@ -646,7 +684,7 @@ private void loadFallbackImage() {
                 updatePetStatus();
                 new VetScreen(player,this.currentSaveFilename).setVisible(true);
                 dispose();
-                player.setLastV(curr); 
+                player.getCooldowns().start(CooldownManager.Action.VET, curr);
             }
         });
 
@@ -678,7 +716,7 @@ private void loadFallbackImage() {
             updateCommandAvailability();
             // Apply cooldown after use
             long curr = System.currentTimeMillis();
-            if(curr-player.getLastP() < cool) // Change from player.getLastV()
+            if(!player.getCooldowns().isReady(CooldownManager.Action.PLAY, curr))
             {
                 JOptionPane.showMessageDialog(this, "Wait for Cooldown to expire");
             }
@@ -686,7 +724,7 @@ private void loadFallbackImage() {
                 updatePetStatus();
                 new PlayScreen(player,this.currentSaveFilename).setVisible(true);
                 dispose();
-                player.setLastP(curr); // Change from player.setLastV()
+                player.getCooldowns().start(CooldownManager.Action.PLAY, curr);
             }
         });
 
@@ -712,12 +750,16 @@ private void loadFallbackImage() {
                 }
             }
             
-            try {
-                GameSaveManager.saveGame(player, currentSaveFilename);
-                JOptionPane.showMessageDialog(this, "Game saved successfully to " + currentSaveFilename);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this, "Error saving game: " + ex.getMessage());
-            }
+            // Write in the background and confirm once the save is on disk
+            String savedFilename = currentSaveFilename;
+            AsyncSaveService.getInstance().saveAsync(player, savedFilename)
+                .whenComplete((saved, ex) -> SwingUtilities.invokeLater(() -> {
+                    if (ex == null) {
+                        JOptionPane.showMessageDialog(this, "Game saved successfully to " + savedFilename);
+                    } else {
+                        JOptionPane.showMessageDialog(this, "Error saving game: " + ex.getMessage());
+                    }
+                }));
         });
 
         mainMenuButton.addActionListener(e -> {
@@ -751,11 +793,11 @@ private void loadFallbackImage() {
             giftPanel.setBorder(BorderFactory.createTitledBorder("Gift Inventory"));
             
             // Add tables to panels
-            DefaultTableModel foodModel = createInventoryTableModel(true);
+            InventoryTableModel foodModel = new InventoryTableModel(inventory, true);
             JTable foodTable = new JTable(foodModel);
             foodPanel.add(new JScrollPane(foodTable), BorderLayout.CENTER);
             
-            DefaultTableModel giftModel = createInventoryTableModel(false);
+            InventoryTableModel giftModel = new InventoryTableModel(inventory, false);
             JTable giftTable = new JTable(giftModel);
             giftPanel.add(new JScrollPane(giftTable), BorderLayout.CENTER);
             
@@ -779,10 +821,11 @@ private void loadFallbackImage() {
             };
             
             // Add food items to shop
-            addFoodItemToShop(foodShopModel, "Apple", 5, 10);
-            addFoodItemToShop(foodShopModel, "Smoothie", 10, 20);
-            addFoodItemToShop(foodShopModel, "Taco", 20, 40);
-            addFoodItemToShop(foodShopModel, "Ramen", 30, 60);
+            for (ItemCatalog.Listing<Inventory.FoodItem> listing : ItemCatalog.foodListings()) {
+                addFoodItemToShop(foodShopModel, listing.getItem().getName(),
+                    listing.getItem().getFullnessValue(),
+                    ShopEngine.getInstance().quoteFood(listing.getItem(), currentPet.getType()));
+            }
             
             JTable foodShopTable = new JTable(foodShopModel);
             
@@ -806,10 +849,11 @@ private void loadFallbackImage() {
             };
             
             // Add gift items to shop
-            addGiftItemToShop(giftShopModel, "Ball", 5, 10);
-            addGiftItemToShop(giftShopModel, "Cards", 10, 20);
-            addGiftItemToShop(giftShopModel, "Flowers", 20, 40);
-            addGiftItemToShop(giftShopModel, "Hat", 30, 60);
+            for (ItemCatalog.Listing<Inventory.GiftItem> listing : ItemCatalog.giftListings()) {
+                addGiftItemToShop(giftShopModel, listing.getItem().getName(),
+                    listing.getItem().getHappinessValue(),
+                    ShopEngine.getInstance().quoteGift(listing.getItem(), currentPet.getType()));
+            }
             
             JTable giftShopTable = new JTable(giftShopModel);
             
@@ -842,52 +886,13 @@ private void loadFallbackImage() {
             multiInventoryDialog.add(buttonPanel, BorderLayout.SOUTH);
             
             multiInventoryDialog.setVisible(true);
+            
+            // The dialog is modal, so it has closed by now
+            foodModel.detach();
+            giftModel.detach();
         });
     }
 
-    /**
-     * Creates an inventory table model for displaying food or gift items.
-     * 
-     * @param isFoodInventory True for food items, false for gift items
-     * @return Configured DefaultTableModel with item data
-     */
-    private DefaultTableModel createInventoryTableModel(boolean isFoodInventory) {
-        String[] columnNames = {"Item", "Quantity", "Effect"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        if (isFoodInventory) {
-            for (Map.Entry<Inventory.FoodItem, Integer> entry : inventory.getFoodItems().entrySet()) {
-                Inventory.FoodItem item = entry.getKey();
-                Integer quantity = entry.getValue();
-                
-                model.addRow(new Object[]{
-                    item.getName(), 
-                    quantity, 
-                    "Fullness: +" + item.getFullnessValue()
-                });
-            }
-        } else {
-            for (Map.Entry<Inventory.GiftItem, Integer> entry : inventory.getGiftItems().entrySet()) {
-                Inventory.GiftItem item = entry.getKey();
-                Integer quantity = entry.getValue();
-                
-                model.addRow(new Object[]{
-                    item.getName(), 
-                    quantity, 
-                    "Happiness: +" + item.getHappinessValue()
-                });
-            }
-        }
-
-        return model;
-    }
-
-
     // Helper method to add food items to the shop table
     private void addFoodItemToShop(DefaultTableModel model, String name, int fullnessValue, int price) {
         model.addRow(new Object[]{
@@ -956,29 +961,36 @@ private void loadFallbackImage() {
             if (isPushed) {
                 // Get the item details from the row
                 JTable table = (JTable)button.getParent();
-                String itemName = (String)table.getValueAt(table.getSelectedRow(), 0);
-                int price = Integer.parseInt(table.getValueAt(table.getSelectedRow(), 2).toString());
+                int row = table.getSelectedRow();
+                String itemName = (String)table.getValueAt(row, 0);
                 
-                // Check if player has enough score
-                if (player.getScore() >= price) {
-                    // Purchase the item
-                    if (itemType.equals("food")) {
-                        Inventory.FoodItem newItem = new Inventory.FoodItem(
-                            itemName, 
-                            extractValue(table.getValueAt(table.getSelectedRow(), 1).toString())
-                        );
-                        inventory.addFoodItem(newItem, 1);
+                // Buy the item at its current price and pay for it as one transaction
+                ShopEngine shop = ShopEngine.getInstance();
+                int effectValue = extractValue(table.getValueAt(row, 1).toString());
+                InventoryTransaction purchase = new InventoryTransaction(player);
+                Inventory.FoodItem food = null;
+                Inventory.GiftItem gift = null;
+                int price;
+                if (itemType.equals("food")) {
+                    food = ItemCatalog.food(itemName, effectValue);
+                    price = shop.quoteFood(food, currentPet.getType());
+                    purchase.buyFood(food, 1, price);
+                } else {
+                    gift = ItemCatalog.gift(itemName, effectValue);
+                    price = shop.quoteGift(gift, currentPet.getType());
+                    purchase.buyGift(gift, 1, price);
+                }
+                
+                if (purchase.commit()) {
+                    // Buying raises the item's price, so show the new one
+                    if (food != null) {
+                        shop.recordFoodPurchase(food, 1);
+                        table.setValueAt(shop.quoteFood(food, currentPet.getType()), row, 2);
                     } else {
-                        Inventory.GiftItem newItem = new Inventory.GiftItem(
-                            itemName, 
-                            extractValue(table.getValueAt(table.getSelectedRow(), 1).toString())
-                        );
-                        inventory.addGiftItem(newItem, 1);
+                        shop.recordGiftPurchase(gift, 1);
+                        table.setValueAt(shop.quoteGift(gift, currentPet.getType()), row, 2);
                     }
                     
-                    // Deduct the score
-                    player.setScore(player.getScore() - price);
-                    
                     // Update the score display
                     scoreDisplay.setText("Current Score: " + player.getScore());
                     
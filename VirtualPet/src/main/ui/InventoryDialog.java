@@ -1,14 +1,13 @@
 package group33.VirtualPet.src.main.ui;
 
 import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.InventoryTransaction;
 import group33.VirtualPet.src.main.model.Pet;
 import group33.VirtualPet.src.main.model.Player;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.Map;
 import java.util.HashMap;
 
 /**
@@ -27,6 +26,7 @@ public class InventoryDialog extends JDialog {
     private boolean isFoodInventory;      // Flag indicating if this is food inventory (true) or gift inventory (false)
     private HashMap<String, ImageIcon> itemImages;  // Map of item names to their icons
     private Player player;                // Reference to the player object
+    private InventoryTableModel tableModel;  // Table model following the inventory
 
     /**
      * Constructs an InventoryDialog.
@@ -50,6 +50,18 @@ public class InventoryDialog extends JDialog {
         setLocationRelativeTo(parent);
         
         initComponents();
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+    }
+    
+    /**
+     * Closes the dialog and stops its table from following the inventory.
+     */
+    @Override
+    public void dispose() {
+        if (tableModel != null) {
+            tableModel.detach();
+        }
+        super.dispose();
     }
     
     /**
@@ -98,24 +110,11 @@ public class InventoryDialog extends JDialog {
     private void initComponents() {
         setLayout(new BorderLayout());
 
-        // Create table model with non-editable cells
-        String[] columnNames = {"Item", "Quantity", "Effect"};
-        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        // Populate table based on inventory type
-        if (isFoodInventory) {
-            populateFoodItems(model);
-        } else {
-            populateGiftItems(model);
-        }
+        // Table model that follows the inventory, based on inventory type
+        tableModel = new InventoryTableModel(inventory, isFoodInventory);
 
         // Configure table appearance and behavior
-        itemTable = new JTable(model);
+        itemTable = new JTable(tableModel);
         itemTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         itemTable.setRowHeight(32); // Increased row height to fit images
         
@@ -158,42 +157,6 @@ public class InventoryDialog extends JDialog {
         }
     }
 
-    /**
-     * Populates the table model with food items from inventory.
-     *
-     * @param model The table model to populate
-     */
-    private void populateFoodItems(DefaultTableModel model) {
-        for (Map.Entry<Inventory.FoodItem, Integer> entry : inventory.getFoodItems().entrySet()) {
-            Inventory.FoodItem item = entry.getKey();
-            Integer quantity = entry.getValue();
-            
-            model.addRow(new Object[]{
-                item.getName(), 
-                quantity, 
-                "Fullness: +" + item.getFullnessValue()
-            });
-        }
-    }
-
-    /**
-     * Populates the table model with gift items from inventory.
-     *
-     * @param model The table model to populate
-     */
-    private void populateGiftItems(DefaultTableModel model) {
-        for (Map.Entry<Inventory.GiftItem, Integer> entry : inventory.getGiftItems().entrySet()) {
-            Inventory.GiftItem item = entry.getKey();
-            Integer quantity = entry.getValue();
-            
-            model.addRow(new Object[]{
-                item.getName(), 
-                quantity, 
-                "Happiness: +" + item.getHappinessValue()
-            });
-        }
-    }
-
     /**
      * Attempts to use the currently selected item on the pet.
      * Shows appropriate messages if no item is selected, inventory is empty,
@@ -221,37 +184,22 @@ public class InventoryDialog extends JDialog {
         }
 
         try {
+            // Use the item, feed the pet and award the points as one transaction
             boolean used = false;
             if (isFoodInventory) {
-                Inventory.FoodItem foodItem = findFoodItem(itemName);
+                Inventory.FoodItem foodItem = inventory.findFoodItem(itemName);
                 if (foodItem != null) {
-                    used = inventory.useFoodItem(foodItem);
-                    if (used) {
-                        pet.feed(foodItem.getFullnessValue());
-                        player.setScore(player.getScore() + 10);
-                    }
+                    used = new InventoryTransaction(player).useFood(foodItem, 1).addScore(10).commit();
                 }
             } else {
-                Inventory.GiftItem giftItem = findGiftItem(itemName);
+                Inventory.GiftItem giftItem = inventory.findGiftItem(itemName);
                 if (giftItem != null) {
-                    used = inventory.useGiftItem(giftItem);
-                    if (used) {
-                        pet.giveGift(giftItem.getHappinessValue());
-                        player.setScore(player.getScore() + 20);
-                    }
+                    used = new InventoryTransaction(player).useGift(giftItem, 1).addScore(20).commit();
                 }
             }
 
             if (used) {
-                // Refresh table to show updated quantities
-                DefaultTableModel model = (DefaultTableModel) itemTable.getModel();
-                model.setRowCount(0);
-                if (isFoodInventory) {
-                    populateFoodItems(model);
-                } else {
-                    populateGiftItems(model);
-                }
-
+                // The table model repaints the changed row itself
                 // Show success message
                 String effectType = isFoodInventory ? "Fullness" : "Happiness";
                 JOptionPane.showMessageDialog(this, 
@@ -266,34 +214,4 @@ public class InventoryDialog extends JDialog {
                 JOptionPane.ERROR_MESSAGE);
         }
     }
-
-    /**
-     * Finds a food item by name in the inventory.
-     *
-     * @param name The name of the food item to find
-     * @return The matching FoodItem, or null if not found
-     */
-    private Inventory.FoodItem findFoodItem(String name) {
-        for (Inventory.FoodItem item : inventory.getFoodItems().keySet()) {
-            if (item.getName().equals(name)) {
-                return item;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Finds a gift item by name in the inventory.
-     *
-     * @param name The name of the gift item to find
-     * @return The matching GiftItem, or null if not found
-     */
-    private Inventory.GiftItem findGiftItem(String name) {
-        for (Inventory.GiftItem item : inventory.getGiftItems().keySet()) {
-            if (item.getName().equals(name)) {
-                return item;
-            }
-        }
-        return null;
-    }
-}
\ No newline at end of file
+}
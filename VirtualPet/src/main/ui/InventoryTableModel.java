@@ -0,0 +1,127 @@
+package group33.VirtualPet.src.main.ui;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.InventoryEvent;
+import group33.VirtualPet.src.main.model.InventoryListener;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table model showing the food or gift items of an inventory, with columns
+ * Item, Quantity and Effect.
+ * <p>
+ * The model listens to the inventory and follows each change as it happens: a
+ * new item adds a row, a quantity change repaints just that row and a removed
+ * item deletes its row. Cells are read from the items and the inventory when
+ * the table paints them, so no rows are built up front. Changes made on other
+ * threads are passed to the Event Dispatch Thread. Call {@link #detach()} once
+ * the table is no longer shown, so the inventory stops updating it.
+ *
+ * @author Team 33 (Dhir, Kostya, Fatima, Anna)
+ * @since Winter 2025
+ */
+public class InventoryTableModel extends AbstractTableModel implements InventoryListener {
+    private static final long serialVersionUID = 1L;
+    private static final String[] COLUMN_NAMES = {"Item", "Quantity", "Effect"};
+
+    private final Inventory inventory;
+    private final boolean isFoodInventory;
+    private final List<Object> items = new ArrayList<>();          // The item shown in each row
+    private final Map<Object, Integer> rows = new HashMap<>();     // Row of each item
+
+    /**
+     * Creates a table model for the food or the gift items of an inventory, and starts following it.
+     * @param inventory The inventory to show
+     * @param isFoodInventory True to show the food items, false to show the gift items
+     */
+    public InventoryTableModel(Inventory inventory, boolean isFoodInventory) {
+        this.inventory = inventory;
+        this.isFoodInventory = isFoodInventory;
+        items.addAll(isFoodInventory ? inventory.getFoodItemsView().keySet() : inventory.getGiftItemsView().keySet());
+        for (int row = 0; row < items.size(); row++) {
+            rows.put(items.get(row), row);
+        }
+        inventory.addInventoryListener(this);
+    }
+
+    /**
+     * Stops following the inventory.
+     */
+    public void detach() {
+        inventory.removeInventoryListener(this);
+    }
+
+    @Override
+    public int getRowCount() {
+        return items.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 ? Integer.class : String.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Object item = items.get(row);
+        if (isFoodInventory) {
+            Inventory.FoodItem food = (Inventory.FoodItem) item;
+            switch (column) {
+                case 0: return food.getName();
+                case 1: return inventory.getFoodQuantity(food);
+                default: return "Fullness: +" + food.getFullnessValue();
+            }
+        }
+        Inventory.GiftItem gift = (Inventory.GiftItem) item;
+        switch (column) {
+            case 0: return gift.getName();
+            case 1: return inventory.getGiftQuantity(gift);
+            default: return "Happiness: +" + gift.getHappinessValue();
+        }
+    }
+
+    @Override
+    public void inventoryChanged(InventoryEvent event) {
+        if (event.isFood() != isFoodInventory) {
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> inventoryChanged(event));
+            return;
+        }
+
+        Object item = isFoodInventory ? event.getFoodItem() : event.getGiftItem();
+        Integer row = rows.get(item);
+        if (event.getType() == InventoryEvent.Type.ITEM_REMOVED) {
+            if (row != null) {
+                items.remove((int) row);
+                rows.remove(item);
+                for (int later = row; later < items.size(); later++) {
+                    rows.put(items.get(later), later);
+                }
+                fireTableRowsDeleted(row, row);
+            }
+        } else if (row == null) {
+            items.add(item);
+            rows.put(item, items.size() - 1);
+            fireTableRowsInserted(items.size() - 1, items.size() - 1);
+        } else {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package group33.VirtualPet.src.main.ui;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager.ScreenType;
 
+import group33.VirtualPet.src.main.game.CheckpointService;
 import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.SaveSummary;
 import group33.VirtualPet.src.main.model.Player;
 import group33.VirtualPet.src.main.ui.UIUtility.BackgroundPanel;
 import group33.VirtualPet.src.main.ui.UIUtility.PixelatedButton;
@@ -11,6 +13,8 @@ import java.awt.*;
 import java.io.IOException;
 import java.util.List;
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * The main menu screen for the Pixel Pals virtual pet game.
@@ -21,6 +25,8 @@ import javax.swing.*;
  * @since Winter 2025
  */
 public class MainMenuScreen extends JFrame {
+    private static final int MAX_LOAD_SLOTS = 50; // Most saves shown in the load dialog at once
+    
     private PixelatedButton newGameButton;
     private PixelatedButton loadGameButton;
     private PixelatedButton instructionsButton;
@@ -32,6 +38,9 @@ public class MainMenuScreen extends JFrame {
      * Initializes the background, title, and navigation buttons.
      */
     public MainMenuScreen() {
+        // Build the save index in the background, so the load dialog never waits for it
+        GameSaveManager.warmSaveIndex();
+        
         // Set up the frame
         setTitle("Pixel Pals");
         setSize(1031, 849);
@@ -173,7 +182,20 @@ private void openLoadGameScreen() {
     JLabel titleLabel = UIUtility.createPixelatedLabel("SELECT YOUR PET", 24f);
     titleLabel.setForeground(Color.BLACK);
     titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    contentPanel.add(titleLabel, BorderLayout.NORTH);
+    
+    // Search field, filtering the slots by save or pet name as the player types
+    JTextField searchField = new JTextField(20);
+    searchField.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 16));
+    JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+    searchPanel.setOpaque(false);
+    searchPanel.add(UIUtility.createPixelatedLabel("Search: ", 16f));
+    searchPanel.add(searchField);
+    
+    JPanel headerPanel = new JPanel(new BorderLayout());
+    headerPanel.setOpaque(false);
+    headerPanel.add(titleLabel, BorderLayout.NORTH);
+    headerPanel.add(searchPanel, BorderLayout.SOUTH);
+    contentPanel.add(headerPanel, BorderLayout.NORTH);
     
     // Slots panel
     JPanel slotsPanel = new JPanel();
@@ -185,16 +207,17 @@ private void openLoadGameScreen() {
     scrollPane.getViewport().setOpaque(false);
     scrollPane.setBorder(BorderFactory.createEmptyBorder());
     
-    // Load slots
-    for (String saveFile : saveFiles) {
-        try {
-            Player player = GameSaveManager.loadGame(saveFile);
-            slotsPanel.add(createGameSlotPanel(player, saveFile, loadDialog));
-            slotsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
+    showGameSlots(slotsPanel, "", loadDialog);
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+        @Override
+        public void insertUpdate(DocumentEvent e) { showGameSlots(slotsPanel, searchField.getText().trim(), loadDialog); }
+        
+        @Override
+        public void removeUpdate(DocumentEvent e) { showGameSlots(slotsPanel, searchField.getText().trim(), loadDialog); }
+        
+        @Override
+        public void changedUpdate(DocumentEvent e) { showGameSlots(slotsPanel, searchField.getText().trim(), loadDialog); }
+    });
     
     contentPanel.add(scrollPane, BorderLayout.CENTER);
     
@@ -213,15 +236,46 @@ private void openLoadGameScreen() {
     backgroundPanel.add(contentPanel, BorderLayout.CENTER);
     loadDialog.setVisible(true);
 }
+/**
+ * Fills the load dialog with the saves whose save or pet name starts with the
+ * search text, looked up in the save index (by save name only while the index
+ * is still being built). Only the first matches are shown, so typing narrows
+ * the list down instead of scrolling through every save.
+ * 
+ * @param slotsPanel The panel holding the slots
+ * @param search The start of the save or pet name; empty shows the first saves
+ * @param loadDialog The load dialog
+ */
+private void showGameSlots(JPanel slotsPanel, String search, JDialog loadDialog) {
+    slotsPanel.removeAll();
+    
+    // Load slots from the save headers only; the full save is read when a slot is picked
+    for (String saveFile : GameSaveManager.findSavesByName(search, MAX_LOAD_SLOTS)) {
+        try {
+            SaveSummary summary = GameSaveManager.loadSummary(saveFile);
+            if (summary == null || !summary.hasPet()) {
+                continue;
+            }
+            slotsPanel.add(createGameSlotPanel(summary, saveFile, loadDialog));
+            slotsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        } catch (IOException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    slotsPanel.revalidate();
+    slotsPanel.repaint();
+}
+
 /**
  * Creates a visual game slot panel showing pet information.
  * 
- * @param player The loaded player object
+ * @param summary The summary of the save, read from its header
  * @param saveFile The filename of the save
  * @param parentDialog The parent dialog for reference
  * @return A JPanel representing the game slot
  */
-private JPanel createGameSlotPanel(Player player, String saveFile, JDialog parentDialog) {
+private JPanel createGameSlotPanel(SaveSummary summary, String saveFile, JDialog parentDialog) {
     JPanel slotPanel = new JPanel(new BorderLayout(10, 0));
     slotPanel.setBorder(BorderFactory.createCompoundBorder(
         BorderFactory.createLineBorder(Color.GRAY, 1),
@@ -230,7 +284,7 @@ private JPanel createGameSlotPanel(Player player, String saveFile, JDialog paren
     slotPanel.setMaximumSize(new Dimension(600, 80));
     
     // Pet image
-    String petType = player.getCurrentPet().getType().toString().toLowerCase();
+    String petType = summary.getPetType().toString().toLowerCase();
     ImageIcon petIcon = new ImageIcon("group33/VirtualPet/assets/pets/" + petType + ".png");
     JLabel petImage = new JLabel(petIcon);
     petImage.setPreferredSize(new Dimension(70, 70));
@@ -241,12 +295,12 @@ private JPanel createGameSlotPanel(Player player, String saveFile, JDialog paren
     infoPanel.setOpaque(false);
     
     JLabel nameLabel = UIUtility.createPixelatedLabel(
-        player.getCurrentPet().getName() + " (" + petType + ")", 
+        summary.getPetName() + " (" + petType + ")", 
         16f
     );
 
     // Get the pet score of each game
-    int score = player.getScore(); 
+    int score = summary.getScore(); 
     // Display the score on the panel
     JLabel scoreLabel = UIUtility.createPixelatedLabel(
         "Score: " + score + " pts",
@@ -259,6 +313,14 @@ private JPanel createGameSlotPanel(Player player, String saveFile, JDialog paren
     // Load button
     PixelatedButton loadButton = new PixelatedButton("Load");
     loadButton.addActionListener(e -> {
+        Player player;
+        try {
+            player = summary.getPlayer();
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(parentDialog, "Error loading game: " + ex.getMessage());
+            return;
+        }
+        player = offerCheckpoint(saveFile, player, parentDialog);
         parentDialog.dispose();
         this.setVisible(false);
         new GameplayScreen(player, saveFile).setVisible(true);
@@ -269,6 +331,35 @@ private JPanel createGameSlotPanel(Player player, String saveFile, JDialog paren
     return slotPanel;
 }
 
+/**
+ * Offers to continue from the newest autosave checkpoint of a save, if the game
+ * was autosaved after it was last saved. Declined checkpoints are deleted.
+ * 
+ * @param saveFile The filename of the save
+ * @param saved The player loaded from the save
+ * @param parentDialog The parent dialog for the question
+ * @return The player to continue with
+ */
+private Player offerCheckpoint(String saveFile, Player saved, JDialog parentDialog) {
+    CheckpointService checkpoints = CheckpointService.getInstance();
+    try {
+        Player checkpoint = checkpoints.loadLatest(saveFile);
+        if (checkpoint == null) {
+            return saved;
+        }
+        int choice = JOptionPane.showConfirmDialog(parentDialog,
+            "This game was autosaved after it was last saved.\nContinue from the autosave?",
+            "Autosave Found",
+            JOptionPane.YES_NO_OPTION);
+        if (choice == JOptionPane.YES_OPTION) {
+            return checkpoint;
+        }
+        checkpoints.discard(saveFile);
+    } catch (IOException | RuntimeException e) {
+        System.err.println("Could not read the autosave of " + saveFile + ": " + e.getMessage());
+    }
+    return saved;
+}
 
     /**
      * Opens the game instructions/tutorial screen.
@@ -1,11 +1,14 @@
 package group33.VirtualPet.src.main.ui;
 
 import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.SaveMaintenance;
 import group33.VirtualPet.src.main.model.ParentalSettings;
 import group33.VirtualPet.src.main.ui.UIUtility.BackgroundPanel;
 import group33.VirtualPet.src.main.ui.UIUtility.PixelatedButton;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
@@ -49,6 +52,7 @@ import java.util.List;
  */
 public class ParentalControlsScreen extends JFrame {
     private static final String PASSWORD = "1234"; // Hardcoded password
+    private static final int MAX_LISTED_SAVES = 200; // Most saves shown in the revive dropdown
     private JPanel loginPanel;
     private JPanel controlsPanel;
     
@@ -78,6 +82,7 @@ public class ParentalControlsScreen extends JFrame {
     
     // Pet revival components
     private JComboBox<String> nameDropdown;
+    private JTextField reviveSearchField;
     private JButton revivePetActionButton;
     
     // Return to main menu
@@ -612,7 +617,22 @@ public class ParentalControlsScreen extends JFrame {
         JPanel selectionPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         selectionPanel.setOpaque(false);
         
+        JLabel searchLabel = UIUtility.createPixelatedLabel2("Search: ", 13f, Color.WHITE);
         JLabel selectLabel = UIUtility.createPixelatedLabel2("Select Pet: ", 13f, Color.WHITE);
+        
+        // Filter the dropdown by save or pet name as the parent types
+        reviveSearchField = new JTextField(10);
+        reviveSearchField.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 14));
+        reviveSearchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { refreshSaveFileList(); }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) { refreshSaveFileList(); }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) { refreshSaveFileList(); }
+        });
     
         // Create the combo box
         nameDropdown = new JComboBox<>();
@@ -632,14 +652,15 @@ public class ParentalControlsScreen extends JFrame {
                     int index, boolean isSelected, boolean cellHasFocus) {
                 super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
                 if (value != null) {
-                    String displayName = value.toString().replace("_save.csv", "").replace(".csv", "").replace("_", " ").trim();
-                    setText(displayName.isEmpty() ? value.toString() : displayName);
+                    setText(GameSaveManager.getDisplayName(value.toString()));
                 }
                 return this;
             }
         });
         
         // Add components to selection panel
+        selectionPanel.add(searchLabel);
+        selectionPanel.add(reviveSearchField);
         selectionPanel.add(selectLabel);
         selectionPanel.add(nameDropdown);
         
@@ -657,6 +678,13 @@ public class ParentalControlsScreen extends JFrame {
         gbc.insets = new Insets(20, 150, 20, 150);
         panel.add(revivePetActionButton, gbc);
         
+        // Revive every dead pet in one pass
+        PixelatedButton reviveAllButton = new UIUtility.PixelatedButton("Revive All Pets");
+        reviveAllButton.addActionListener(e -> reviveAllPets(reviveAllButton));
+        
+        gbc.insets = new Insets(0, 150, 0, 150);
+        panel.add(reviveAllButton, gbc);
+        
         // Refresh button
         PixelatedButton refreshButton = new UIUtility.PixelatedButton("Refresh Pet List");
         refreshButton.addActionListener(e -> refreshSaveFileList());
@@ -715,11 +743,8 @@ public class ParentalControlsScreen extends JFrame {
     private void saveCurrentSessionTime() {
         try {
             if (currentSettings != null) {
-                // End the current session
-                currentSettings.endSession();
-                
-                // Save updated settings
-                GameSaveManager.saveParentalSettings(currentSettings);
+                // End the current session, save the settings and add it to the history
+                GameSaveManager.endPlaySession(currentSettings);
                 
                 // Reset current session counter
                 currentSessionSeconds = 0;
@@ -955,24 +980,21 @@ public class ParentalControlsScreen extends JFrame {
     }
     
     /**
-     * Refreshes the save file dropdown list from GameSaveManager.
+     * Refreshes the save file dropdown list from the save index, keeping only
+     * saves whose save or pet name starts with the search text (save name only
+     * while the index is still being built).
      * Disables revive button if no save files found.
      */
      private void refreshSaveFileList() {
          nameDropdown.removeAllItems();
-         List<String> saveFiles = GameSaveManager.listSaveFiles();
+         String search = reviveSearchField.getText().trim();
+         // Matches come back sorted by name, so no sorting is needed here
+         List<String> saveFiles = GameSaveManager.findSavesByName(search, MAX_LISTED_SAVES);
          
          if (saveFiles.isEmpty()) {
-             nameDropdown.addItem("No pets found");
+             nameDropdown.addItem(search.isEmpty() ? "No pets found" : "No matching pets");
              revivePetActionButton.setEnabled(false);
          } else {
-             // Sort files alphabetically by pet name
-             saveFiles.sort((f1, f2) -> {
-                 String name1 = f1.replace("_save.csv", "").replace(".csv", "");
-                 String name2 = f2.replace("_save.csv", "").replace(".csv", "");
-                 return name1.compareToIgnoreCase(name2);
-             });
-             
              saveFiles.forEach(nameDropdown::addItem);
              revivePetActionButton.setEnabled(true);
          }
@@ -996,8 +1018,8 @@ public class ParentalControlsScreen extends JFrame {
         try {
             boolean success = GameSaveManager.revivePet(selectedFile);
             // Convert file name to string to split it.
-            String displayName = selectedFile.toString().replace("_save.csv", "").replace(".csv", "").replace("_", " ").trim();
-            setTitle(displayName.isEmpty() ? selectedFile.toString() : displayName);
+            String displayName = GameSaveManager.getDisplayName(selectedFile);
+            setTitle(displayName);
 
             if (success) {
                 JOptionPane.showMessageDialog(this,
@@ -1018,6 +1040,43 @@ public class ParentalControlsScreen extends JFrame {
         }
     }
     
+    /**
+     * Revives the dead pets in every save file.
+     * The saves are processed in the background so the screen stays responsive.
+     * @param button The button that started the pass, disabled until it finishes
+     */
+    private void reviveAllPets(JButton button) {
+        button.setEnabled(false);
+        new SwingWorker<SaveMaintenance.Report, Void>() {
+            @Override
+            protected SaveMaintenance.Report doInBackground() {
+                return SaveMaintenance.run(SaveMaintenance.REVIVE_DEAD_PETS);
+            }
+            
+            @Override
+            protected void done() {
+                button.setEnabled(true);
+                try {
+                    SaveMaintenance.Report report = get();
+                    String message = report.getChanged() + " pet(s) revived out of " + report.getScanned() + " save file(s).";
+                    if (report.getFailed() > 0) {
+                        message += "\n" + report.getFailed() + " save file(s) could not be processed: "
+                            + String.join(", ", report.getFailures().keySet());
+                    }
+                    JOptionPane.showMessageDialog(ParentalControlsScreen.this,
+                        message,
+                        "Pets Revived",
+                        report.getFailed() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(ParentalControlsScreen.this,
+                        "Error reviving pets: " + e.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
 
     
         /**
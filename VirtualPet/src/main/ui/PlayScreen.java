@@ -1,6 +1,6 @@
 package group33.VirtualPet.src.main.ui;
 
-import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.AsyncSaveService;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager.ScreenType;
 import group33.VirtualPet.src.main.model.Pet;
@@ -190,15 +190,18 @@ public class PlayScreen extends JFrame {
 
             // Save game if there is a file
             if (!currentSaveFilename.isEmpty()) {
-                try {
-                    GameSaveManager.saveGame(player, currentSaveFilename);
-                    showMessage("Play time complete!\n+" + SCORE_INCREASE + " points\n" +
-                               "Happiness +" + HAPPINESS_INCREASE + 
-                               "\nYour current score: " + player.getScore());
-                } catch (Exception ex) {
-                    showMessage("Error saving game: " + ex.getMessage(), 
-                              "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                // Save in the background and only report back if the write fails
+                AsyncSaveService.getInstance().saveAsync(player, currentSaveFilename)
+                    .whenComplete((saved, ex) -> {
+                        if (ex != null) {
+                            SwingUtilities.invokeLater(() -> 
+                                showMessage("Error saving game: " + ex.getMessage(), 
+                                          "Error", JOptionPane.ERROR_MESSAGE));
+                        }
+                    });
+                showMessage("Play time complete!\n+" + SCORE_INCREASE + " points\n" +
+                           "Happiness +" + HAPPINESS_INCREASE + 
+                           "\nYour current score: " + player.getScore());
             } else {
                 showMessage("Play time complete!\n+" + SCORE_INCREASE + " points\n" +
                 "Happiness +" + HAPPINESS_INCREASE + 
@@ -1,7 +1,7 @@
 
 package group33.VirtualPet.src.main.ui;
 
-import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.AsyncSaveService;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager;
 import group33.VirtualPet.src.main.game.TimeRestrictionManager.ScreenType;
 import group33.VirtualPet.src.main.model.Pet;
@@ -196,21 +196,24 @@ public class VetScreen extends JFrame {
         
                         // Save and show message if file exists
                         if (!currentSaveFilename.isEmpty()) {
-                            try {
-                                GameSaveManager.saveGame(player, currentSaveFilename);
-                                JOptionPane.showMessageDialog(VetScreen.this,
-                                        "Treatment successful! Your pet is feeling better.",
-                                        "Treatment Complete",
-                                        JOptionPane.INFORMATION_MESSAGE);
-                                        // Disable button during cooldown
-                                        treatButton.setEnabled(false);
-                                        treatButton.setText("Cooling Down...");
-                            } catch (Exception ex) {
-                                JOptionPane.showMessageDialog(VetScreen.this,
-                                        "Error saving game: " + ex.getMessage(),
-                                        "Save Error",
-                                        JOptionPane.ERROR_MESSAGE);
-                            }
+                            // Save in the background and only report back if the write fails
+                            AsyncSaveService.getInstance().saveAsync(player, currentSaveFilename)
+                                .whenComplete((saved, ex) -> {
+                                    if (ex != null) {
+                                        SwingUtilities.invokeLater(() -> 
+                                            JOptionPane.showMessageDialog(VetScreen.this,
+                                                    "Error saving game: " + ex.getMessage(),
+                                                    "Save Error",
+                                                    JOptionPane.ERROR_MESSAGE));
+                                    }
+                                });
+                            JOptionPane.showMessageDialog(VetScreen.this,
+                                    "Treatment successful! Your pet is feeling better.",
+                                    "Treatment Complete",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                                    // Disable button during cooldown
+                                    treatButton.setEnabled(false);
+                                    treatButton.setText("Cooling Down...");
                         } else {
                             // Show success message for unsaved games
                             JOptionPane.showMessageDialog(VetScreen.this,
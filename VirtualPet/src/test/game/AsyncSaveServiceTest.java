@@ -0,0 +1,89 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.AsyncSaveService;
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AsyncSaveService functionality.
+ * Tests that background saves reach the disk, coalesce per file and are visible to loadGame.
+ *
+ * @author Team 33
+ */
+class AsyncSaveServiceTest {
+
+    private static final String TEST_SAVE_FILE = "async_test_save.csv";
+    private Player testPlayer;
+
+    @BeforeEach
+    void setUp() {
+        testPlayer = new Player("AsyncPlayer");
+        testPlayer.adoptPet(new Pet("AsyncPet", Pet.PetType.FROG));
+    }
+
+    @AfterEach
+    void tearDown() {
+        File testFile = new File("group33/VirtualPet/src/main/save_files", TEST_SAVE_FILE);
+        if (testFile.exists()) {
+            testFile.delete();
+        }
+    }
+
+    @Test
+    void testSaveAsyncWritesFile() throws Exception {
+        testPlayer.setScore(42);
+
+        AsyncSaveService.getInstance().saveAsync(testPlayer, TEST_SAVE_FILE).get(5, TimeUnit.SECONDS);
+
+        Player loaded = GameSaveManager.loadGame(TEST_SAVE_FILE);
+        assertNotNull(loaded, "Loaded player should not be null");
+        assertEquals(42, loaded.getScore(), "Score written in the background should be loaded");
+    }
+
+    @Test
+    void testLatestSaveWins() throws Exception {
+        AsyncSaveService service = AsyncSaveService.getInstance();
+
+        testPlayer.setScore(1);
+        CompletableFuture<Void> first = service.saveAsync(testPlayer, TEST_SAVE_FILE);
+        testPlayer.setScore(2);
+        CompletableFuture<Void> second = service.saveAsync(testPlayer, TEST_SAVE_FILE);
+        testPlayer.setScore(3);
+        CompletableFuture<Void> third = service.saveAsync(testPlayer, TEST_SAVE_FILE);
+
+        CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, GameSaveManager.loadGame(TEST_SAVE_FILE).getScore(), "Only the latest state should end up on disk");
+    }
+
+    @Test
+    void testSnapshotTakenAtRequestTime() throws Exception {
+        testPlayer.setScore(10);
+        CompletableFuture<Void> save = AsyncSaveService.getInstance().saveAsync(testPlayer, TEST_SAVE_FILE);
+
+        // Changes after the request should not leak into the queued save
+        testPlayer.setScore(99);
+        save.get(5, TimeUnit.SECONDS);
+
+        assertEquals(10, GameSaveManager.loadGame(TEST_SAVE_FILE).getScore(), "Save should capture the state when it was requested");
+    }
+
+    @Test
+    void testLoadWaitsForPendingSave() throws Exception {
+        testPlayer.setScore(77);
+        AsyncSaveService.getInstance().saveAsync(testPlayer, "async_test_save");
+
+        // loadGame should see the queued save without waiting on the future
+        assertEquals(77, GameSaveManager.loadGame(TEST_SAVE_FILE).getScore(), "Load should wait for a pending save of the same file");
+    }
+}
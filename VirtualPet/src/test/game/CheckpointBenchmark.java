@@ -0,0 +1,80 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.CheckpointService;
+import group33.VirtualPet.src.main.game.CsvDirectoryStorage;
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of checkpoint autosaves with many active players.
+ * Every round, each pet ticks as in the game (so every game changed), and
+ * then every game is checkpointed. The cost of a round is compared with the
+ * default checkpoint interval to get the share of one CPU spent autosaving.
+ * Not part of the unit test run; start it with {@code main}, optionally passing
+ * the number of players (default 10000) and the number of rounds (default 5).
+ *
+ * @author Team 33
+ */
+public class CheckpointBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SaveStorage originalStorage = GameSaveManager.getStorage();
+        Path workDir = Files.createTempDirectory("checkpoint_benchmark");
+        try {
+            run("in memory", new InMemorySaveStorage(), players, rounds);
+            run("csv directory", new CsvDirectoryStorage(workDir.resolve("csv").toString(),
+                workDir.resolve("parental_settings.csv").toString()), players, rounds);
+        } finally {
+            GameSaveManager.setStorage(originalStorage);
+            try (Stream<Path> paths = Files.walk(workDir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(String label, SaveStorage storage, int count, int rounds) {
+        GameSaveManager.setStorage(storage);
+        CheckpointService checkpoints = new CheckpointService(CheckpointService.DEFAULT_CHECKPOINTS);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("Player" + i);
+            player.adoptPet(new Pet("Pet" + i, Pet.PetType.values()[i % Pet.PetType.values().length]));
+            players.add(player);
+            checkpoints.track(player, "player" + i + "_save");
+        }
+
+        // Idle round: nothing changed, so nothing is serialized
+        checkpoints.checkpointAll();
+        long idleNanos = checkpoints.getCheckpointNanos();
+
+        for (int round = 0; round < rounds; round++) {
+            for (Player player : players) {
+                player.getCurrentPet().updateStatistics();
+            }
+            checkpoints.checkpointAll();
+            checkpoints.flush();
+        }
+        double callerMillis = (checkpoints.getCheckpointNanos() - idleNanos) / 1e6 / rounds;
+        double writerMillis = checkpoints.getWriteNanos() / 1e6 / rounds;
+        double share = 100.0 * (callerMillis + writerMillis) / CheckpointService.DEFAULT_INTERVAL_MILLIS;
+
+        System.out.printf("%-14s %d players: idle round %.2f ms | changed round %.1f ms caller + %.1f ms writer"
+                + " | %.2f%% of one CPU every %d s (%d written)%n",
+            label, count, idleNanos / 1e6, callerMillis, writerMillis, share,
+            CheckpointService.DEFAULT_INTERVAL_MILLIS / 1000, checkpoints.getCheckpointsWritten());
+    }
+}
@@ -0,0 +1,128 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.CheckpointService;
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CheckpointService.
+ * Checkpoints games kept in memory and checks that only changed games are
+ * written, that old checkpoints roll over, that damaged ones are skipped and
+ * that saving drops them.
+ *
+ * @author Team 33
+ */
+class CheckpointServiceTest {
+
+    private SaveStorage originalStorage;
+    private SaveStorage storage;
+    private CheckpointService checkpoints;
+    private Player player;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalStorage = GameSaveManager.getStorage();
+        storage = new InMemorySaveStorage();
+        GameSaveManager.setStorage(storage);
+        checkpoints = new CheckpointService(3);
+
+        player = new Player("Checkpointer");
+        player.adoptPet(new Pet("Ckpt", Pet.PetType.PENGUIN));
+        GameSaveManager.saveGame(player, "ckpt_save");
+        checkpoints.track(player, "ckpt_save");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameSaveManager.setStorage(originalStorage);
+    }
+
+    @Test
+    void testOnlyChangedGamesAreCheckpointed() throws IOException {
+        assertEquals(0, checkpoints.checkpointAll(), "An unchanged game should not be checkpointed");
+        assertNull(checkpoints.loadLatest("ckpt_save"), "There should be no checkpoint yet");
+
+        player.getCurrentPet().setHealth(42);
+        assertEquals(1, checkpoints.checkpointAll(), "A changed pet should be checkpointed");
+        checkpoints.flush();
+        assertEquals(0, checkpoints.checkpointAll(), "Nothing changed since the last checkpoint");
+
+        player.getInventory().useFoodItem(player.getInventory().getFoodItems().keySet().iterator().next());
+        assertEquals(1, checkpoints.checkpointAll(), "A changed inventory should be checkpointed");
+        checkpoints.flush();
+
+        Player restored = checkpoints.loadLatest("ckpt_save");
+        assertNotNull(restored, "The checkpoint should load");
+        assertEquals(42, restored.getCurrentPet().getHealth(), "The checkpoint should hold the latest state");
+        assertEquals(2, checkpoints.getCheckpointsWritten(), "Two checkpoints should have been written");
+        assertEquals(List.of("ckpt_save.csv"), storage.list(), "Checkpoints should not be listed as saves");
+    }
+
+    @Test
+    void testCheckpointsRollOver() throws IOException {
+        for (int score = 1; score <= 5; score++) {
+            player.setScore(score);
+            checkpoints.checkpointAll();
+            checkpoints.flush();
+        }
+        assertEquals(5, checkpoints.loadLatest("ckpt_save").getScore(), "The newest of the rolling checkpoints should load");
+
+        // Reopening the game continues after the newest checkpoint instead of overwriting it
+        CheckpointService reopened = new CheckpointService(3);
+        reopened.track(player, "ckpt_save");
+        player.setScore(6);
+        reopened.checkpointAll();
+        reopened.flush();
+        assertEquals(6, reopened.loadLatest("ckpt_save").getScore(), "A new session should keep numbering checkpoints");
+    }
+
+    @Test
+    void testDamagedCheckpointIsSkipped() throws IOException {
+        player.setScore(7);
+        checkpoints.checkpointAll();
+        checkpoints.flush();
+
+        // A newer checkpoint cut short by a crash, in the next free slot
+        String intact = storage.readCheckpoint("ckpt_save.csv.ckpt0");
+        String torn = "Checkpoint,100\n" + intact.substring(intact.indexOf('\n') + 1, intact.length() / 2);
+        storage.writeCheckpoint("ckpt_save.csv.ckpt1", torn);
+
+        assertEquals(7, checkpoints.loadLatest("ckpt_save").getScore(),
+            "A damaged checkpoint should be skipped for the newest intact one");
+    }
+
+    @Test
+    void testSavingAnUntrackedGameDropsItsCheckpoints() throws IOException {
+        player.setScore(5);
+        checkpoints.checkpointAll();
+        checkpoints.flush();
+        checkpoints.untrack("ckpt_save");
+
+        // As when an activity screen saves after the gameplay screen closed
+        player.setScore(10);
+        GameSaveManager.saveGame(player, "ckpt_save");
+        CheckpointService.getInstance().flush();
+        assertNull(checkpoints.loadLatest("ckpt_save"), "A checkpoint older than the save should not be offered");
+    }
+
+    @Test
+    void testDiscardDropsCheckpoints() throws IOException {
+        player.setScore(99);
+        checkpoints.checkpointAll();
+        checkpoints.discard("ckpt_save");
+        checkpoints.flush();
+        assertNull(checkpoints.loadLatest("ckpt_save"), "Discarded checkpoints should be gone");
+        assertEquals(0, GameSaveManager.loadGame("ckpt_save").getScore(), "The save itself should be untouched");
+    }
+}
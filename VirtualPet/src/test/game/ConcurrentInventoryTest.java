@@ -0,0 +1,154 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.ConcurrentInventory;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ConcurrentInventory.
+ * Changes one inventory from several threads at once and checks that no
+ * change is lost, that items are never used below zero and that adding
+ * still saturates at Integer.MAX_VALUE, and that snapshots taken during
+ * changes are never kept as current.
+ *
+ * @author Team 33
+ */
+class ConcurrentInventoryTest {
+
+    private static final int THREADS = 4;
+
+    private ConcurrentInventory inventory;
+    private ExecutorService executor;
+    private Inventory.FoodItem apple;
+    private Inventory.GiftItem ball;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new ConcurrentInventory();
+        executor = Executors.newFixedThreadPool(THREADS);
+        apple = ItemCatalog.food("Apple", 5);
+        ball = ItemCatalog.gift("Ball", 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testStartsLikeAnInventory() {
+        assertEquals(new Inventory().getFoodItems(), inventory.getFoodItems(), "The default food items should match");
+        assertEquals(new Inventory().getGiftItems(), inventory.getGiftItems(), "The default gift items should match");
+    }
+
+    @Test
+    void testConcurrentAddsAreNotLost() throws Exception {
+        int start = inventory.getFoodQuantity(apple);
+        long version = inventory.getVersion();
+        runOnAllThreads(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                inventory.addFoodItem(apple, 1);
+            }
+            return 0;
+        });
+        assertEquals(start + THREADS * 10_000, inventory.getFoodQuantity(apple), "Every add should be counted");
+        assertEquals(version + THREADS * 10_000, inventory.getVersion(), "Every add should bump the version");
+    }
+
+    @Test
+    void testConcurrentUsesNeverGoBelowZero() throws Exception {
+        inventory.addGiftItem(ball, 10_000 - inventory.getGiftQuantity(ball));
+        List<Integer> used = runOnAllThreads(() -> {
+            int count = 0;
+            while (inventory.useGiftItem(ball)) {
+                count++;
+            }
+            return count;
+        });
+        assertEquals(10_000, used.stream().mapToInt(Integer::intValue).sum(), "Each ball should be used exactly once");
+        assertEquals(0, inventory.getGiftQuantity(ball), "No balls should be left");
+        assertTrue(inventory.getGiftItems().containsKey(ball), "A used up item should stay listed");
+    }
+
+    @Test
+    void testConcurrentAddsSaturate() throws Exception {
+        inventory.addFoodItem(apple, Integer.MAX_VALUE - 100);
+        runOnAllThreads(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                inventory.addFoodItem(apple, 1);
+            }
+            return 0;
+        });
+        assertEquals(Integer.MAX_VALUE, inventory.getFoodQuantity(apple), "Adding should cap at Integer.MAX_VALUE");
+    }
+
+    @Test
+    void testNewItemsFromSeveralThreads() throws Exception {
+        runOnAllThreads(() -> {
+            for (int i = 0; i < 100; i++) {
+                inventory.addFoodItem(ItemCatalog.food("Concurrent Snack " + i, i), 1);
+            }
+            return 0;
+        });
+        assertEquals(THREADS, inventory.getFoodQuantity(ItemCatalog.food("Concurrent Snack 99", 99)),
+            "Items first seen on different threads should share one count");
+        assertEquals(inventory.getFoodItems().size(), inventory.getFoodItemsView().size(),
+            "The view size should match the number of items");
+    }
+
+    @Test
+    void testSnapshotsRacingAddsAreNeverStale() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            AtomicInteger roles = new AtomicInteger();
+            AtomicBoolean adding = new AtomicBoolean(true);
+            runOnAllThreads(() -> {
+                if (roles.getAndIncrement() == 0) {
+                    for (int i = 0; i < 2_000; i++) {
+                        inventory.addFoodItem(apple, 1);
+                    }
+                    adding.set(false);
+                } else {
+                    while (adding.get()) {
+                        inventory.getFoodItemsSnapshot();
+                    }
+                }
+                return 0;
+            });
+            // Once the adds are done, a snapshot cached during them must not be served as current
+            assertEquals(inventory.getFoodQuantity(apple), inventory.getFoodItemsSnapshot().get(apple),
+                "The snapshot after the adds should show every add");
+        }
+    }
+
+    private <T> List<T> runOnAllThreads(Callable<T> task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                return task.call();
+            }));
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,66 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.CooldownManager;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for CooldownManager.
+ * Checks starting and ending cooldowns, finding the next one to end, and the
+ * last play and vet times kept on Player.
+ *
+ * @author Team 33
+ */
+class CooldownManagerTest {
+
+    @Test
+    void testCooldownLastsItsDuration() {
+        CooldownManager cooldowns = new CooldownManager();
+        assertTrue(cooldowns.isReady(CooldownManager.Action.PLAY, 1000), "Actions start out ready");
+
+        cooldowns.start(CooldownManager.Action.PLAY, 1000);
+        long duration = CooldownManager.Action.PLAY.getDurationMillis();
+        assertFalse(cooldowns.isReady(CooldownManager.Action.PLAY, 1000 + duration - 1), "Play should wait out its cooldown");
+        assertEquals(1, cooldowns.getRemainingMillis(CooldownManager.Action.PLAY, 1000 + duration - 1), "One millisecond should be left");
+        assertTrue(cooldowns.isReady(CooldownManager.Action.PLAY, 1000 + duration), "Play should be ready once the cooldown ends");
+        assertTrue(cooldowns.isReady(CooldownManager.Action.VET, 1000), "Playing should not start the vet cooldown");
+
+        cooldowns.start(CooldownManager.Action.BATTLE, 1000);
+        assertTrue(cooldowns.isReady(CooldownManager.Action.BATTLE, 1000), "Battles have no cooldown");
+    }
+
+    @Test
+    void testNextExpiryAcrossActions() {
+        CooldownManager cooldowns = new CooldownManager();
+        assertEquals(CooldownManager.NONE, cooldowns.getNextExpiry(0), "No cooldown is running yet");
+
+        cooldowns.start(CooldownManager.Action.PLAY, 5000);
+        cooldowns.start(CooldownManager.Action.VET, 2000);
+        long vetEnd = 2000 + CooldownManager.Action.VET.getDurationMillis();
+        long playEnd = 5000 + CooldownManager.Action.PLAY.getDurationMillis();
+        assertEquals(vetEnd, cooldowns.getNextExpiry(3000), "The vet cooldown ends first");
+        assertEquals(playEnd, cooldowns.getNextExpiry(vetEnd), "Once the vet is ready, the play cooldown is next");
+        assertEquals(CooldownManager.NONE, cooldowns.getNextExpiry(playEnd), "Everything is ready at the end");
+
+        cooldowns.clear();
+        assertEquals(CooldownManager.NONE, cooldowns.getNextExpiry(3000), "Clearing should end every cooldown");
+    }
+
+    @Test
+    void testPlayerLastTimesUseCooldowns() {
+        Player player = new Player("Cooldowns");
+        long version = player.getVersion();
+        player.setLastV(10_000);
+        assertEquals(10_000, player.getLastV(), "The last vet visit should be kept");
+        assertEquals(10_000 + CooldownManager.Action.VET.getDurationMillis(),
+            player.getCooldowns().getExpiry(CooldownManager.Action.VET), "Setting the last visit should set the cooldown");
+        assertNotEquals(version, player.getVersion(), "Changing a cooldown should change the player's version");
+
+        version = player.getVersion();
+        player.getCooldowns().start(CooldownManager.Action.PLAY, 20_000);
+        assertEquals(20_000, player.getLastP(), "Starting the play cooldown should set the last play time");
+        assertNotEquals(version, player.getVersion(), "Starting a cooldown should change the player's version");
+    }
+}
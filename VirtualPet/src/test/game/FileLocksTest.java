@@ -0,0 +1,140 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.CsvDirectoryStorage;
+import group33.VirtualPet.src.main.game.FileLocks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FileLocks.
+ * Checks that shared and exclusive locks exclude each other and time out, and
+ * that CsvDirectoryStorage keeps saves whole under concurrent writers.
+ *
+ * @author Team 33
+ */
+class FileLocksTest {
+
+    private Path workDir;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("file_locks_test");
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testSharedLocksCoexist() throws Exception {
+        Path file = workDir.resolve("save.csv");
+        FileLocks.Held first = FileLocks.shared(file);
+        try {
+            Future<Boolean> second = executor.submit(() -> {
+                FileLocks.acquire(file, true, 500).release();
+                return true;
+            });
+            assertTrue(second.get(), "A second reader should not wait for the first");
+        } finally {
+            first.release();
+        }
+        assertTrue(Files.exists(workDir.resolve(FileLocks.LOCK_FILE_NAME)), "The lock should be taken on the directory's lock file");
+    }
+
+    @Test
+    void testOneLockFilePerDirectory() throws Exception {
+        Path first = workDir.resolve("first.csv");
+        Path second = workDir.resolve("second.csv");
+        FileLocks.Held writer = FileLocks.exclusive(first);
+        try {
+            Future<?> other = executor.submit(() -> {
+                FileLocks.acquire(second, false, 500).release();
+                return null;
+            });
+            assertDoesNotThrow(() -> other.get(), "Locking one save should not block writers of another");
+        } finally {
+            writer.release();
+        }
+        for (int i = 0; i < 20; i++) {
+            FileLocks.exclusive(workDir.resolve("save" + i + ".csv")).release();
+        }
+
+        try (Stream<Path> paths = Files.list(workDir)) {
+            assertEquals(List.of(workDir.resolve(FileLocks.LOCK_FILE_NAME)), paths.collect(Collectors.toList()),
+                "Only one lock file should be created, however many saves are locked");
+        }
+        FileLocks.exclusive(first).release(); // the lock file can be opened again after it was closed
+    }
+
+    @Test
+    void testExclusiveLockTimesOut() throws Exception {
+        Path file = workDir.resolve("save.csv");
+        FileLocks.Held writer = FileLocks.exclusive(file);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                FileLocks.acquire(file, true, 100).release();
+                return null;
+            });
+            Exception e = assertThrows(Exception.class, reader::get, "A reader should time out while a writer holds the lock");
+            assertTrue(e.getCause() instanceof IOException, "Timing out should be reported as an IOException");
+        } finally {
+            writer.release();
+        }
+
+        // Once released, the lock can be taken again
+        Future<?> reader = executor.submit(() -> {
+            FileLocks.acquire(file, true, 100).release();
+            return null;
+        });
+        assertDoesNotThrow(() -> reader.get(), "The lock should be free after it is released");
+    }
+
+    @Test
+    void testConcurrentWritersKeepSavesWhole() throws Exception {
+        CsvDirectoryStorage storage = new CsvDirectoryStorage(workDir.toString(), workDir.resolve("settings.csv").toString());
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            padding.append("Food Item,Apple,1\n");
+        }
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            String contents = "Writer," + writer + "\n" + padding + "End," + writer + "\n";
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < 25; i++) {
+                    storage.write("shared.csv", contents);
+                    String read = storage.read("shared.csv");
+                    String[] lines = read.split("\n");
+                    assertEquals(lines[0].substring("Writer,".length()), lines[lines.length - 1].substring("End,".length()),
+                        "A save should never mix the contents of two writers");
+                }
+                return null;
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        assertEquals(List.of("shared.csv"), storage.list(), "Only the save should be listed, not lock or temporary files");
+    }
+}
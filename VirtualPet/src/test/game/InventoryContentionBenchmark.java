@@ -0,0 +1,119 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.ConcurrentInventory;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures inventory throughput when several threads change the same inventory.
+ * Each thread alternates adding and using items, either all on one hot item or
+ * each on an item of its own. A plain Inventory guarded by one lock is compared
+ * with ConcurrentInventory, and the final quantities are checked so a lost
+ * update shows up as an error rather than a fast result.
+ * Not part of the unit test run; start it with {@code main}, optionally passing
+ * the highest number of threads (default 8) and the operations per thread
+ * (default 2000000).
+ *
+ * @author Team 33
+ */
+public class InventoryContentionBenchmark {
+
+    /**
+     * The operations being measured, so both inventories run the same loop.
+     */
+    private interface Target {
+        void add(Inventory.FoodItem item);
+        boolean use(Inventory.FoodItem item);
+        int quantity(Inventory.FoodItem item);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        // Warm up both inventories before measuring
+        compare(maxThreads, operations / 4, true);
+
+        for (boolean hot : new boolean[] {true, false}) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                double[] opsPerMicro = compare(threads, operations, hot);
+                System.out.printf("%-11s %d threads: locked %6.1f Mops/s | concurrent %6.1f Mops/s | %.1fx%n",
+                    hot ? "one item" : "own items", threads, opsPerMicro[0], opsPerMicro[1], opsPerMicro[1] / opsPerMicro[0]);
+            }
+        }
+    }
+
+    private static double[] compare(int threads, int operations, boolean hot) throws Exception {
+        Inventory locked = new Inventory();
+        double lockedOps = run(new Target() {
+            public synchronized void add(Inventory.FoodItem item) { locked.addFoodItem(item, 1); }
+            public synchronized boolean use(Inventory.FoodItem item) { return locked.useFoodItem(item); }
+            public synchronized int quantity(Inventory.FoodItem item) { return locked.getFoodQuantity(item); }
+        }, threads, operations, hot);
+
+        ConcurrentInventory concurrent = new ConcurrentInventory();
+        double concurrentOps = run(new Target() {
+            public void add(Inventory.FoodItem item) { concurrent.addFoodItem(item, 1); }
+            public boolean use(Inventory.FoodItem item) { return concurrent.useFoodItem(item); }
+            public int quantity(Inventory.FoodItem item) { return concurrent.getFoodQuantity(item); }
+        }, threads, operations, hot);
+        return new double[] {lockedOps, concurrentOps};
+    }
+
+    private static double run(Target target, int threads, int operations, boolean hot) throws Exception {
+        List<Inventory.FoodItem> items = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            items.add(ItemCatalog.food(hot ? "Contended Apple" : "Contended Apple " + i, 5));
+        }
+        int[] before = new int[threads];
+        for (int i = 0; i < threads; i++) {
+            before[i] = target.quantity(items.get(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        List<Future<Long>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Inventory.FoodItem item = items.get(t);
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                long used = 0;
+                for (int i = 0; i < operations; i += 2) {
+                    target.add(item);
+                    if (target.use(item)) {
+                        used++;
+                    }
+                }
+                return used;
+            }));
+        }
+        long used = 0;
+        for (Future<Long> future : futures) {
+            used += future.get();
+        }
+        long nanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        // Every add is followed by a use of the same item, so each use must succeed
+        long expectedUses = (long) threads * ((operations + 1) / 2);
+        for (int i = 0; i < threads; i++) {
+            if (target.quantity(items.get(i)) != before[i]) {
+                throw new IllegalStateException("Lost update: quantity changed from " + before[i]
+                    + " to " + target.quantity(items.get(i)));
+            }
+        }
+        if (used != expectedUses) {
+            throw new IllegalStateException("Expected " + expectedUses + " uses but got " + used);
+        }
+        return (double) threads * operations / nanos * 1e3;
+    }
+}
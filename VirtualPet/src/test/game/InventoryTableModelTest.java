@@ -0,0 +1,97 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.InventoryEvent;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.ui.InventoryTableModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for inventory change events and InventoryTableModel.
+ * Checks that each change to an inventory is reported for just the item that
+ * changed, and that the table model turns those reports into row updates.
+ *
+ * @author Team 33
+ */
+class InventoryTableModelTest {
+
+    private Inventory inventory;
+    private List<InventoryEvent> events;
+    private Inventory.FoodItem apple;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new Inventory();
+        events = new ArrayList<>();
+        inventory.addInventoryListener(events::add);
+        apple = ItemCatalog.food("Apple", 5);
+    }
+
+    @Test
+    void testEventsNameTheChangedItem() {
+        inventory.useFoodItem(apple);
+        inventory.addGiftItem(ItemCatalog.gift("Kite", 12), 2);
+        inventory.useFoodItem(ItemCatalog.food("Banana", 8));
+
+        assertEquals(2, events.size(), "A failed use should not be reported");
+        assertEquals(InventoryEvent.Type.QUANTITY_CHANGED, events.get(0).getType(), "Using an apple changes its quantity");
+        assertSame(apple, events.get(0).getFoodItem(), "The event should name the apple");
+        assertEquals(3, events.get(0).getQuantity(), "The event should carry the new quantity");
+        assertEquals(InventoryEvent.Type.ITEM_ADDED, events.get(1).getType(), "A new gift should be reported as added");
+        assertFalse(events.get(1).isFood(), "The kite is a gift");
+
+        events.clear();
+        int items = inventory.getFoodItems().size() + inventory.getGiftItems().size();
+        inventory.clear();
+        assertEquals(items, events.size(), "Clearing should report every item");
+        assertTrue(events.stream().allMatch(e -> e.getType() == InventoryEvent.Type.ITEM_REMOVED), "Every item should be removed");
+    }
+
+    @Test
+    void testTableModelUpdatesOnlyChangedRows() throws Exception {
+        List<TableModelEvent> tableEvents = new ArrayList<>();
+        InventoryTableModel[] model = new InventoryTableModel[1];
+        SwingUtilities.invokeAndWait(() -> {
+            model[0] = new InventoryTableModel(inventory, true);
+            model[0].addTableModelListener(tableEvents::add);
+
+            int rows = model[0].getRowCount();
+            int appleRow = findRow(model[0], "Apple");
+            inventory.useFoodItem(apple);
+            assertEquals(1, tableEvents.size(), "Using an item should change one row");
+            assertEquals(appleRow, tableEvents.get(0).getFirstRow(), "Only the apple row should change");
+            assertEquals(appleRow, tableEvents.get(0).getLastRow(), "Only the apple row should change");
+            assertEquals(TableModelEvent.UPDATE, tableEvents.get(0).getType(), "The row should be updated in place");
+            assertEquals(3, model[0].getValueAt(appleRow, 1), "The row should show the new quantity");
+
+            inventory.addFoodItem(ItemCatalog.food("Pie", 25), 1);
+            assertEquals(rows + 1, model[0].getRowCount(), "A new item should add a row");
+            assertEquals(TableModelEvent.INSERT, tableEvents.get(1).getType(), "The row should be inserted");
+            assertEquals("Fullness: +25", model[0].getValueAt(rows, 2), "The new row should show the item's effect");
+
+            inventory.addGiftItem(ItemCatalog.gift("Ball", 5), 1);
+            assertEquals(2, tableEvents.size(), "Gift changes should not touch the food table");
+
+            model[0].detach();
+            inventory.useFoodItem(apple);
+            assertEquals(2, tableEvents.size(), "A detached model should not follow the inventory");
+        });
+    }
+
+    private static int findRow(InventoryTableModel model, String name) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            if (name.equals(model.getValueAt(row, 0))) {
+                return row;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,6 +1,7 @@
 package group33.VirtualPet.src.test.game;
 
 import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
@@ -435,7 +436,83 @@ class InventoryTest {
         boolean result = inventory.useFoodItem(apple);
         assertFalse(result, "Should return false when item is no longer available");
     }
-    
+
+    @Test
+    void testEqualItemsShareCatalogId() {
+        Inventory.FoodItem otherApple = new Inventory.FoodItem("Apple", 5);
+        assertEquals(ItemCatalog.foodId(apple), ItemCatalog.foodId(otherApple), "Equal items should share an id");
+        assertNotEquals(ItemCatalog.foodId(apple), ItemCatalog.foodId(banana), "Different items should have different ids");
+        assertTrue(ItemCatalog.foodId(banana) < ItemCatalog.foodCount(), "Ids should be dense");
+        assertEquals(banana, ItemCatalog.food(ItemCatalog.foodId(banana)), "An id should map back to its item");
+
+        // A different instance of an item reaches the same quantity
+        inventory.addFoodItem(otherApple, 2);
+        assertEquals(getFoodItemQuantity(inventory.getFoodItems(), apple), inventory.getFoodQuantity(apple),
+            "Both instances of an item should share a quantity");
+    }
+
+    @Test
+    void testQuantityLookups() {
+        assertEquals(0, inventory.getFoodQuantity(banana), "An item never added should have quantity 0");
+        inventory.addGiftItem(car, 3);
+        assertEquals(3, inventory.getGiftQuantity(car), "The gift quantity should be tracked");
+        inventory.useGiftItem(car);
+        assertEquals(2, inventory.getGiftQuantity(car), "Using a gift should lower its quantity");
+    }
+
+    @Test
+    void testItemsViewIsLiveAndReadOnly() {
+        Map<Inventory.FoodItem, Integer> view = inventory.getFoodItemsView();
+        assertSame(view, inventory.getFoodItemsView(), "The view should not be recreated on every call");
+        assertEquals(inventory.getFoodItems(), view, "The view should hold the same items as a copy");
+
+        inventory.addFoodItem(banana, 3);
+        assertEquals(3, view.get(banana), "The view should show items added after it was taken");
+        assertEquals(inventory.getFoodItems().size(), view.size(), "The view size should follow the inventory");
+        assertThrows(UnsupportedOperationException.class, () -> view.put(apple, 99),
+                "The view should not allow changes");
+    }
+
+    @Test
+    void testItemsViewLooksUpByCatalogId() {
+        Map<Inventory.FoodItem, Integer> view = inventory.getFoodItemsView();
+        Inventory.FoodItem otherApple = new Inventory.FoodItem("Apple", 5);
+        assertEquals(inventory.getFoodQuantity(apple), view.get(otherApple), "Any instance of an item should find its quantity");
+        assertTrue(view.containsKey(otherApple), "Any instance of an item should be found");
+        assertNull(view.get(banana), "An item never added should not be in the view");
+        assertFalse(view.containsKey(banana), "An item never added should not be in the view");
+        assertFalse(view.containsKey(ball), "A gift should never be a key of the food view");
+        assertNull(view.get("Apple"), "Only food items can be keys of the food view");
+
+        inventory.addGiftItem(car, 0);
+        assertEquals(0, inventory.getGiftItemsView().get(car), "An item added with quantity 0 should still be in the view");
+    }
+
+    @Test
+    void testSnapshotCopiedOnlyAfterChange() {
+        Map<Inventory.GiftItem, Integer> first = inventory.getGiftItemsSnapshot();
+        assertSame(first, inventory.getGiftItemsSnapshot(), "An unchanged inventory should reuse its snapshot");
+
+        inventory.useGiftItem(ball);
+        Map<Inventory.GiftItem, Integer> second = inventory.getGiftItemsSnapshot();
+        assertNotSame(first, second, "A changed inventory should make a new snapshot");
+        assertEquals(first.get(ball) - 1, second.get(ball), "The new snapshot should hold the new quantity");
+        assertThrows(UnsupportedOperationException.class, () -> second.clear(),
+                "Snapshots should not allow changes");
+    }
+
+    @Test
+    void testFindItemByName() {
+        assertSame(ItemCatalog.food("Apple", 5), inventory.findFoodItem("Apple"), "A held item should be found by name");
+        assertSame(inventory.findFoodItem("Apple"), inventory.findFoodItem("aPPLE"), "Names should be matched ignoring case");
+        assertNull(inventory.findFoodItem("Banana"), "An item not held should not be found");
+        assertNull(inventory.findFoodItem("Ball"), "A gift should not be found among the food");
+
+        inventory.addGiftItem(car, 1);
+        inventory.useGiftItem(car);
+        assertEquals(car, inventory.findGiftItem("car"), "A used up item should still be found");
+    }
+
     // Helper methods for testing
     
     private boolean containsFoodItem(Map<Inventory.FoodItem, Integer> items, Inventory.FoodItem target) {
@@ -0,0 +1,99 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.InventoryTransaction;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InventoryTransaction.
+ * Checks that a batch of purchases and item uses is applied completely or not
+ * at all, and that it counts as a single change.
+ *
+ * @author Team 33
+ */
+class InventoryTransactionTest {
+
+    private Player player;
+    private Inventory inventory;
+    private Pet pet;
+    private Inventory.FoodItem apple;
+    private Inventory.FoodItem taco;
+
+    @BeforeEach
+    void setUp() {
+        player = new Player("Trader");
+        pet = new Pet("Batch", Pet.PetType.FROG);
+        player.adoptPet(pet);
+        inventory = player.getInventory();
+        apple = ItemCatalog.food("Apple", 5);
+        taco = ItemCatalog.food("Taco", 20);
+    }
+
+    @Test
+    void testBatchAppliesAsOneChange() {
+        player.setScore(250);
+        pet.setFullness(10);
+        int apples = inventory.getFoodQuantity(apple);
+        int tacos = inventory.getFoodQuantity(taco);
+        long inventoryVersion = inventory.getVersion();
+
+        boolean applied = new InventoryTransaction(player)
+            .buyFood(taco, 5, 40)
+            .useFood(apple, 2)
+            .addScore(20)
+            .commit();
+
+        assertTrue(applied, "An affordable batch should be applied");
+        assertEquals(70, player.getScore(), "The score should drop by the cost and rise by the reward");
+        assertEquals(tacos + 5, inventory.getFoodQuantity(taco), "The tacos should be added");
+        assertEquals(apples - 2, inventory.getFoodQuantity(apple), "The apples should be used");
+        assertEquals(20, pet.getFullness(), "The pet should be fed by both apples");
+        assertEquals(inventoryVersion + 1, inventory.getVersion(), "The batch should change the inventory once");
+    }
+
+    @Test
+    void testUnaffordableBatchChangesNothing() {
+        player.setScore(100);
+        int apples = inventory.getFoodQuantity(apple);
+        long inventoryVersion = inventory.getVersion();
+
+        InventoryTransaction transaction = new InventoryTransaction(player).useFood(apple, 1).buyFood(taco, 5, 40);
+        assertFalse(transaction.commit(), "A batch costing more than the score should fail");
+        assertEquals(200, transaction.getCost(), "The cost should add up the purchases");
+        assertEquals(100, player.getScore(), "The score should be untouched");
+        assertEquals(apples, inventory.getFoodQuantity(apple), "The apple should not be used");
+        assertEquals(inventoryVersion, inventory.getVersion(), "The inventory should not change");
+        assertThrows(IllegalStateException.class, transaction::commit, "A transaction should only be committed once");
+    }
+
+    @Test
+    void testUsingTooManyItemsChangesNothing() {
+        player.setScore(500);
+        int apples = inventory.getFoodQuantity(apple);
+
+        assertFalse(new InventoryTransaction(player).buyFood(taco, 1, 40).useFood(apple, apples + 1).commit(),
+            "Using more apples than held should fail");
+        assertEquals(500, player.getScore(), "The taco should not be paid for");
+
+        // Items bought in a batch can be used in the same batch
+        Inventory.GiftItem crown = ItemCatalog.gift("Crown", 50);
+        assertTrue(new InventoryTransaction(player).buyGift(crown, 2, 100).useGift(crown, 2).commit(),
+            "Gifts bought in a batch should be usable in it");
+        assertEquals(0, inventory.getGiftQuantity(crown), "Both crowns should be used");
+        assertTrue(inventory.getGiftItemsView().containsKey(crown), "A bought item should stay listed once used up");
+    }
+
+    @Test
+    void testInvalidSteps() {
+        InventoryTransaction transaction = new InventoryTransaction(player);
+        assertThrows(IllegalArgumentException.class, () -> transaction.buyFood(apple, 0, 10), "Quantities must be positive");
+        assertThrows(IllegalArgumentException.class, () -> transaction.buyFood(apple, 1, -10), "Prices cannot be negative");
+        assertThrows(IllegalArgumentException.class, () -> transaction.addScore(-1), "Rewards cannot be negative");
+    }
+}
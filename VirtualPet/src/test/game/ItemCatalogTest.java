@@ -0,0 +1,94 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ItemCatalog.
+ * Checks that equal items are interned to one instance, that the default items
+ * are defined once, and that inventories and loaded saves share those instances.
+ *
+ * @author Team 33
+ */
+class ItemCatalogTest {
+
+    @Test
+    void testEqualItemsAreInterned() {
+        Inventory.FoodItem apple = ItemCatalog.food("Apple", 5);
+        assertSame(apple, ItemCatalog.food("Apple", 5), "Equal food items should be the same instance");
+        assertSame(apple, ItemCatalog.intern(new Inventory.FoodItem("Apple", 5)), "Interning should return the shared instance");
+        assertNotSame(apple, ItemCatalog.food("Apple", 6), "Items with other values should not be shared");
+
+        Inventory.GiftItem hat = ItemCatalog.gift("Hat", 30);
+        assertSame(hat, ItemCatalog.gift("Hat", 30), "Equal gift items should be the same instance");
+    }
+
+    @Test
+    void testIdsStayDenseAsTheCatalogGrows() {
+        int first = ItemCatalog.foodCount();
+        Inventory inventory = new Inventory();
+        for (int i = 0; i < 100; i++) {
+            Inventory.FoodItem item = ItemCatalog.food("Growing Snack", 1000 + i);
+            assertEquals(first + i, ItemCatalog.foodId(item), "New items should get the next free id");
+            inventory.addFoodItem(item, 1);
+        }
+        assertEquals(first + 100, ItemCatalog.foodCount(), "Every new item should be counted");
+        assertSame(ItemCatalog.food("Growing Snack", 1000), ItemCatalog.food(first), "Ids should map back after growing");
+        assertSame(ItemCatalog.food("Growing Snack", 1000), inventory.findFoodItem("growing snack"),
+            "Items sharing a name should be found in the order they were added");
+    }
+
+    @Test
+    void testListedItems() {
+        assertSame(ItemCatalog.food("Apple", 5), ItemCatalog.listedFood("Apple", 5), "Listed food should be the shared instance");
+        assertSame(ItemCatalog.gift("Hat", 30), ItemCatalog.listedGift("Hat", 30), "Listed gifts should be the shared instance");
+        assertNull(ItemCatalog.listedFood("Apple", 6), "Food with another value is not on sale");
+        assertNull(ItemCatalog.listedGift("Unlisted Gift", 1), "Unknown gifts are not on sale");
+    }
+
+    @Test
+    void testDefaultListings() {
+        List<ItemCatalog.Listing<Inventory.FoodItem>> food = ItemCatalog.foodListings();
+        assertEquals(4, food.size(), "Four food items should be on sale");
+        assertEquals("Apple", food.get(0).getItem().getName(), "Listings should keep the order of the data file");
+        assertEquals(10, food.get(0).getPrice(), "An apple should cost 10");
+        assertEquals(4, food.get(0).getStartingQuantity(), "A new inventory should start with 4 apples");
+        assertEquals(4, ItemCatalog.giftListings().size(), "Four gift items should be on sale");
+        assertThrows(UnsupportedOperationException.class, () -> food.clear(), "Listings should be read-only");
+    }
+
+    @Test
+    void testInventoriesShareItemInstances() throws IOException {
+        Inventory first = new Inventory();
+        Inventory second = new Inventory();
+        for (Inventory.FoodItem item : first.getFoodItemsView().keySet()) {
+            assertTrue(second.getFoodItemsView().keySet().stream().anyMatch(other -> other == item),
+                "Two new inventories should hold the same item instances");
+        }
+
+        SaveStorage originalStorage = GameSaveManager.getStorage();
+        try {
+            GameSaveManager.setStorage(new InMemorySaveStorage());
+            Player player = new Player("Shopper");
+            player.adoptPet(new Pet("Catalog", Pet.PetType.DOG));
+            GameSaveManager.saveGame(player, "catalog_save");
+            Player loaded = GameSaveManager.loadGame("catalog_save");
+            for (Inventory.GiftItem item : loaded.getInventory().getGiftItemsView().keySet()) {
+                assertSame(ItemCatalog.intern(item), item, "Loaded items should be the shared instances");
+            }
+        } finally {
+            GameSaveManager.setStorage(originalStorage);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.PagedSaveStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PagedSaveStorage functionality.
+ * Tests storing, replacing, deleting and listing saves, page reuse, reopening the store,
+ * surviving a crash part way through a write and that only one instance can have it open.
+ *
+ * @author Team 33
+ */
+class PagedSaveStorageTest {
+
+    private Path storeFile;
+    private PagedSaveStorage store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storeFile = Files.createTempFile("paged_store_test", ".db");
+        Files.delete(storeFile);
+        // Few buckets so overflow pages get exercised
+        store = new PagedSaveStorage(storeFile, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        store.write("snoopie_save.csv", "Player Name,Snoopie\n");
+
+        assertEquals("Player Name,Snoopie\n", store.read("snoopie_save.csv"), "Stored contents should be read back");
+        assertEquals(1, store.size(), "Store should hold one save");
+    }
+
+    @Test
+    void testReadMissingSave() {
+        assertThrows(FileNotFoundException.class, () -> store.read("missing.csv"), "Missing saves should throw FileNotFoundException");
+    }
+
+    @Test
+    void testReplaceKeepsOneEntry() throws IOException {
+        store.write("a.csv", "first");
+        store.write("a.csv", "second");
+
+        assertEquals("second", store.read("a.csv"), "Latest contents should win");
+        assertEquals(1, store.size(), "Replacing should not add an entry");
+    }
+
+    @Test
+    void testLargeValueSpansPages() throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            contents.append("Food Item,Apple").append(i).append(",5,1\n");
+        }
+        store.write("big.csv", contents.toString());
+
+        assertEquals(contents.toString(), store.read("big.csv"), "Values larger than a page should round trip");
+    }
+
+    @Test
+    void testDeleteAndList() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            store.write("save" + i + ".csv", "contents " + i);
+        }
+        assertTrue(store.delete("save7.csv"), "Existing save should be deleted");
+        assertFalse(store.delete("save7.csv"), "Deleting twice should report nothing removed");
+
+        List<String> names = store.list();
+        assertEquals(499, names.size(), "List should contain every remaining save");
+        assertFalse(names.contains("save7.csv"), "Deleted save should not be listed");
+        assertEquals(499, new HashSet<>(names).size(), "List should not contain duplicates");
+        assertEquals("contents 8", store.read("save8.csv"), "Neighbouring entries should be intact");
+    }
+
+    @Test
+    void testFreedPagesAreReused() throws IOException {
+        String contents = "x".repeat(10000);
+        store.write("a.csv", contents);
+        long sizeAfterFirstWrite = Files.size(storeFile);
+
+        for (int i = 0; i < 20; i++) {
+            store.write("a.csv", contents);
+        }
+
+        assertEquals(sizeAfterFirstWrite + 3L * 4096, Files.size(storeFile), "Rewrites should only need one extra chain of pages");
+    }
+
+    @Test
+    void testReopenKeepsSaves() throws IOException {
+        store.write("kept.csv", "still here");
+        store.close();
+
+        store = new PagedSaveStorage(storeFile);
+        assertEquals("still here", store.read("kept.csv"), "Saves should survive reopening the store");
+        assertEquals(1, store.size(), "Entry count should survive reopening the store");
+    }
+
+    /**
+     * A store that fails every write after a set number, as if the game crashed part way through a change.
+     */
+    private static class CrashingStore extends PagedSaveStorage {
+        private boolean armed;
+        private int writesLeft;
+
+        CrashingStore(Path file) throws IOException {
+            super(file, 4);
+        }
+
+        void crashAfter(int writes) {
+            armed = true;
+            writesLeft = writes;
+        }
+
+        @Override
+        protected void writeAt(ByteBuffer buffer, long position) throws IOException {
+            if (armed && writesLeft-- <= 0) {
+                throw new IOException("Simulated crash");
+            }
+            super.writeAt(buffer, position);
+        }
+    }
+
+    @Test
+    void testInterruptedWritesLeaveTheStoreUsable() throws IOException {
+        String oldValue = "o".repeat(9000);
+        String newValue = "n".repeat(9000);
+        store.close();
+
+        boolean finished = false;
+        for (int writes = 0; !finished; writes++) {
+            Files.deleteIfExists(storeFile);
+            CrashingStore crashing = new CrashingStore(storeFile);
+            for (int i = 0; i < 150; i++) {
+                crashing.write("other" + i + ".csv", "other " + i);
+            }
+            crashing.write("a.csv", "x".repeat(9000)); // its pages end up on the free list
+            crashing.write("a.csv", oldValue);
+
+            crashing.crashAfter(writes);
+            try {
+                crashing.write("a.csv", newValue);
+                crashing.write("b.csv", newValue);
+                crashing.delete("other3.csv");
+                finished = true;
+            } catch (IOException e) {
+                // The crash; everything written before it is on disk
+            }
+            crashing.close();
+
+            store = new PagedSaveStorage(storeFile, 4);
+            String a = store.read("a.csv");
+            assertTrue(a.equals(oldValue) || a.equals(newValue), "Save should be old or new after a crash at write " + writes);
+            // Reuse free pages, which must not include any page still in use
+            for (int i = 0; i < 20; i++) {
+                store.write("later" + i + ".csv", "l".repeat(5000));
+            }
+            assertEquals(a, store.read("a.csv"), "Later writes should not overwrite a save after a crash at write " + writes);
+            for (int i = 0; i < 150; i++) {
+                if (i != 3) {
+                    assertEquals("other " + i, store.read("other" + i + ".csv"), "Other saves should survive a crash at write " + writes);
+                }
+            }
+            assertEquals(store.list().size(), store.size(), "Entry count should match the index after a crash at write " + writes);
+            store.close();
+        }
+        store = new PagedSaveStorage(storeFile, 4);
+    }
+
+    @Test
+    void testStoreCanOnlyBeOpenedOnce() throws IOException {
+        store.write("kept.csv", "still here");
+        IOException e = assertThrows(IOException.class, () -> new PagedSaveStorage(storeFile),
+            "A store that is already open should not be opened again");
+        assertTrue(e.getMessage().contains("already open"), "The error should say the store is in use");
+        assertEquals("still here", store.read("kept.csv"), "The open store should be unaffected");
+
+        store.close();
+        store = new PagedSaveStorage(storeFile);
+        assertEquals("still here", store.read("kept.csv"), "The store should open again once closed");
+    }
+
+    @Test
+    void testConcurrentReadersWithWriter() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            store.write("save" + i + ".csv", "contents " + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    assertEquals("contents " + i, store.read("save" + i + ".csv"));
+                }
+                return null;
+            }));
+        }
+        tasks.add(pool.submit(() -> {
+            for (int i = 100; i < 200; i++) {
+                store.write("save" + i + ".csv", "contents " + i);
+            }
+            return null;
+        }));
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        pool.shutdown();
+
+        assertEquals(200, store.size(), "Writes made during reads should all be stored");
+    }
+}
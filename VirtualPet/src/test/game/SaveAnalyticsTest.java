@@ -0,0 +1,86 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveAnalyticsExporter;
+import group33.VirtualPet.src.main.game.SaveAnalyticsTable;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SaveAnalyticsExporter and SaveAnalyticsTable.
+ * Exports saves kept in memory and runs queries over the exported columns.
+ *
+ * @author Team 33
+ */
+class SaveAnalyticsTest {
+
+    private SaveStorage originalStorage;
+    private Path exportFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalStorage = GameSaveManager.getStorage();
+        GameSaveManager.setStorage(new InMemorySaveStorage());
+        exportFile = Files.createTempFile("save_export", ".col");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        GameSaveManager.setStorage(originalStorage);
+        Files.deleteIfExists(exportFile);
+    }
+
+    @Test
+    void testExportAndQuery() throws IOException {
+        // 30 frogs, every third one dead, and 20 dogs, none dead; scores 0..490
+        for (int i = 0; i < 50; i++) {
+            Player player = new Player("Player" + i);
+            player.setScore(i * 10);
+            Pet pet = new Pet(i % 2 == 0 ? "Spot" : "Hop", i < 30 ? Pet.PetType.FROG : Pet.PetType.DOG);
+            if (i < 30 && i % 3 == 0) {
+                pet.setDead(true);
+            }
+            player.adoptPet(pet);
+            GameSaveManager.saveGame(player, "save" + i);
+        }
+        GameSaveManager.saveGame(new Player("NoPet"), "nopet");
+
+        assertEquals(51, SaveAnalyticsExporter.export(exportFile, 3), "Every save should be exported");
+        SaveAnalyticsTable table = SaveAnalyticsTable.open(exportFile);
+
+        assertEquals(51, table.getRowCount(), "Every save should be a row");
+        assertEquals(50, table.count(table::hasPet), "Rows with pets should be counted");
+        assertEquals(10, table.count(table::isPetDead), "Dead pets should be counted");
+        assertEquals(25, table.count(row -> "Spot".equals(table.getPetName(row))), "Pet names should decode");
+
+        Map<Pet.PetType, Double> deathRates = table.deathRateByPetType();
+        assertEquals(1.0 / 3, deathRates.get(Pet.PetType.FROG), 1e-9, "A third of the frogs should be dead");
+        assertEquals(0.0, deathRates.get(Pet.PetType.DOG), 1e-9, "No dogs should be dead");
+        assertFalse(deathRates.containsKey(Pet.PetType.PENGUIN), "Types without pets should be left out");
+
+        assertEquals(490, table.scoreStatistics(row -> table.getPetType(row) == Pet.PetType.DOG).getMax(),
+            "Score statistics should respect the filter");
+        long[] histogram = table.scoreHistogram(100, 4);
+        assertArrayEquals(new long[] {11, 10, 10, 20}, histogram, "Scores past the last bucket should land in it");
+    }
+
+    @Test
+    void testEmptyExport() throws IOException {
+        assertEquals(0, SaveAnalyticsExporter.export(exportFile, 2), "Nothing should be exported");
+        SaveAnalyticsTable table = SaveAnalyticsTable.open(exportFile);
+        assertEquals(0, table.count(row -> true), "Empty table should have no rows");
+        assertTrue(table.deathRateByPetType().isEmpty(), "Empty table should have no death rates");
+    }
+}
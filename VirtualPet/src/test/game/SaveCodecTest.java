@@ -0,0 +1,140 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.BinaryFieldSink;
+import group33.VirtualPet.src.main.game.BinaryFieldSource;
+import group33.VirtualPet.src.main.game.CsvFieldSink;
+import group33.VirtualPet.src.main.game.CsvFieldSource;
+import group33.VirtualPet.src.main.game.InventoryCodec;
+import group33.VirtualPet.src.main.game.ParentalSettingsCodec;
+import group33.VirtualPet.src.main.game.PlayerCodec;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.model.ParentalSettings;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the save codecs.
+ * Runs the same codecs over the CSV and binary formats.
+ *
+ * @author Team 33
+ */
+class SaveCodecTest {
+
+    private Player samplePlayer() {
+        Player player = new Player("Codec");
+        player.setScore(77);
+        player.setTotalPlayTime(Duration.ofSeconds(4321));
+        Pet pet = new Pet("Bits", Pet.PetType.JELLYFISH);
+        pet.setHappiness(33);
+        pet.sleep();
+        player.adoptPet(pet);
+        player.getInventory().addGiftItem(new Inventory.GiftItem("Flowers", 20), 2);
+        return player;
+    }
+
+    private void assertSamePlayer(Player expected, Player actual) {
+        assertEquals(expected.getName(), actual.getName(), "Name should round trip");
+        assertEquals(expected.getScore(), actual.getScore(), "Score should round trip");
+        assertEquals(expected.getTotalPlayTime(), actual.getTotalPlayTime(), "Play time should round trip");
+        assertEquals(expected.getLastP(), actual.getLastP(), "Play cooldown should round trip");
+        assertEquals(expected.getCurrentPet().getType(), actual.getCurrentPet().getType(), "Pet type should round trip");
+        assertEquals(33, actual.getCurrentPet().getHappiness(), "Pet stats should round trip");
+        assertTrue(actual.getCurrentPet().isSleeping(), "Pet flags should round trip");
+        assertEquals(expected.getInventory().getGiftItems(), actual.getInventory().getGiftItems(), "Inventory should round trip");
+    }
+
+    @Test
+    void testPlayerBinaryRoundTrip() throws IOException {
+        Player player = samplePlayer();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new PlayerCodec().write(player, new BinaryFieldSink(bytes));
+
+        Player loaded = new PlayerCodec().read(new BinaryFieldSource(new ByteArrayInputStream(bytes.toByteArray())));
+        assertSamePlayer(player, loaded);
+    }
+
+    @Test
+    void testPlayerCsvRoundTrip() throws IOException {
+        Player player = samplePlayer();
+        StringWriter csv = new StringWriter();
+        new PlayerCodec().write(player, new CsvFieldSink(csv));
+
+        Player loaded = new PlayerCodec().read(new CsvFieldSource(Arrays.asList(csv.toString().split("\\R")).iterator()));
+        assertSamePlayer(player, loaded);
+    }
+
+    @Test
+    void testItemsNotOnSaleAreDropped() throws IOException {
+        String csv = "Food Items,Name,Fullness Value,Quantity\nFood Item,Apple,5,2\nFood Item,Codec Mystery Stew,7,3\n"
+            + "Gift Items,Name,Happiness Value,Quantity\nGift Item,Codec Mystery Box,9,1\nGift Item,Hat,30,4\n";
+        int foodCount = ItemCatalog.foodCount();
+        int giftCount = ItemCatalog.giftCount();
+
+        Inventory loaded = new InventoryCodec().read(new CsvFieldSource(Arrays.asList(csv.split("\n")).iterator()));
+
+        assertEquals(2, loaded.getFoodQuantity(ItemCatalog.food("Apple", 5)), "Items on sale should be restored");
+        assertEquals(4, loaded.getGiftQuantity(ItemCatalog.gift("Hat", 30)), "Rows after a dropped item should be read");
+        assertNull(loaded.findFoodItem("Codec Mystery Stew"), "Food not on sale should be dropped");
+        assertNull(loaded.findGiftItem("Codec Mystery Box"), "Gifts not on sale should be dropped");
+        assertEquals(foodCount, ItemCatalog.foodCount(), "Loading should not add food items to the catalog");
+        assertEquals(giftCount, ItemCatalog.giftCount(), "Loading should not add gift items to the catalog");
+    }
+
+    @Test
+    void testSettingsBinaryRoundTrip() throws IOException {
+        ParentalSettings settings = new ParentalSettings();
+        settings.setTimeRestrictionEnabled(true);
+        settings.setAllowedStartTime(LocalTime.of(7, 15));
+        settings.setAllowedEndTime(null);
+        settings.restoreSessionStatistics(Duration.ofMinutes(90), Duration.ofMinutes(60), 4);
+        settings.restoreSessionTimes(LocalDateTime.of(2025, 3, 1, 9, 30), null);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new ParentalSettingsCodec().write(settings, new BinaryFieldSink(bytes));
+        ParentalSettings loaded = new ParentalSettingsCodec().read(
+            new BinaryFieldSource(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue(loaded.isTimeRestrictionEnabled(), "Restriction flag should round trip");
+        assertEquals(LocalTime.of(7, 15), loaded.getAllowedStartTime(), "Start time should round trip");
+        assertNull(loaded.getAllowedEndTime(), "Missing end time should stay missing");
+        assertEquals(4, loaded.getSessionCount(), "Session count should round trip");
+        assertEquals(Duration.ofMinutes(15), loaded.getAverageSessionTime(), "Session total should round trip");
+        assertEquals(LocalDateTime.of(2025, 3, 1, 9, 30), loaded.getLastSessionStart(), "Session start should round trip");
+        assertNull(loaded.getLastSessionEnd(), "Missing session end should stay missing");
+    }
+
+    @Test
+    void testUnreadableSettingKeepsDefault() throws IOException {
+        String csv = "Setting,Value\nTimeRestrictionEnabled,true\nAllowedStartTime,not a time\nSessionCount,3\n";
+        ParentalSettings loaded = new ParentalSettingsCodec().read(
+            new CsvFieldSource(Arrays.asList(csv.split("\n")).iterator()));
+
+        assertNotNull(loaded.getAllowedStartTime(), "Unreadable time should keep its default");
+        assertTrue(loaded.isTimeRestrictionEnabled(), "Settings before the bad row should be read");
+        assertEquals(3, loaded.getSessionCount(), "Settings after the bad row should still be read");
+    }
+
+    @Test
+    void testEmptySettingKeepsDefault() throws IOException {
+        String csv = "Setting,Value\nTimeRestrictionEnabled,true\nSessionCount,\nSessionCount\nTotalPlayTimeSeconds,90\n";
+        ParentalSettings loaded = new ParentalSettingsCodec().read(
+            new CsvFieldSource(Arrays.asList(csv.split("\n")).iterator()));
+
+        assertEquals(0, loaded.getSessionCount(), "An empty or missing value should keep its default");
+        assertTrue(loaded.isTimeRestrictionEnabled(), "Settings before the empty rows should be read");
+        assertEquals(Duration.ofSeconds(90), loaded.getTotalPlayTime(), "Settings after the empty rows should still be read");
+    }
+}
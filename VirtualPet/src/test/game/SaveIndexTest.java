@@ -0,0 +1,159 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveIndex;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SaveIndex.
+ * Builds the index over saves kept in memory and checks it follows later saves and deletes.
+ *
+ * @author Team 33
+ */
+class SaveIndexTest {
+
+    private SaveStorage originalStorage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalStorage = GameSaveManager.getStorage();
+        GameSaveManager.setStorage(new InMemorySaveStorage());
+
+        // Five frogs and five dogs, scores 0..90; the first two frogs are dead and the last dog is hungry
+        for (int i = 0; i < 10; i++) {
+            Player player = new Player("Player" + i);
+            player.setScore(i * 10);
+            Pet pet = new Pet("Pet" + i, i < 5 ? Pet.PetType.FROG : Pet.PetType.DOG);
+            if (i < 2) {
+                pet.setDead(true);
+            }
+            if (i == 9) {
+                pet.setFullness(0);
+                pet.checkFullnessState();
+            }
+            player.adoptPet(pet);
+            GameSaveManager.saveGame(player, "save" + i);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameSaveManager.setStorage(originalStorage);
+    }
+
+    @Test
+    void testBuildAndQuery() {
+        SaveIndex index = GameSaveManager.getSaveIndex();
+
+        assertEquals(10, index.size(), "Every save should be indexed");
+        assertEquals(5, index.withPetType(Pet.PetType.FROG).size(), "Five saves should have a frog");
+        assertTrue(index.withPetType(Pet.PetType.DEER).isEmpty(), "No save should have a deer");
+        assertEquals(Arrays.asList("save0.csv", "save1.csv"), List.copyOf(index.withFlag(SaveIndex.Flag.DEAD)),
+            "The two dead frogs should be found");
+        assertEquals(List.of("save9.csv"), List.copyOf(index.withFlag(SaveIndex.Flag.HUNGRY)),
+            "The hungry dog should be found");
+        assertEquals(Arrays.asList("save3.csv", "save4.csv", "save5.csv"), index.withScoreBetween(30, 50),
+            "Score ranges should be inclusive and ordered by score");
+        assertEquals(Arrays.asList("save8.csv", "save9.csv"), index.withScoreAbove(70),
+            "Only scores above 70 should be found");
+        assertTrue(index.withScoreBetween(50, 30).isEmpty(), "An empty range should find nothing");
+    }
+
+    @Test
+    void testIndexFollowsSavesAndDeletes() throws IOException {
+        SaveIndex index = GameSaveManager.getSaveIndex();
+
+        // Revive a frog, raise its score and turn it into a deer
+        Player player = new Player("Player0");
+        player.setScore(1000);
+        player.adoptPet(new Pet("Pet0", Pet.PetType.DEER));
+        GameSaveManager.saveGame(player, "save0");
+
+        assertFalse(index.withFlag(SaveIndex.Flag.DEAD).contains("save0.csv"), "The revived pet should not be dead");
+        assertFalse(index.withPetType(Pet.PetType.FROG).contains("save0.csv"), "The old pet type should be dropped");
+        assertTrue(index.withPetType(Pet.PetType.DEER).contains("save0.csv"), "The new pet type should be indexed");
+        assertEquals(List.of("save0.csv"), index.withScoreAbove(500), "The new score should be indexed");
+        assertFalse(index.withScoreBetween(0, 0).contains("save0.csv"), "The old score should be dropped");
+
+        GameSaveManager.saveGame(new Player("NewPlayer"), "new");
+        assertEquals(11, index.size(), "A new save should be indexed");
+
+        GameSaveManager.deleteSave("save1");
+        assertEquals(10, index.size(), "A deleted save should be dropped");
+        assertTrue(index.withFlag(SaveIndex.Flag.DEAD).isEmpty(), "No dead pets should be left");
+    }
+
+    @Test
+    void testSaveDeletedWhileBuildingStaysDeleted() throws IOException {
+        // Deletes save3 right after the build has read it, before the build indexes it
+        GameSaveManager.setStorage(new InMemorySaveStorage() {
+            @Override
+            public String read(String filename) throws FileNotFoundException {
+                String contents = super.read(filename);
+                if (filename.equals("save3.csv")) {
+                    try {
+                        GameSaveManager.deleteSave(filename);
+                    } catch (IOException e) {
+                        fail("Deleting should not fail: " + e.getMessage());
+                    }
+                }
+                return contents;
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            GameSaveManager.saveGame(new Player("Player" + i), "save" + i);
+        }
+
+        SaveIndex index = GameSaveManager.getSaveIndex();
+        assertEquals(4, index.size(), "The save deleted during the build should not be indexed");
+        assertTrue(index.withNamePrefix("save3", 10).isEmpty(), "The deleted save should not show up in searches");
+    }
+
+    @Test
+    void testFindSavesByNameDoesNotNeedTheIndex() {
+        // Whether or not the background build has finished, save name matches are the same
+        assertEquals(Arrays.asList("save0.csv", "save1.csv", "save2.csv"), GameSaveManager.findSavesByName("SAVE", 3),
+            "Save names should match ignoring case, in name order");
+        GameSaveManager.warmSaveIndex().join();
+        assertEquals(Arrays.asList("save0.csv", "save1.csv", "save2.csv"), GameSaveManager.findSavesByName("SAVE", 3),
+            "The built index should give the same matches");
+        assertEquals(10, GameSaveManager.getSaveIndex().size(), "The warmed index should hold every save");
+    }
+
+    @Test
+    void testNamePrefix() throws IOException {
+        Player bob = new Player("Bob");
+        bob.adoptPet(new Pet("Biscuit", Pet.PetType.DOG));
+        GameSaveManager.saveGame(bob, "Bob_save");
+        Player alice = new Player("Alice");
+        alice.adoptPet(new Pet("Bolt", Pet.PetType.FROG));
+        GameSaveManager.saveGame(alice, "alice_save");
+        SaveIndex index = GameSaveManager.getSaveIndex();
+
+        assertEquals(Arrays.asList("Bob_save.csv", "alice_save.csv"), index.withNamePrefix("bo", 10),
+            "Save name matches should come before pet name matches, ignoring case");
+        assertEquals(List.of("Bob_save.csv"), index.withNamePrefix("BI", 10), "Pet names should be searched");
+        assertEquals(List.of("alice_save.csv"), index.withNamePrefix("Alice", 10), "The save suffix should be ignored");
+        assertEquals(3, index.withNamePrefix("", 3).size(), "The limit should cap the matches");
+        assertEquals(12, index.withNamePrefix("", Integer.MAX_VALUE).size(), "An empty prefix should match every save once");
+
+        // A new pet replaces the old pet's name in the index
+        bob.adoptPet(new Pet("Rex", Pet.PetType.DOG));
+        GameSaveManager.saveGame(bob, "Bob_save");
+        assertTrue(index.withNamePrefix("bi", 10).isEmpty(), "The old pet name should be dropped");
+        assertEquals(List.of("Bob_save.csv"), index.withNamePrefix("re", 10), "The new pet name should be indexed");
+    }
+}
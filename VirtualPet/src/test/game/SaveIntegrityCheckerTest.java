@@ -0,0 +1,127 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveIntegrityChecker;
+import group33.VirtualPet.src.main.game.SaveIntegrityChecker.Status;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SaveIntegrityChecker.
+ * Checks saves kept in memory, so the real save folder is never touched.
+ *
+ * @author Team 33
+ */
+class SaveIntegrityCheckerTest {
+
+    private SaveStorage originalStorage;
+    private InMemorySaveStorage memory;
+
+    @BeforeEach
+    void setUp() {
+        originalStorage = GameSaveManager.getStorage();
+        memory = new InMemorySaveStorage();
+        GameSaveManager.setStorage(memory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameSaveManager.setStorage(originalStorage);
+    }
+
+    private String saveGood(String filename) throws IOException {
+        Player player = new Player(filename);
+        player.adoptPet(new Pet(filename + "Pet", Pet.PetType.FROG));
+        GameSaveManager.saveGame(player, filename);
+        return memory.read(filename + ".csv");
+    }
+
+    @Test
+    void testVerify() throws IOException {
+        String good = saveGood("good");
+        assertEquals(Status.OK, SaveIntegrityChecker.verify(good), "Fresh save should verify");
+
+        assertEquals(Status.CHECKSUM_MISMATCH, SaveIntegrityChecker.verify(good.replace(",FROG,", ",DOG,")),
+            "Edited save should fail the checksum");
+        assertEquals(Status.NO_CHECKSUM, SaveIntegrityChecker.verify(good.substring(0, good.indexOf("Checksum"))),
+            "Save without a checksum row should still load");
+        assertEquals(Status.UNPARSEABLE, SaveIntegrityChecker.verify("Player Name,Broken\nCurrent Pet,Rex,LIZARD\n"),
+            "Save with an unknown pet type should be unparseable");
+        assertEquals(Status.UNPARSEABLE, SaveIntegrityChecker.verify("Player Name,Short\nCurrent Pet,Rex,DOG,100\n"),
+            "Save with a truncated pet row should be unparseable");
+    }
+
+    @Test
+    void testCheckQuarantinesAndRepairs() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            saveGood("save" + i);
+        }
+        String intact = memory.read("save1.csv");
+        InMemorySaveStorage backup = new InMemorySaveStorage();
+        backup.write("save1.csv", intact);
+
+        memory.write("save1.csv", intact.substring(0, intact.length() / 2));
+        memory.write("save2.csv", intact.replace("100", "99"));
+        memory.write("legacy.csv", intact.substring(0, intact.indexOf("Checksum")));
+
+        InMemorySaveStorage quarantine = new InMemorySaveStorage();
+        SaveIntegrityChecker.Report report = SaveIntegrityChecker.check(4, quarantine, backup);
+
+        assertEquals(21, report.getScanned(), "Every save should be checked");
+        assertEquals(18, report.getCounts().get(Status.OK), "Untouched saves should be OK");
+        assertEquals(Status.NO_CHECKSUM, report.getProblems().get("legacy.csv"), "Legacy save should be reported");
+        assertEquals(List.of("save1.csv"), report.getRepaired(), "Save with a backup should be repaired");
+        assertEquals(List.of("save2.csv"), report.getQuarantined(), "Save without a backup should be quarantined");
+
+        assertEquals(intact, memory.read("save1.csv"), "Repaired save should match the backup");
+        assertFalse(GameSaveManager.listSaveFiles().contains("save2.csv"), "Quarantined save should no longer be listed");
+        assertNotNull(quarantine.read("save2.csv"), "Quarantined save should be kept in quarantine");
+        assertTrue(GameSaveManager.listSaveFiles().contains("legacy.csv"), "Legacy save should be left in place");
+    }
+
+    @Test
+    void testSaveWrittenMeanwhileIsKept() throws IOException {
+        String intact = saveGood("save1");
+        saveGood("save2");
+        String good = intact.replace("save1", "saveX");
+
+        // A running game writes a good save just after the checker read the damaged one
+        InMemorySaveStorage racing = new InMemorySaveStorage() {
+            @Override
+            public boolean replace(String filename, String expected, String contents) {
+                write(filename, good);
+                return super.replace(filename, expected, contents);
+            }
+
+            @Override
+            public boolean deleteIfUnchanged(String filename, String expected) {
+                write(filename, good);
+                return super.deleteIfUnchanged(filename, expected);
+            }
+        };
+        racing.write("save1.csv", intact.substring(0, intact.length() / 2));
+        racing.write("save2.csv", intact.replace("100", "99"));
+        GameSaveManager.setStorage(racing);
+
+        InMemorySaveStorage backup = new InMemorySaveStorage();
+        backup.write("save1.csv", intact);
+        InMemorySaveStorage quarantine = new InMemorySaveStorage();
+        SaveIntegrityChecker.Report report = SaveIntegrityChecker.check(2, quarantine, backup);
+
+        assertTrue(report.getRepaired().isEmpty(), "A save written meanwhile should not be replaced by the backup");
+        assertTrue(report.getQuarantined().isEmpty(), "A save written meanwhile should not be quarantined");
+        assertEquals(good, racing.read("save1.csv"), "The good write should survive the repair");
+        assertEquals(good, racing.read("save2.csv"), "The good write should survive the quarantine");
+        assertTrue(quarantine.list().isEmpty(), "Nothing should be left in quarantine");
+    }
+}
@@ -0,0 +1,129 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveMaintenance;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SaveMaintenance.
+ * Runs bulk passes over an in-memory backend so the real save folder is never touched.
+ *
+ * @author Team 33
+ */
+class SaveMaintenanceTest {
+
+    private SaveStorage originalStorage;
+    private InMemorySaveStorage memory;
+
+    @BeforeEach
+    void setUp() {
+        originalStorage = GameSaveManager.getStorage();
+        memory = new InMemorySaveStorage();
+        GameSaveManager.setStorage(memory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameSaveManager.setStorage(originalStorage);
+    }
+
+    private void savePet(String filename, boolean dead) throws IOException {
+        Player player = new Player(filename);
+        Pet pet = new Pet(filename + "Pet", Pet.PetType.DOG);
+        if (dead) {
+            pet.setDead(true);
+        }
+        player.adoptPet(pet);
+        GameSaveManager.saveGame(player, filename);
+    }
+
+    @Test
+    void testReviveOnlyRewritesDeadPets() throws IOException {
+        for (int i = 0; i < 40; i++) {
+            savePet("pet" + i, i % 4 == 0);
+        }
+        String aliveBefore = memory.read("pet1.csv");
+
+        SaveMaintenance.Report report = SaveMaintenance.run(SaveMaintenance.REVIVE_DEAD_PETS, 4);
+
+        assertEquals(40, report.getScanned(), "Every save should be scanned");
+        assertEquals(10, report.getChanged(), "Only the dead pets should be rewritten");
+        assertEquals(0, report.getFailed(), "No save should fail");
+        assertFalse(GameSaveManager.loadGame("pet0").getCurrentPet().isDead(), "Dead pet should be revived");
+        assertEquals(aliveBefore, memory.read("pet1.csv"), "Save of a living pet should be left as it was");
+
+        assertEquals(0, SaveMaintenance.run(SaveMaintenance.REVIVE_DEAD_PETS, 4).getChanged(),
+            "A second pass should have nothing left to revive");
+    }
+
+    @Test
+    void testSaveWrittenMeanwhileIsNotOverwritten() throws IOException {
+        // The game saves a higher score just before maintenance writes its revived copy back
+        memory = new InMemorySaveStorage() {
+            private boolean saved;
+
+            @Override
+            public boolean replace(String filename, String expected, String contents) {
+                if (!saved) {
+                    saved = true;
+                    try {
+                        Player player = GameSaveManager.loadGame(filename);
+                        player.setScore(500);
+                        GameSaveManager.saveGame(player, filename);
+                    } catch (IOException e) {
+                        fail("Saving should not fail: " + e.getMessage());
+                    }
+                }
+                return super.replace(filename, expected, contents);
+            }
+        };
+        GameSaveManager.setStorage(memory);
+        savePet("racer", true);
+
+        SaveMaintenance.Report report = SaveMaintenance.run(SaveMaintenance.REVIVE_DEAD_PETS, 1);
+
+        assertEquals(1, report.getChanged(), "The save should still be revived");
+        Player loaded = GameSaveManager.loadGame("racer");
+        assertEquals(500, loaded.getScore(), "The score saved meanwhile should not be lost");
+        assertFalse(loaded.getCurrentPet().isDead(), "The pet should be revived in the newer save");
+    }
+
+    @Test
+    void testResetStatisticsAndMigrate() throws IOException {
+        Player player = new Player("Stats");
+        player.setTotalPlayTime(Duration.ofMinutes(30));
+        GameSaveManager.saveGame(player, "stats");
+        savePet("fresh", false);
+
+        SaveMaintenance.Report report = SaveMaintenance.run(SaveMaintenance.RESET_STATISTICS, 2);
+        assertEquals(1, report.getChanged(), "Only the save with play time should be rewritten");
+        assertTrue(GameSaveManager.loadGame("stats").getTotalPlayTime().isZero(), "Play time should be reset");
+
+        assertEquals(0, SaveMaintenance.run(SaveMaintenance.MIGRATE, 2).getChanged(),
+            "Saves already in the current format should not be rewritten");
+    }
+
+    @Test
+    void testFailuresAreReported() throws IOException {
+        savePet("good", true);
+        memory.write("broken.csv", "Player Name,Broken\nTotal Play Time,not a number\n");
+
+        SaveMaintenance.Report report = SaveMaintenance.run(SaveMaintenance.REVIVE_DEAD_PETS, 2);
+
+        assertEquals(2, report.getScanned(), "Both saves should be scanned");
+        assertEquals(1, report.getChanged(), "The good save should still be rewritten");
+        assertEquals(1, report.getFailed(), "The broken save should be reported");
+        assertTrue(report.getFailures().containsKey("broken.csv"), "The failure should name the broken save");
+    }
+}
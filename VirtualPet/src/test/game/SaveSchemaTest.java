@@ -0,0 +1,107 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.SaveSchema;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SaveSchema.
+ * Loads saves in older layouts from memory and checks they are upgraded on the fly.
+ *
+ * @author Team 33
+ */
+class SaveSchemaTest {
+
+    private static final String PLAYER_ROWS =
+        "Player Name,Legacy\n" +
+        "Total Play Time,60\n" +
+        "Current Score,42\n" +
+        "last time play was used,0\n" +
+        "last time player went to vet,0\n";
+
+    private static final String INVENTORY_ROWS =
+        "Food Items,Name,Fullness Value,Quantity\n" +
+        "Food Item,Apple,5,7\n" +
+        "Gift Items,Name,Happiness Value,Quantity\n" +
+        "Gift Item,Ball,5,1\n";
+
+    private SaveStorage originalStorage;
+    private InMemorySaveStorage memory;
+
+    @BeforeEach
+    void setUp() {
+        originalStorage = GameSaveManager.getStorage();
+        memory = new InMemorySaveStorage();
+        GameSaveManager.setStorage(memory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GameSaveManager.setStorage(originalStorage);
+    }
+
+    @Test
+    void testLoadVersionOneSave() throws IOException {
+        memory.write("legacy.csv", PLAYER_ROWS
+            + "Pets,Name,Type,Health,Happiness,Fullness,Sleep,Is Sleeping,Is Hungry,Is Angry,Is Dead\n"
+            + "Current Pet,Old,FROG,50,60,70,80,true,false,false,false\n" + INVENTORY_ROWS);
+
+        Player player = GameSaveManager.loadGame("legacy");
+        assertEquals(42, player.getScore(), "Score should load from a version 1 save");
+        assertEquals(50, player.getCurrentPet().getHealth(), "Pet stats should load from a version 1 save");
+        assertTrue(player.getCurrentPet().isSleeping(), "Sleeping flag should load from a version 1 save");
+        assertFalse(memory.read("legacy.csv").startsWith("Save Version"), "Loading should not rewrite the save");
+    }
+
+    @Test
+    void testVersionOneColumnsReadByHeader() throws IOException {
+        // Columns in a different order, and no Is Angry or Is Hungry columns at all
+        memory.write("reordered.csv", PLAYER_ROWS
+            + "Pets,Name,Type,Is Dead,Health,Happiness,Fullness,Sleep,Is Sleeping\n"
+            + "Current Pet,Ghost,DOG,true,30,40,50,60,false\n" + INVENTORY_ROWS);
+
+        Pet pet = GameSaveManager.loadGame("reordered").getCurrentPet();
+        assertTrue(pet.isDead(), "Dead flag should be found by its header name");
+        assertEquals(40, pet.getHappiness(), "Stats should be found by their header names");
+        assertTrue(GameSaveManager.loadSummary("reordered").isPetDead(), "Summary should read the dead flag by header too");
+
+        memory.write("short.csv", PLAYER_ROWS
+            + "Pets,Name,Type,Health,Happiness,Fullness,Sleep\n"
+            + "Current Pet,Early,DEER,90,120,90,100\n" + INVENTORY_ROWS);
+        assertFalse(GameSaveManager.loadGame("short").getCurrentPet().isDead(), "Missing flags should default to a new pet's");
+    }
+
+    @Test
+    void testNewerVersionIsRejected() throws IOException {
+        memory.write("future.csv", "Save Version," + (SaveSchema.CURRENT_VERSION + 1) + "\n" + PLAYER_ROWS);
+        assertThrows(IOException.class, () -> GameSaveManager.loadGame("future"), "Saves from a newer game should not load");
+    }
+
+    @Test
+    void testMigrateAllRewritesOnlyOldSaves() throws IOException {
+        memory.write("legacy.csv", PLAYER_ROWS
+            + "Pets,Name,Type,Health,Happiness,Fullness,Sleep,Is Sleeping,Is Hungry,Is Angry,Is Dead\n"
+            + "Current Pet,Old,FROG,50,60,70,80,false,false,false,false\n" + INVENTORY_ROWS);
+        Player current = new Player("Current");
+        current.adoptPet(new Pet("New", Pet.PetType.PENGUIN));
+        GameSaveManager.saveGame(current, "current");
+
+        assertEquals(1, SaveSchema.migrateAll(2).getChanged(), "Only the old save should be rewritten");
+        assertTrue(memory.read("legacy.csv").startsWith("Save Version," + SaveSchema.CURRENT_VERSION),
+            "Migrated save should be in the current layout");
+        assertEquals(7, GameSaveManager.loadGame("legacy").getInventory().getFoodItems()
+            .get(new Inventory.FoodItem("Apple", 5)), "Inventory should survive migration");
+        assertEquals(0, SaveSchema.migrateAll(2).getChanged(), "A second migration should have nothing to do");
+    }
+}
@@ -0,0 +1,82 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.CsvDirectoryStorage;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.PagedSaveStorage;
+import group33.VirtualPet.src.main.game.SaveStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Compares save storage backends on listing and random loads.
+ * Not part of the unit test run; start it with {@code main}, optionally passing
+ * the number of saves (default 100000) and the number of random loads (default 10000).
+ *
+ * @author Team 33
+ */
+public class SaveStorageBenchmark {
+
+    private static final String SAMPLE_SAVE =
+        "Player Name,Benchmark Owner\n" +
+        "Total Play Time,3600\n" +
+        "Current Score,250\n" +
+        "last time play was used,0\n" +
+        "last time player went to vet,0\n" +
+        "Pets,Name,Type,Health,Happiness,Fullness,Sleep,Is Sleeping,Is Hungry,Is Angry,Is Dead\n" +
+        "Current Pet,Benchy,DOG,80,70,60,50,false,false,false,false\n" +
+        "Food Items,Name,Fullness Value,Quantity\n" +
+        "Food Item,Apple,5,4\nFood Item,Smoothie,10,3\nFood Item,Taco,20,2\nFood Item,Ramen,30,1\n" +
+        "Gift Items,Name,Happiness Value,Quantity\n" +
+        "Gift Item,Ball,5,4\nGift Item,Cards,10,3\nGift Item,Flowers,20,2\nGift Item,Hat,30,1\n";
+
+    public static void main(String[] args) throws IOException {
+        int saves = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int loads = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        Path workDir = Files.createTempDirectory("save_storage_benchmark");
+        try {
+            run("csv directory", new CsvDirectoryStorage(workDir.resolve("csv").toString(),
+                workDir.resolve("parental_settings.csv").toString()), saves, loads);
+            run("paged store", new PagedSaveStorage(workDir.resolve("saves.db")), saves, loads);
+            run("in memory", new InMemorySaveStorage(), saves, loads);
+        } finally {
+            try (Stream<Path> paths = Files.walk(workDir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void run(String label, SaveStorage storage, int saves, int loads) throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < saves; i++) {
+            storage.write("pet" + i + "_save.csv", SAMPLE_SAVE);
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int listed = storage.list().size();
+        long listNanos = System.nanoTime() - start;
+
+        Random random = new Random(42);
+        long bytes = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < loads; i++) {
+            bytes += storage.read("pet" + random.nextInt(saves) + "_save.csv").length();
+        }
+        long loadNanos = System.nanoTime() - start;
+
+        System.out.printf("%-14s write %d: %6d ms | list %d: %5d ms | %d random loads: %5d ms (%.1f us/load, %d chars)%n",
+            label, saves, writeNanos / 1_000_000, listed, listNanos / 1_000_000,
+            loads, loadNanos / 1_000_000, loadNanos / 1000.0 / loads, bytes);
+
+        if (storage instanceof Closeable) {
+            ((Closeable) storage).close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.CsvDirectoryStorage;
+import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.InMemorySaveStorage;
+import group33.VirtualPet.src.main.game.PagedSaveStorage;
+import group33.VirtualPet.src.main.game.SaveStorage;
+import group33.VirtualPet.src.main.model.ParentalSettings;
+import group33.VirtualPet.src.main.model.Pet;
+import group33.VirtualPet.src.main.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the SaveStorage backends.
+ * Runs the same checks against every backend and makes sure GameSaveManager works on top of a swapped backend.
+ *
+ * @author Team 33
+ */
+class SaveStorageTest {
+
+    private Path workDir;
+    private SaveStorage originalStorage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("save_storage_test");
+        originalStorage = GameSaveManager.getStorage();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        GameSaveManager.setStorage(originalStorage);
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Checks the behaviour every backend has to share.
+     */
+    private void checkBackend(SaveStorage storage) throws IOException {
+        assertTrue(storage.list().isEmpty(), "New storage should have no saves");
+        assertNull(storage.readSettings(), "New storage should have no settings");
+        assertEquals(0, storage.settingsStamp(), "Stamp should be 0 without settings");
+
+        storage.write("a_save.csv", "first");
+        storage.write("a_save.csv", "second");
+        assertEquals("second", storage.read("a_save.csv"), "Latest contents should be read back");
+        assertThrows(FileNotFoundException.class, () -> storage.read("missing.csv"), "Missing saves should throw");
+        assertFalse(storage.replace("a_save.csv", "first", "stale"), "A save that changed should not be replaced");
+        assertTrue(storage.replace("a_save.csv", "second", "third"), "An unchanged save should be replaced");
+        assertEquals("third", storage.read("a_save.csv"), "The replacement should be read back");
+        assertFalse(storage.replace("missing.csv", "", "new"), "A missing save should not be created by a replace");
+
+        storage.writeSettings("Setting,Value\n");
+        long stamp = storage.settingsStamp();
+        assertNotEquals(0, stamp, "Stamp should be set once settings exist");
+        assertEquals("Setting,Value\n", storage.readSettings(), "Settings should be read back");
+        storage.writeSettings("Setting,Value\nTimeRestrictionEnabled,true\n");
+        assertNotEquals(stamp, storage.settingsStamp(), "Stamp should change when the settings change");
+        stamp = storage.settingsStamp();
+        storage.writeSettings("Setting,Value\nTimeRestrictionEnabled,TRUE\n");
+        assertNotEquals(stamp, storage.settingsStamp(), "Stamp should change when rewritten with the same size at once");
+
+        assertEquals(1, storage.list().size(), "Settings should not be listed as a save");
+        assertFalse(storage.deleteIfUnchanged("a_save.csv", "second"), "A save that changed should not be deleted");
+        assertTrue(storage.deleteIfUnchanged("a_save.csv", "third"), "An unchanged save should be deleted");
+        assertFalse(storage.deleteIfUnchanged("a_save.csv", "third"), "A missing save should not be deleted again");
+        storage.write("a_save.csv", "third");
+        assertTrue(storage.delete("a_save.csv"), "Existing save should be deleted");
+        assertFalse(storage.delete("a_save.csv"), "Deleted save should be gone");
+    }
+
+    @Test
+    void testCsvDirectoryStorage() throws IOException {
+        Path settingsFile = workDir.resolve("settings/parental_settings.csv");
+        CsvDirectoryStorage storage = new CsvDirectoryStorage(workDir.resolve("saves").toString(), settingsFile.toString());
+        checkBackend(storage);
+
+        // A rewrite of the same size that the file's modification time can't tell apart
+        FileTime modified = Files.getLastModifiedTime(settingsFile);
+        long stamp = storage.settingsStamp();
+        storage.writeSettings("Setting,Value\nTimeRestrictionEnabled,true\n");
+        Files.setLastModifiedTime(settingsFile, modified);
+        assertNotEquals(stamp, storage.settingsStamp(), "Stamp should change on every settings write");
+    }
+
+    @Test
+    void testInMemoryStorage() throws IOException {
+        checkBackend(new InMemorySaveStorage());
+    }
+
+    @Test
+    void testPagedStorage() throws IOException {
+        try (PagedSaveStorage storage = new PagedSaveStorage(workDir.resolve("saves.db"))) {
+            checkBackend(storage);
+        }
+    }
+
+    @Test
+    void testGameSaveManagerOnSwappedBackend() throws IOException {
+        InMemorySaveStorage memory = new InMemorySaveStorage();
+        GameSaveManager.setStorage(memory);
+
+        Player player = new Player("MemoryPlayer");
+        player.setScore(321);
+        player.adoptPet(new Pet("MemoryPet", Pet.PetType.PENGUIN));
+        GameSaveManager.saveGame(player, "memory_save");
+
+        assertTrue(GameSaveManager.listSaveFiles().contains("memory_save.csv"), "Save should be listed by the swapped backend");
+        assertEquals(321, GameSaveManager.loadGame("memory_save").getScore(), "Save should load from the swapped backend");
+
+        ParentalSettings settings = new ParentalSettings();
+        settings.setTimeRestrictionEnabled(true);
+        settings.setAllowedStartTime(LocalTime.of(8, 0));
+        settings.setAllowedEndTime(LocalTime.of(9, 0));
+        GameSaveManager.saveParentalSettings(settings);
+
+        assertNotNull(memory.readSettings(), "Settings should be written to the swapped backend");
+        assertEquals(LocalTime.of(8, 0), GameSaveManager.loadParentalSettings().getAllowedStartTime(), "Settings should load from the swapped backend");
+    }
+}
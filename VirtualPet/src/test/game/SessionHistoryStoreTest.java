@@ -0,0 +1,135 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.SessionHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionHistoryStore.
+ * Records sessions in a temporary folder and checks range queries and rollups.
+ *
+ * @author Team 33
+ */
+class SessionHistoryStoreTest {
+
+    // A Monday
+    private static final LocalDate WEEK_START = LocalDate.of(2025, 3, 3);
+
+    private Path workDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        workDir = Files.createTempDirectory("session_history_test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private SessionHistoryStore open() throws IOException {
+        return new SessionHistoryStore(workDir.resolve("history.dat"), workDir.resolve("rollups.csv"));
+    }
+
+    /**
+     * Records one 30 minute session at 10:00 on each of the first days after WEEK_START.
+     */
+    private void recordDailySessions(SessionHistoryStore history, int days) throws IOException {
+        for (int day = 0; day < days; day++) {
+            LocalDateTime start = WEEK_START.plusDays(day).atTime(10, 0);
+            history.append(start, start.plusMinutes(30));
+        }
+    }
+
+    @Test
+    void testRangeQuery() throws IOException {
+        SessionHistoryStore history = open();
+        recordDailySessions(history, 10);
+
+        List<SessionHistoryStore.Session> sessions = history.sessionsBetween(
+            WEEK_START.plusDays(2).atStartOfDay(), WEEK_START.plusDays(5).atStartOfDay());
+        assertEquals(3, sessions.size(), "Only the sessions in the range should be returned");
+        assertEquals(WEEK_START.plusDays(2).atTime(10, 0), sessions.get(0).getStart(), "Sessions should be in start order");
+        assertEquals(Duration.ofMinutes(30), sessions.get(2).getDuration(), "Session durations should be kept");
+        assertTrue(history.sessionsBetween(WEEK_START.minusDays(7).atStartOfDay(), WEEK_START.atStartOfDay()).isEmpty(),
+            "No sessions should be found before the first one");
+    }
+
+    @Test
+    void testRollups() throws IOException {
+        SessionHistoryStore history = open();
+        recordDailySessions(history, 10);
+        LocalDate lastDay = WEEK_START.plusDays(9);
+        history.append(lastDay.atTime(20, 0), lastDay.atTime(20, 15));
+
+        assertEquals(2, history.getDay(lastDay).getSessionCount(), "Both sessions of the last day should be counted");
+        assertEquals(Duration.ofMinutes(45), history.getDay(lastDay).getTotalTime(), "Daily play time should add up");
+        assertEquals(7, history.getWeek(WEEK_START.plusDays(3)).getSessionCount(), "First week should have 7 sessions");
+        assertEquals(4, history.getWeek(lastDay).getSessionCount(), "Second week should have 4 sessions");
+
+        SessionHistoryStore.Rollup total = history.total(WEEK_START.minusDays(1), WEEK_START.plusDays(8));
+        assertEquals(9, total.getSessionCount(), "Range total should combine weeks and days");
+        assertEquals(Duration.ofMinutes(9 * 30), total.getTotalTime(), "Range play time should combine weeks and days");
+    }
+
+    @Test
+    void testHistorySurvivesReopen() throws IOException {
+        recordDailySessions(open(), 4);
+
+        SessionHistoryStore reopened = open();
+        assertEquals(4, reopened.getWeek(WEEK_START).getSessionCount(), "Rollups should be read back");
+        assertEquals(4, reopened.sessionsBetween(WEEK_START.atStartOfDay(), WEEK_START.plusDays(7).atStartOfDay()).size(),
+            "Sessions should be read back");
+
+        // Without the rollup file the rollups are rebuilt from the log
+        Files.delete(workDir.resolve("rollups.csv"));
+        assertEquals(Duration.ofMinutes(120), open().getWeek(WEEK_START).getTotalTime(), "Rollups should be rebuilt from the log");
+    }
+
+    @Test
+    void testSessionsLoggedAfterLastRollupAreCounted() throws IOException {
+        SessionHistoryStore history = open();
+        recordDailySessions(history, 3);
+        Path rollups = workDir.resolve("rollups.csv");
+        Path olderRollups = workDir.resolve("older.csv");
+        Files.copy(rollups, olderRollups);
+
+        // Stopping between the log append and the rollup write leaves the older rollups behind
+        LocalDateTime start = WEEK_START.plusDays(3).atTime(10, 0);
+        history.append(start, start.plusMinutes(30));
+        Files.copy(olderRollups, rollups, StandardCopyOption.REPLACE_EXISTING);
+
+        SessionHistoryStore reopened = open();
+        assertEquals(4, reopened.getWeek(WEEK_START).getSessionCount(), "The missed session should be added to the week");
+        assertEquals(Duration.ofMinutes(30), reopened.getDay(WEEK_START.plusDays(3)).getTotalTime(),
+            "The missed session should be added to its day");
+        assertEquals(4, open().getWeek(WEEK_START).getSessionCount(), "The replayed session should only be counted once");
+    }
+
+    @Test
+    void testSessionsKeepOrderWhenClockGoesBack() throws IOException {
+        SessionHistoryStore history = open();
+        LocalDateTime start = WEEK_START.atTime(12, 0);
+        history.append(start, start.plusMinutes(10));
+        history.append(start.minusHours(1), start.minusMinutes(30));
+
+        List<SessionHistoryStore.Session> sessions = history.sessionsBetween(start, start.plusDays(1));
+        assertEquals(2, sessions.size(), "Out of order session should still be found");
+    }
+}
@@ -0,0 +1,83 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.model.Player;
+import group33.VirtualPet.src.main.model.SessionStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionStats.
+ * Checks the running statistics, the percentile estimates and that only the
+ * most recent sessions are kept.
+ *
+ * @author Team 33
+ */
+class SessionStatsTest {
+
+    @Test
+    void testRunningStatistics() {
+        SessionStats stats = new SessionStats();
+        assertEquals(0, stats.getAverageSeconds(), "No sessions should average 0");
+        assertEquals(0, stats.getPercentileSeconds(50), "No sessions should have a 0 median");
+
+        stats.record(Duration.ofSeconds(30));
+        stats.record(10);
+        stats.record(Duration.ofMinutes(2));
+        stats.record(-5);
+
+        assertEquals(4, stats.getCount(), "Every session should be counted");
+        assertEquals(160, stats.getTotalSeconds(), "A negative length should count as 0");
+        assertEquals(40.0, stats.getAverageSeconds(), 0.001, "Average of 0, 10, 30 and 120");
+        assertEquals(0, stats.getMinSeconds(), "Shortest session");
+        assertEquals(120, stats.getMaxSeconds(), "Longest session");
+
+        stats.clear();
+        assertEquals(0, stats.getCount(), "Clearing should forget every session");
+        assertEquals(0, stats.getRecentSeconds().length, "Clearing should empty the recent sessions");
+    }
+
+    @Test
+    void testPercentilesAreCloseToExact() {
+        SessionStats stats = new SessionStats();
+        for (int seconds = 1; seconds <= 10_000; seconds++) {
+            stats.record(seconds);
+        }
+        assertEquals(1, stats.getPercentileSeconds(0), "The 0th percentile is the shortest session");
+        assertEquals(10_000, stats.getPercentileSeconds(100), "The 100th percentile is the longest session");
+        int[] percents = {50, 90, 99};
+        for (int percent : percents) {
+            int exact = percent * 100;
+            int estimate = stats.getPercentileSeconds(percent);
+            assertTrue(Math.abs(estimate - exact) <= exact * 0.07,
+                "Percentile " + percent + " was " + estimate + " but should be near " + exact);
+        }
+        assertThrows(IllegalArgumentException.class, () -> stats.getPercentileSeconds(101),
+            "Percentiles above 100 should be rejected");
+    }
+
+    @Test
+    void testOnlyRecentSessionsAreKept() {
+        SessionStats stats = new SessionStats(3);
+        for (int seconds = 1; seconds <= 5; seconds++) {
+            stats.record(seconds);
+        }
+        assertArrayEquals(new int[] {3, 4, 5}, stats.getRecentSeconds(), "Only the last 3 sessions, oldest first");
+        assertEquals(3.0, stats.getAverageSeconds(), 0.001, "The average should still cover all 5 sessions");
+        assertEquals(1, stats.getMinSeconds(), "The shortest session should be remembered after it is overwritten");
+    }
+
+    @Test
+    void testPlayerRecordsSessions() {
+        Player player = new Player("Stats");
+        player.startSession();
+        player.endSession();
+        assertEquals(1, player.getSessionStats().getCount(), "Ending a session should record it");
+
+        player.resetPlayTimeStatistics();
+        assertEquals(0, player.getSessionStats().getCount(), "Resetting should clear the session statistics");
+        assertEquals(0, player.getAveragePlayTime(), "Resetting should clear the average");
+    }
+}
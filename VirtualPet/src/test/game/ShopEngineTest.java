@@ -0,0 +1,161 @@
+package group33.VirtualPet.src.test.game;
+
+import group33.VirtualPet.src.main.game.ShopEngine;
+import group33.VirtualPet.src.main.model.Inventory;
+import group33.VirtualPet.src.main.model.ItemCatalog;
+import group33.VirtualPet.src.main.model.Pet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ShopEngine.
+ * Checks the pricing rules, that a change only reprices the items it affects,
+ * and that prices are shared safely between threads.
+ *
+ * @author Team 33
+ */
+class ShopEngineTest {
+
+    private ShopEngine shop;
+    private Inventory.FoodItem apple;
+    private Inventory.FoodItem taco;
+    private Inventory.GiftItem ball;
+
+    @BeforeEach
+    void setUp() {
+        shop = new ShopEngine();
+        apple = ItemCatalog.food("Apple", 5);
+        taco = ItemCatalog.food("Taco", 20);
+        ball = ItemCatalog.gift("Ball", 5);
+    }
+
+    @Test
+    void testBasePricesComeFromTheCatalog() {
+        for (ItemCatalog.Listing<Inventory.FoodItem> listing : ItemCatalog.foodListings()) {
+            assertEquals(listing.getPrice(), shop.quoteFood(listing.getItem(), null),
+                "Without a pet, " + listing.getItem().getName() + " should cost its base price");
+        }
+        assertEquals(ShopEngine.NOT_SOLD, shop.quoteFood(ItemCatalog.food("Shop Test Cake", 3), Pet.PetType.DOG),
+            "Items the shop doesn't sell should have no price");
+    }
+
+    @Test
+    void testPetPreferencesLowerPrices() {
+        assertEquals(8, shop.quoteFood(apple, Pet.PetType.DEER), "Deer like apples, so they get 20% off");
+        assertEquals(10, shop.quoteFood(apple, Pet.PetType.DOG), "Dogs pay the full price for apples");
+        assertEquals(8, shop.quoteGift(ball, Pet.PetType.DOG), "Dogs like balls, so they get 20% off");
+
+        shop.setFoodPreference(Pet.PetType.DOG, apple, 50);
+        assertEquals(5, shop.quoteFood(apple, Pet.PetType.DOG), "A new preference should change the price");
+    }
+
+    @Test
+    void testDemandRaisesPricesUpToTheLimit() {
+        shop.recordFoodPurchase(taco, 2);
+        assertEquals(44, shop.quoteFood(taco, null), "Two tacos bought should add 10%");
+        assertEquals(10, shop.quoteFood(apple, null), "Buying tacos should not change the apple price");
+
+        shop.recordFoodPurchase(taco, 1000);
+        assertEquals(60, shop.quoteFood(taco, null), "Demand should add at most 50%");
+
+        shop.resetDemand();
+        assertEquals(40, shop.quoteFood(taco, null), "Resetting demand should restore the price");
+    }
+
+    @Test
+    void testConcurrentPurchasesAndQuotes() throws Exception {
+        final int buyers = 4;
+        final int rounds = 200;
+        List<ItemCatalog.Listing<Inventory.FoodItem>> listings = ItemCatalog.foodListings();
+        int maxDemand = ShopEngine.MAX_DEMAND_PERCENT / ShopEngine.DEMAND_STEP_PERCENT;
+        long repricesPerRound = (long) listings.size() * maxDemand * (Pet.PetType.values().length + 1);
+        CyclicBarrier roundStart = new CyclicBarrier(buyers + 1);
+        CyclicBarrier roundEnd = new CyclicBarrier(buyers + 1);
+        AtomicBoolean buying = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers + 1);
+        try {
+            // Every buyer tries to raise every food item to the limit, so all but one of
+            // the purchases of each demand step race with another buyer's
+            List<Future<?>> buyerTasks = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                buyerTasks.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        roundStart.await();
+                        for (int unit = 0; unit < maxDemand; unit++) {
+                            for (ItemCatalog.Listing<Inventory.FoodItem> listing : listings) {
+                                shop.recordFoodPurchase(listing.getItem(), 1);
+                            }
+                        }
+                        roundEnd.await();
+                    }
+                    return null;
+                }));
+            }
+            Future<?> quoter = executor.submit(() -> {
+                while (buying.get()) {
+                    int quote = shop.quoteFood(taco, null);
+                    assertTrue(quote >= 40 && quote <= 60, "Quotes should stay between the base price and the limit, got " + quote);
+                }
+                return null;
+            });
+
+            for (int round = 0; round < rounds; round++) {
+                shop.resetDemand();
+                long before = shop.getEvaluations();
+                roundStart.await(10, TimeUnit.SECONDS);
+                roundEnd.await(10, TimeUnit.SECONDS);
+                assertEquals(repricesPerRound, shop.getEvaluations() - before,
+                    "Every demand step should reprice its item once, with no purchase lost");
+                for (ItemCatalog.Listing<Inventory.FoodItem> listing : listings) {
+                    assertEquals(listing.getPrice() * 3 / 2, shop.quoteFood(listing.getItem(), null),
+                        listing.getItem().getName() + " should be at the demand limit after the round");
+                }
+            }
+            buying.set(false);
+            quoter.get();
+            for (Future<?> task : buyerTasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDiscountAppliesToEveryItem() {
+        shop.setDiscountPercent(50);
+        assertEquals(5, shop.quoteFood(apple, null), "Half off a 10 point apple");
+        assertEquals(4, shop.quoteGift(ball, Pet.PetType.DOG), "The discount stacks with the dog's preference");
+        assertThrows(IllegalArgumentException.class, () -> shop.setDiscountPercent(101),
+            "A discount over 100% should be rejected");
+    }
+
+    @Test
+    void testRulesOnlyRerunWhenInputsChange() {
+        long before = shop.getEvaluations();
+        for (int i = 0; i < 1000; i++) {
+            shop.quoteFood(apple, Pet.PetType.FROG);
+            shop.quoteGift(ball, null);
+        }
+        assertEquals(before, shop.getEvaluations(), "Quotes should not run the pricing rules");
+
+        shop.recordFoodPurchase(apple, 1);
+        long afterPurchase = shop.getEvaluations();
+        assertEquals(Pet.PetType.values().length + 1, afterPurchase - before,
+            "A purchase should only reprice the item bought");
+
+        shop.setDiscountPercent(0);
+        assertEquals(afterPurchase, shop.getEvaluations(), "An unchanged discount should not reprice anything");
+    }
+}
@@ -1,6 +1,7 @@
 package group33.VirtualPet.src.test.game;
 
 import group33.VirtualPet.src.main.game.GameSaveManager;
+import group33.VirtualPet.src.main.game.SaveSummary;
 import group33.VirtualPet.src.main.model.Inventory;
 import group33.VirtualPet.src.main.model.ParentalSettings;
 import group33.VirtualPet.src.main.model.Pet;
@@ -48,8 +49,9 @@ class TestSaveManager {
         
         // Add items to inventory
         Inventory inventory = testPlayer.getInventory();
-        Inventory.FoodItem foodItem = new Inventory.FoodItem("TestFood", 10);
-        Inventory.GiftItem giftItem = new Inventory.GiftItem("TestGift", 15);
+        // Only items on sale are restored from a save
+        Inventory.FoodItem foodItem = new Inventory.FoodItem("Ramen", 30);
+        Inventory.GiftItem giftItem = new Inventory.GiftItem("Hat", 30);
         inventory.addFoodItem(foodItem, 5);
         inventory.addGiftItem(giftItem, 3);
     }
@@ -103,8 +105,8 @@ class TestSaveManager {
         // Check food items
         boolean foundFoodItem = false;
         for (Inventory.FoodItem foodItem : loadedInventory.getFoodItems().keySet()) {
-            if (foodItem.getName().equals("TestFood") && foodItem.getFullnessValue() == 10) {
-                assertEquals(5, loadedInventory.getFoodItems().get(foodItem), "Food item quantity should match");
+            if (foodItem.getName().equals("Ramen") && foodItem.getFullnessValue() == 30) {
+                assertEquals(testPlayer.getInventory().getFoodItems().get(foodItem), loadedInventory.getFoodItems().get(foodItem), "Food item quantity should match");
                 foundFoodItem = true;
                 break;
             }
@@ -114,8 +116,8 @@ class TestSaveManager {
         // Check gift items
         boolean foundGiftItem = false;
         for (Inventory.GiftItem giftItem : loadedInventory.getGiftItems().keySet()) {
-            if (giftItem.getName().equals("TestGift") && giftItem.getHappinessValue() == 15) {
-                assertEquals(3, loadedInventory.getGiftItems().get(giftItem), "Gift item quantity should match");
+            if (giftItem.getName().equals("Hat") && giftItem.getHappinessValue() == 30) {
+                assertEquals(testPlayer.getInventory().getGiftItems().get(giftItem), loadedInventory.getGiftItems().get(giftItem), "Gift item quantity should match");
                 foundGiftItem = true;
                 break;
             }
@@ -245,6 +247,80 @@ class TestSaveManager {
         assertNotNull(settings.getLastSessionEnd(), "Last session end should be set");
     }
     
+    @Test
+    void testLoadedParentalSettingsAreIndependentCopies() throws IOException {
+        ParentalSettings settings = new ParentalSettings();
+        settings.setTimeRestrictionEnabled(false);
+        GameSaveManager.saveParentalSettings(settings);
+        
+        // Changing a loaded copy without saving should not affect later loads
+        ParentalSettings loaded = GameSaveManager.loadParentalSettings();
+        loaded.setTimeRestrictionEnabled(true);
+        
+        assertFalse(GameSaveManager.loadParentalSettings().isTimeRestrictionEnabled(), "Unsaved changes should not leak into the cache");
+    }
+    
+    @Test
+    void testParentalSettingsReloadAfterExternalChange() throws IOException {
+        ParentalSettings settings = new ParentalSettings();
+        settings.setTimeRestrictionEnabled(false);
+        GameSaveManager.saveParentalSettings(settings);
+        assertFalse(GameSaveManager.loadParentalSettings().isTimeRestrictionEnabled(), "Restrictions should start disabled");
+        
+        // Rewrite the file behind the manager's back, as another process would
+        File settingsFile = new File("group33/VirtualPet/src/main/settings/parental_settings.csv");
+        try (java.io.FileWriter writer = new java.io.FileWriter(settingsFile)) {
+            writer.write("Setting,Value\nTimeRestrictionEnabled,true\nAllowedStartTime,01:00\nAllowedEndTime,01:01\n");
+        }
+        
+        ParentalSettings reloaded = GameSaveManager.loadParentalSettings();
+        assertTrue(reloaded.isTimeRestrictionEnabled(), "External changes to the settings file should be picked up");
+        assertEquals(LocalTime.of(1, 0), reloaded.getAllowedStartTime(), "Start time should come from the changed file");
+    }
+    
+    @Test
+    void testLoadSummary() throws IOException {
+        GameSaveManager.saveGame(testPlayer, TEST_SAVE_FILE);
+        
+        SaveSummary summary = GameSaveManager.loadSummary(TEST_SAVE_FILE);
+        
+        assertNotNull(summary, "Summary should not be null");
+        assertEquals("TestPlayer", summary.getPlayerName(), "Player name should match");
+        assertEquals(100, summary.getScore(), "Score should match");
+        assertEquals(Duration.ofMinutes(30).toSeconds(), summary.getTotalPlayTimeSeconds(), "Play time should match");
+        assertTrue(summary.hasPet(), "Summary should report the pet");
+        assertEquals("TestPet", summary.getPetName(), "Pet name should match");
+        assertEquals(Pet.PetType.DOG, summary.getPetType(), "Pet type should match");
+        assertFalse(summary.isPetDead(), "Pet should be alive");
+    }
+    
+    @Test
+    void testLoadSummaryIgnoresInventory() throws IOException {
+        GameSaveManager.saveGame(testPlayer, TEST_SAVE_FILE);
+        
+        // Corrupt the inventory section; the summary never reads that far
+        File saveFile = new File("group33/VirtualPet/src/main/save_files", TEST_SAVE_FILE);
+        try (java.io.FileWriter writer = new java.io.FileWriter(saveFile, true)) {
+            writer.write("Food Item,Broken,notANumber,x\n");
+        }
+        
+        SaveSummary summary = GameSaveManager.loadSummary(TEST_SAVE_FILE);
+        assertEquals("TestPet", summary.getPetName(), "Summary should not depend on the inventory section");
+        assertThrows(NumberFormatException.class, summary::getInventory, "The full body is only parsed when the inventory is requested");
+    }
+    
+    @Test
+    void testSummaryLoadsFullSaveLazily() throws IOException {
+        GameSaveManager.saveGame(testPlayer, TEST_SAVE_FILE);
+        
+        SaveSummary summary = GameSaveManager.loadSummary(TEST_SAVE_FILE);
+        Pet pet = summary.getPet();
+        
+        assertEquals(80, pet.getHealth(), "Full pet should be loaded on first access");
+        assertSame(summary.getPlayer(), summary.getPlayer(), "Full save should only be loaded once");
+        assertNotNull(summary.getInventory(), "Inventory should be available from the summary");
+    }
+    
     @Test
     void testFileAutoExtension() throws IOException {
         // Save game without .csv extension
@@ -294,4 +370,30 @@ class TestSaveManager {
         // check if dead state was saved
         assertTrue(loadedPet.isDead(), "Pet dead state should be preserved");
     }
-}
\ No newline at end of file
+    
+    @Test
+    void testReloadKeepsInventoryQuantities() throws IOException {
+        // Save, load and save again; quantities must not pile up on the default items
+        GameSaveManager.saveGame(testPlayer, TEST_SAVE_FILE);
+        Player loadedPlayer = GameSaveManager.loadGame(TEST_SAVE_FILE);
+        GameSaveManager.saveGame(loadedPlayer, TEST_SAVE_FILE);
+        Player reloadedPlayer = GameSaveManager.loadGame(TEST_SAVE_FILE);
+        
+        assertEquals(testPlayer.getInventory().getFoodItems(), reloadedPlayer.getInventory().getFoodItems(), "Food quantities should survive a reload");
+        assertEquals(testPlayer.getInventory().getGiftItems(), reloadedPlayer.getInventory().getGiftItems(), "Gift quantities should survive a reload");
+    }
+    
+    @Test
+    void testSessionStatisticsRestoredWithoutReplay() throws IOException {
+        // A huge session count must restore instantly and keep the average session time
+        ParentalSettings settings = new ParentalSettings();
+        settings.restoreSessionStatistics(Duration.ofHours(500_000), Duration.ofHours(400_000), 2_000_000_000);
+        GameSaveManager.saveParentalSettings(settings);
+        
+        ParentalSettings loaded = GameSaveManager.loadParentalSettings();
+        assertEquals(2_000_000_000, loaded.getSessionCount(), "Session count should be restored");
+        assertEquals(Duration.ofHours(400_000), loaded.getTotalSessionTime(), "Session total should be restored");
+        assertEquals(Duration.ofHours(500_000), loaded.getTotalPlayTime(), "Play time should be restored");
+        assertEquals(Duration.ofHours(400_000).dividedBy(2_000_000_000), loaded.getAverageSessionTime(), "Average should be kept");
+    }
+}